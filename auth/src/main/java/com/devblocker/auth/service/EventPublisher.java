@@ -1,37 +1,36 @@
 package com.devblocker.auth.service;
 
 import com.devblocker.auth.model.User;
+import com.devblocker.auth.service.outbox.OutboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * Publishes user events through the transactional outbox
+ * Must be called inside the transaction that made the change; OutboxRelay sends after commit
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EventPublisher {
     
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxService outboxService;
     
     @Value("${spring.application.name:auth}")
     private String applicationName;
     
     public void publishUserRegistered(User user) {
-        try {
-            UserRegisteredEvent event = UserRegisteredEvent.builder()
-                    .userId(user.getUserId().toString())
-                    .email(user.getEmail())
-                    .role(user.getRole().name())
-                    .createdAt(user.getCreatedAt())
-                    .build();
-            
-            rabbitTemplate.convertAndSend("user.events", "user.registered", event);
-            log.info("Published UserRegistered event for user: {}", user.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to publish UserRegistered event for user: {}", user.getEmail(), e);
-            // Don't throw - event publishing failure shouldn't break registration
-        }
+        UserRegisteredEvent event = UserRegisteredEvent.builder()
+                .userId(user.getUserId().toString())
+                .email(user.getEmail())
+                .role(user.getRole().name())
+                .createdAt(user.getCreatedAt())
+                .build();
+        
+        // Broker outages no longer affect registration; the relay retries delivery
+        outboxService.enqueue("user.events", "user.registered", event);
+        log.info("Queued UserRegistered event for user: {}", user.getEmail());
     }
 }
-
@@ -35,7 +35,7 @@ public class UserService {
                 .role(Role.USER)
                 .build();
         
-        user = userRepository.save(user);
+        user = userRepository.saveAndFlush(user);
         
         // Publish UserRegistered event
         eventPublisher.publishUserRegistered(user);
@@ -1,13 +1,21 @@
 package com.devblocker.blocker.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
 @Configuration
 public class RabbitMQConfig {
     
@@ -24,6 +32,10 @@ public class RabbitMQConfig {
     // Solution service exchange
     public static final String SOLUTION_EVENTS_EXCHANGE = "solution.events";
     
+    // Dead lettering: rejected messages are routed to "<queue>.dlq" with the queue name as routing key
+    public static final String DEAD_LETTER_EXCHANGE = "devblocker.dlx";
+    public static final String DEAD_LETTER_QUEUE_SUFFIX = ".dlq";
+    
     @Bean
     public TopicExchange blockerEventsExchange() {
         return new TopicExchange(EXCHANGE_NAME);
@@ -51,17 +63,22 @@ public class RabbitMQConfig {
     
     @Bean
     public Queue attachmentUploadedQueue() {
-        return QueueBuilder.durable(ATTACHMENT_UPLOADED_QUEUE).build();
+        return deadLetteredQueue(ATTACHMENT_UPLOADED_QUEUE);
     }
     
     @Bean
     public Queue solutionAddedQueue() {
-        return QueueBuilder.durable(SOLUTION_ADDED_QUEUE).build();
+        return deadLetteredQueue(SOLUTION_ADDED_QUEUE);
     }
     
     @Bean
     public Queue solutionAcceptedQueue() {
-        return QueueBuilder.durable(SOLUTION_ACCEPTED_QUEUE).build();
+        return deadLetteredQueue(SOLUTION_ACCEPTED_QUEUE);
+    }
+    
+    @Bean
+    public Declarables deadLetterDeclarables() {
+        return deadLetterTopology(ATTACHMENT_UPLOADED_QUEUE, SOLUTION_ADDED_QUEUE, SOLUTION_ACCEPTED_QUEUE);
     }
     
     @Bean
@@ -126,6 +143,11 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter());
+        // Publisher confirms are correlated (spring.rabbitmq.publisher-confirm-type); unroutable messages
+        // come back through the returns callback instead of being dropped silently
+        template.setMandatory(true);
+        template.setReturnsCallback(returned -> log.warn("Message returned by broker: exchange={}, routingKey={}, reply={}",
+                returned.getExchange(), returned.getRoutingKey(), returned.getReplyText()));
         return template;
     }
     
@@ -133,5 +155,73 @@ public class RabbitMQConfig {
     public org.springframework.web.client.RestTemplate restTemplate() {
         return new org.springframework.web.client.RestTemplate();
     }
+    
+    // Listener container factories, one per queue so each can be scaled independently
+    
+    @Bean
+    public SimpleRabbitListenerContainerFactory attachmentUploadedContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${rabbitmq.listener.attachment-uploaded.concurrency:1}") int concurrency,
+            @Value("${rabbitmq.listener.attachment-uploaded.max-concurrency:4}") int maxConcurrency,
+            @Value("${rabbitmq.listener.attachment-uploaded.prefetch:20}") int prefetch) {
+        return containerFactory(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+    
+    @Bean
+    public SimpleRabbitListenerContainerFactory solutionAddedContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${rabbitmq.listener.solution-added.concurrency:2}") int concurrency,
+            @Value("${rabbitmq.listener.solution-added.max-concurrency:8}") int maxConcurrency,
+            @Value("${rabbitmq.listener.solution-added.prefetch:50}") int prefetch) {
+        return containerFactory(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+    
+    @Bean
+    public SimpleRabbitListenerContainerFactory solutionAcceptedContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${rabbitmq.listener.solution-accepted.concurrency:1}") int concurrency,
+            @Value("${rabbitmq.listener.solution-accepted.max-concurrency:4}") int maxConcurrency,
+            @Value("${rabbitmq.listener.solution-accepted.prefetch:20}") int prefetch) {
+        return containerFactory(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+    
+    /**
+     * Builds a container factory on top of spring.rabbitmq.listener.simple.* (converter, retry interceptor
+     * with exponential backoff, requeue policy) and overrides the consumer scaling for one queue
+     */
+    private static SimpleRabbitListenerContainerFactory containerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            int concurrency, int maxConcurrency, int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        factory.setPrefetchCount(prefetch);
+        // Retries exhausted -> reject without requeue -> dead-letter queue
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+    
+    private static Queue deadLetteredQueue(String name) {
+        return QueueBuilder.durable(name)
+                .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(name)
+                .build();
+    }
+    
+    private static Declarables deadLetterTopology(String... queueNames) {
+        DirectExchange deadLetterExchange = new DirectExchange(DEAD_LETTER_EXCHANGE, true, false);
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(deadLetterExchange);
+        for (String queueName : queueNames) {
+            Queue deadLetterQueue = QueueBuilder.durable(queueName + DEAD_LETTER_QUEUE_SUFFIX).build();
+            declarables.add(deadLetterQueue);
+            declarables.add(BindingBuilder.bind(deadLetterQueue).to(deadLetterExchange).with(queueName));
+        }
+        return new Declarables(declarables);
+    }
 }
-
@@ -2,28 +2,36 @@ package com.devblocker.blocker.controller;
 
 import com.devblocker.blocker.dto.BlockerResponse;
 import com.devblocker.blocker.dto.CreateBlockerRequest;
+import com.devblocker.blocker.dto.CursorPageResponse;
 import com.devblocker.blocker.dto.PageResponse;
 import com.devblocker.blocker.dto.ResolveBlockerRequest;
+import com.devblocker.blocker.dto.SimilarBlockerResponse;
+import com.devblocker.blocker.dto.TagCountResponse;
 import com.devblocker.blocker.dto.UpdateBestSolutionRequest;
 import com.devblocker.blocker.dto.UpdateBlockerRequest;
 import com.devblocker.blocker.model.BlockerStatus;
 import com.devblocker.blocker.model.Severity;
 import com.devblocker.blocker.service.BlockerService;
 import com.devblocker.blocker.service.FileStorageService;
+import com.devblocker.blocker.service.TagIndexService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import com.devblocker.blocker.model.StoredFile;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,8 +43,15 @@ import java.util.UUID;
 @Tag(name = "Blockers", description = "Blocker management endpoints")
 public class BlockerController {
     
+    // Files are immutable once uploaded; clients may cache and revalidate by ETag
+    private static final CacheControl FILE_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(30)).cachePublic();
+    
     private final BlockerService blockerService;
     private final FileStorageService fileStorageService;
+    private final TagIndexService tagIndexService;
+    
+    @Value("${duplicate.detection.max-limit:50}")
+    private int maxSimilarLimit;
     
     @PostMapping
     @Operation(summary = "Create blocker", description = "Creates a new blocker and publishes BlockerCreated event")
@@ -75,6 +90,64 @@ public class BlockerController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get blockers (cursor)", description = "Keyset-paginated feed, newest first. Pass an empty cursor for the first slice, then the returned nextCursor. No total count is computed.")
+    public ResponseEntity<CursorPageResponse<BlockerResponse>> getBlockersByCursor(
+            @RequestParam(required = false) BlockerStatus status,
+            @RequestParam(required = false) Severity severity,
+            @RequestParam(required = false) UUID createdBy,
+            @RequestParam(required = false) UUID assignedTo,
+            @RequestParam(required = false) UUID teamId,
+            @RequestParam(required = false) String tag,
+            @RequestHeader(value = "X-User-Org-Id", required = false) UUID userOrgId,
+            @RequestHeader(value = "X-User-Group-Ids", required = false) String userGroupIdsStr,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        // Parse group IDs from header (comma-separated)
+        java.util.List<UUID> userGroupIds = null;
+        if (userGroupIdsStr != null && !userGroupIdsStr.isEmpty()) {
+            userGroupIds = java.util.Arrays.stream(userGroupIdsStr.split(","))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .map(UUID::fromString)
+                    .collect(java.util.stream.Collectors.toList());
+        }
+        
+        CursorPageResponse<BlockerResponse> response = blockerService.getBlockersAfter(
+                status, severity, createdBy, assignedTo, teamId, tag, userOrgId, userGroupIds, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/tags/top")
+    @Operation(summary = "Get top tags", description = "Most used tags with blocker counts, served from incrementally maintained counters")
+    public ResponseEntity<List<TagCountResponse>> getTopTags(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(tagIndexService.getTopTags(limit));
+    }
+    
+    @GetMapping("/search")
+    @Operation(summary = "Search blockers", description = "Full-text search over title, description and tags, ordered by relevance")
+    public ResponseEntity<PageResponse<BlockerResponse>> searchBlockers(
+            @RequestParam("q") String query,
+            @RequestHeader(value = "X-User-Org-Id", required = false) UUID userOrgId,
+            @RequestHeader(value = "X-User-Group-Ids", required = false) String userGroupIdsStr,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        // Parse group IDs from header (comma-separated)
+        java.util.List<UUID> userGroupIds = null;
+        if (userGroupIdsStr != null && !userGroupIdsStr.isEmpty()) {
+            userGroupIds = java.util.Arrays.stream(userGroupIdsStr.split(","))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .map(UUID::fromString)
+                    .collect(java.util.stream.Collectors.toList());
+        }
+        
+        PageResponse<BlockerResponse> response = blockerService.searchBlockers(query, userOrgId, userGroupIds, page, size);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Get blocker", description = "Retrieves a specific blocker by ID")
     public ResponseEntity<BlockerResponse> getBlocker(
@@ -96,6 +169,32 @@ public class BlockerController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/{id}/similar")
+    @Operation(summary = "Get similar blockers", description = "Returns likely duplicates of a blocker, ordered by estimated similarity")
+    public ResponseEntity<List<SimilarBlockerResponse>> getSimilarBlockers(
+            @PathVariable UUID id,
+            @RequestHeader(value = "X-User-Org-Id", required = false) UUID userOrgId,
+            @RequestHeader(value = "X-User-Group-Ids", required = false) String userGroupIdsStr,
+            @RequestParam(defaultValue = "5") int limit) {
+        
+        if (limit < 1 || limit > maxSimilarLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxSimilarLimit);
+        }
+        
+        // Parse group IDs from header (comma-separated)
+        java.util.List<UUID> userGroupIds = null;
+        if (userGroupIdsStr != null && !userGroupIdsStr.isEmpty()) {
+            userGroupIds = java.util.Arrays.stream(userGroupIdsStr.split(","))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .map(UUID::fromString)
+                    .collect(java.util.stream.Collectors.toList());
+        }
+        
+        List<SimilarBlockerResponse> response = blockerService.getSimilarBlockers(id, userOrgId, userGroupIds, limit);
+        return ResponseEntity.ok(response);
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Update blocker", description = "Updates a blocker and publishes BlockerUpdated event")
     public ResponseEntity<BlockerResponse> updateBlocker(
@@ -140,16 +239,30 @@ public class BlockerController {
     }
     
     @GetMapping("/files/{fileId}")
-    @Operation(summary = "Get file", description = "Retrieves an uploaded file from database")
-    public ResponseEntity<Resource> getFile(@PathVariable UUID fileId) {
+    @Operation(summary = "Get file", description = "Streams an uploaded file from the blob store. Supports Range, ETag and conditional GET (304).")
+    public ResponseEntity<Resource> getFile(@PathVariable UUID fileId, WebRequest webRequest) {
         try {
             StoredFile storedFile = fileStorageService.loadFile(fileId);
             
-            ByteArrayResource resource = new ByteArrayResource(storedFile.getFileData());
+            // Strong ETag is the content hash computed at upload; revalidation is answered from metadata
+            // alone, so a 304 never opens the blob
+            String etag = storedFile.getContentHash() != null ? "\"" + storedFile.getContentHash() + "\"" : null;
+            long lastModified = storedFile.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            if (etag != null && webRequest.checkNotModified(etag, lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .cacheControl(FILE_CACHE_CONTROL)
+                        .build();
+            }
+            
+            // File-backed resource: streamed from disk, Range requests are served as 206 resource regions
+            Resource resource = fileStorageService.loadContent(storedFile);
             
             return ResponseEntity.ok()
                     .contentType(MediaType.parseMediaType(storedFile.getContentType()))
-                    .contentLength(storedFile.getFileSize())
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .cacheControl(FILE_CACHE_CONTROL)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
                     .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + storedFile.getOriginalFilename() + "\"")
                     .header(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*")
                     .header(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, "GET, OPTIONS")
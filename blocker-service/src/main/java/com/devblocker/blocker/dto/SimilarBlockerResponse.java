@@ -0,0 +1,25 @@
+package com.devblocker.blocker.dto;
+
+import com.devblocker.blocker.model.BlockerStatus;
+import com.devblocker.blocker.model.Severity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarBlockerResponse {
+    private UUID blockerId;
+    private String title;
+    private BlockerStatus status;
+    private Severity severity;
+    private UUID bestSolutionId;
+    private double similarity;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,15 @@
+package com.devblocker.blocker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagCountResponse {
+    private String tag;
+    private long count;
+}
@@ -16,7 +16,7 @@ public class AttachmentUploadedListener {
     
     private final BlockerRepository blockerRepository;
     
-    @RabbitListener(queues = "attachment.uploaded.queue")
+    @RabbitListener(queues = "attachment.uploaded.queue", containerFactory = "attachmentUploadedContainerFactory")
     public void handleAttachmentUploaded(AttachmentUploadedEvent event) {
         try {
             UUID blockerId = UUID.fromString(event.getBlockerId());
@@ -37,7 +37,8 @@ public class AttachmentUploadedListener {
             
         } catch (Exception e) {
             log.error("Failed to process AttachmentUploaded event: {}", event, e);
-            // Consider implementing retry logic or dead letter queue
+            // Rethrow so the container retries with backoff and then dead-letters the message
+            throw e;
         }
     }
 }
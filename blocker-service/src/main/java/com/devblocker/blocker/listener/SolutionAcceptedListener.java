@@ -26,7 +26,7 @@ public class SolutionAcceptedListener {
     @Value("${reputation.points.solution.accepted:50}")
     private Integer solutionAcceptedPoints;
     
-    @RabbitListener(queues = "solution.accepted.queue")
+    @RabbitListener(queues = "solution.accepted.queue", containerFactory = "solutionAcceptedContainerFactory")
     @Transactional
     public void handleSolutionAccepted(SolutionAcceptedEvent event) {
         try {
@@ -69,7 +69,8 @@ public class SolutionAcceptedListener {
             
         } catch (Exception e) {
             log.error("Failed to process SolutionAccepted event: {}", event, e);
-            // Consider implementing retry logic or dead letter queue
+            // Rethrow so the container retries with backoff and then dead-letters the message
+            throw e;
         }
     }
 }
@@ -18,7 +18,7 @@ public class SolutionAddedListener {
     
     private final BlockerRepository blockerRepository;
     
-    @RabbitListener(queues = "solution.added.queue")
+    @RabbitListener(queues = "solution.added.queue", containerFactory = "solutionAddedContainerFactory")
     @Transactional
     public void handleSolutionAdded(SolutionAddedEvent event) {
         try {
@@ -43,7 +43,8 @@ public class SolutionAddedListener {
             
         } catch (Exception e) {
             log.error("Failed to process SolutionAdded event: {}", event, e);
-            // Consider implementing retry logic or dead letter queue
+            // Rethrow so the container retries with backoff and then dead-letters the message
+            throw e;
         }
     }
 }
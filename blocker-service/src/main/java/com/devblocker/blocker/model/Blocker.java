@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,7 +15,9 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "blockers")
+@Table(name = "blockers", indexes = {
+    @Index(name = "idx_blocker_created", columnList = "created_at, blocker_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -64,15 +67,18 @@ public class Blocker {
     @Column(name = "best_solution_id")
     private UUID bestSolutionId;
     
+    // Collections are loaded for a whole page of blockers in one query instead of one per row
     @ElementCollection
     @CollectionTable(name = "blocker_tags", joinColumns = @JoinColumn(name = "blocker_id"))
     @Column(name = "tag")
+    @BatchSize(size = 100)
     @Builder.Default
     private List<String> tags = new ArrayList<>();
     
     @ElementCollection
     @CollectionTable(name = "blocker_media", joinColumns = @JoinColumn(name = "blocker_id"))
     @Column(name = "media_url")
+    @BatchSize(size = 100)
     @Builder.Default
     private List<String> mediaUrls = new ArrayList<>();
     
@@ -0,0 +1,41 @@
+package com.devblocker.blocker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Secondary index row linking a tag to a blocker
+ * The (tag_id, created_at, blocker_id) index covers tag filtering in feed order
+ */
+@Entity
+@Table(name = "blocker_tag_index",
+    uniqueConstraints = @UniqueConstraint(name = "uk_tag_blocker", columnNames = {"tag_id", "blocker_id"}),
+    indexes = {
+        @Index(name = "idx_tag_created_blocker", columnList = "tag_id, created_at, blocker_id"),
+        @Index(name = "idx_tag_index_blocker", columnList = "blocker_id")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlockerTagIndex {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "tag_id", nullable = false)
+    private Long tagId;
+    
+    @Column(name = "blocker_id", nullable = false)
+    private UUID blockerId;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,40 @@
+package com.devblocker.blocker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of a one-off index backfill, so an interrupted run resumes where it stopped
+ * The cursor is the (createdAt, blockerId) of the last blocker indexed
+ */
+@Entity
+@Table(name = "index_backfill_state")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexBackfillState {
+    
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+    
+    @Column(name = "cursor_created_at")
+    private LocalDateTime cursorCreatedAt;
+    
+    @Column(name = "cursor_blocker_id")
+    private UUID cursorBlockerId;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean completed = false;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
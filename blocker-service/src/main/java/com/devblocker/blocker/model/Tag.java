@@ -0,0 +1,33 @@
+package com.devblocker.blocker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Normalized tag dictionary entry with a running count of blockers carrying the tag
+ */
+@Entity
+@Table(name = "tags",
+    uniqueConstraints = @UniqueConstraint(name = "uk_tag_name", columnNames = "name"),
+    indexes = @Index(name = "idx_tag_usage", columnList = "usage_count"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tag {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "tag_id")
+    private Long tagId;
+    
+    @Column(nullable = false)
+    private String name;
+    
+    @Column(name = "usage_count", nullable = false)
+    @Builder.Default
+    private Long usageCount = 0L;
+}
@@ -3,13 +3,17 @@ package com.devblocker.blocker.repository;
 import com.devblocker.blocker.model.Blocker;
 import com.devblocker.blocker.model.BlockerStatus;
 import com.devblocker.blocker.model.Severity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,13 +36,15 @@ public interface BlockerRepository extends JpaRepository<Blocker, UUID> {
     @Query("SELECT b FROM Blocker b WHERE :tag MEMBER OF b.tags")
     Page<Blocker> findByTag(@Param("tag") String tag, Pageable pageable);
     
+    // Tag filter is a semi-join (EXISTS) on blocker_tag_index so a blocker is returned and counted once
+    // and the lookup is driven by the (tag_id, created_at, blocker_id) index
     @Query("SELECT b FROM Blocker b WHERE " +
            "(:status IS NULL OR b.status = :status) AND " +
            "(:severity IS NULL OR b.severity = :severity) AND " +
            "(:createdBy IS NULL OR b.createdBy = :createdBy) AND " +
            "(:assignedTo IS NULL OR b.assignedTo = :assignedTo) AND " +
            "(:teamId IS NULL OR b.teamId = :teamId) AND " +
-           "(:tag IS NULL OR :tag MEMBER OF b.tags) AND " +
+           "(:tagId IS NULL OR EXISTS (SELECT 1 FROM BlockerTagIndex ti WHERE ti.tagId = :tagId AND ti.blockerId = b.blockerId)) AND " +
            "(b.visibility = 'PUBLIC' OR " +
            " (b.visibility = 'ORG' AND (:userOrgId IS NOT NULL AND b.orgId = :userOrgId)) OR " +
            " (b.visibility = 'GROUP' AND (:userGroupIds IS NOT NULL AND b.groupId IN :userGroupIds)))")
@@ -48,11 +54,42 @@ public interface BlockerRepository extends JpaRepository<Blocker, UUID> {
             @Param("createdBy") UUID createdBy,
             @Param("assignedTo") UUID assignedTo,
             @Param("teamId") UUID teamId,
-            @Param("tag") String tag,
+            @Param("tagId") Long tagId,
             @Param("userOrgId") UUID userOrgId,
             @Param("userGroupIds") List<UUID> userGroupIds,
             Pageable pageable);
     
+    /**
+     * Keyset variant of findWithFilters for feed scrolling
+     * Rows come newest first by (createdAt, blockerId); pass the last row of the previous slice
+     * as the cursor (or nulls for the first slice). Returns a Slice, so no COUNT query is issued
+     */
+    @Query("SELECT b FROM Blocker b WHERE " +
+           "(:status IS NULL OR b.status = :status) AND " +
+           "(:severity IS NULL OR b.severity = :severity) AND " +
+           "(:createdBy IS NULL OR b.createdBy = :createdBy) AND " +
+           "(:assignedTo IS NULL OR b.assignedTo = :assignedTo) AND " +
+           "(:teamId IS NULL OR b.teamId = :teamId) AND " +
+           "(:tagId IS NULL OR EXISTS (SELECT 1 FROM BlockerTagIndex ti WHERE ti.tagId = :tagId AND ti.blockerId = b.blockerId)) AND " +
+           "(b.visibility = 'PUBLIC' OR " +
+           " (b.visibility = 'ORG' AND (:userOrgId IS NOT NULL AND b.orgId = :userOrgId)) OR " +
+           " (b.visibility = 'GROUP' AND (:userGroupIds IS NOT NULL AND b.groupId IN :userGroupIds))) AND " +
+           "(:cursorCreatedAt IS NULL OR b.createdAt < :cursorCreatedAt OR " +
+           " (b.createdAt = :cursorCreatedAt AND b.blockerId < :cursorBlockerId)) " +
+           "ORDER BY b.createdAt DESC, b.blockerId DESC")
+    Slice<Blocker> findWithFiltersAfter(
+            @Param("status") BlockerStatus status,
+            @Param("severity") Severity severity,
+            @Param("createdBy") UUID createdBy,
+            @Param("assignedTo") UUID assignedTo,
+            @Param("teamId") UUID teamId,
+            @Param("tagId") Long tagId,
+            @Param("userOrgId") UUID userOrgId,
+            @Param("userGroupIds") List<UUID> userGroupIds,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorBlockerId") UUID cursorBlockerId,
+            Pageable pageable);
+    
     @Query("SELECT b FROM Blocker b WHERE " +
            "(:status IS NULL OR b.status = :status) AND " +
            "(:severity IS NULL OR b.severity = :severity) AND " +
@@ -81,9 +118,30 @@ public interface BlockerRepository extends JpaRepository<Blocker, UUID> {
             @Param("userGroupIds") java.util.List<UUID> userGroupIds,
             Pageable pageable);
     
-    @Query("SELECT b FROM Blocker b WHERE " +
-           "LOWER(b.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(b.description) LIKE LOWER(CONCAT('%', :query, '%'))")
-    Page<Blocker> searchByText(@Param("query") String query, Pageable pageable);
+    @Query("SELECT b.blockerId FROM Blocker b")
+    Slice<UUID> findAllBlockerIds(Pageable pageable);
+    
+    @Query("SELECT DISTINCT b FROM Blocker b LEFT JOIN FETCH b.tags WHERE b.blockerId IN :blockerIds")
+    List<Blocker> findAllWithTagsByBlockerIdIn(@Param("blockerIds") List<UUID> blockerIds);
+    
+    /**
+     * Blocker ids and creation times in ascending (createdAt, blockerId) order after the given cursor
+     * (or from the start when the cursor is null), as (blockerId, createdAt) rows
+     */
+    @Query("SELECT b.blockerId, b.createdAt FROM Blocker b WHERE " +
+           "(:cursorCreatedAt IS NULL OR b.createdAt > :cursorCreatedAt OR " +
+           " (b.createdAt = :cursorCreatedAt AND b.blockerId > :cursorBlockerId)) " +
+           "ORDER BY b.createdAt ASC, b.blockerId ASC")
+    List<Object[]> findIdsAfter(
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorBlockerId") UUID cursorBlockerId,
+            Pageable pageable);
+    
+    /**
+     * Like findAllWithTagsByBlockerIdIn, but row-locks the blockers so concurrent updates wait
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Blocker b LEFT JOIN FETCH b.tags WHERE b.blockerId IN :blockerIds")
+    List<Blocker> lockWithTagsByBlockerIdIn(@Param("blockerIds") List<UUID> blockerIds);
 }
 
@@ -0,0 +1,35 @@
+package com.devblocker.blocker.repository;
+
+import com.devblocker.blocker.model.BlockerTagIndex;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface BlockerTagIndexRepository extends JpaRepository<BlockerTagIndex, Long> {
+    
+    /**
+     * Remove a blocker's index row for one tag
+     * 
+     * @return 1 if the row was deleted, 0 if the pair was not indexed (e.g. not backfilled yet)
+     */
+    @Modifying
+    @Query("DELETE FROM BlockerTagIndex i WHERE i.blockerId = :blockerId AND i.tagId = :tagId")
+    int deleteByBlockerIdAndTagId(@Param("blockerId") UUID blockerId, @Param("tagId") Long tagId);
+    
+    /**
+     * Insert an index row unless (tag_id, blocker_id) is already indexed
+     * 
+     * @return 1 if the row was inserted, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO blocker_tag_index (tag_id, blocker_id, created_at) " +
+                   "VALUES (:tagId, :blockerId, :createdAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("tagId") Long tagId, @Param("blockerId") UUID blockerId,
+                       @Param("createdAt") LocalDateTime createdAt);
+}
@@ -0,0 +1,9 @@
+package com.devblocker.blocker.repository;
+
+import com.devblocker.blocker.model.IndexBackfillState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IndexBackfillStateRepository extends JpaRepository<IndexBackfillState, String> {
+}
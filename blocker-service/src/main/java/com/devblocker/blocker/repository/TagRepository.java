@@ -0,0 +1,45 @@
+package com.devblocker.blocker.repository;
+
+import com.devblocker.blocker.model.Tag;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TagRepository extends JpaRepository<Tag, Long> {
+    
+    Optional<Tag> findByName(String name);
+    
+    List<Tag> findByNameIn(Collection<String> names);
+    
+    /**
+     * Locking read of dictionary entries; unlike findByNameIn it also sees rows committed by other
+     * transactions after this transaction's snapshot was taken
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Tag t WHERE t.name IN :names")
+    List<Tag> lockByNameIn(@Param("names") Collection<String> names);
+    
+    @Query("SELECT t FROM Tag t WHERE t.usageCount > 0 ORDER BY t.usageCount DESC, t.name ASC")
+    List<Tag> findTopTags(Pageable pageable);
+    
+    /**
+     * Insert dictionary entries that don't exist yet; concurrent writers adding the same tag don't conflict
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO tags (name, usage_count) VALUES (:name, 0)", nativeQuery = true)
+    void insertIfAbsent(@Param("name") String name);
+    
+    @Modifying
+    @Query("UPDATE Tag t SET t.usageCount = t.usageCount + :delta WHERE t.tagId IN :tagIds")
+    void incrementUsage(@Param("tagIds") Collection<Long> tagIds, @Param("delta") long delta);
+}
@@ -0,0 +1,40 @@
+package com.devblocker.blocker.service;
+
+import com.devblocker.blocker.model.Blocker;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor over (createdAt, blockerId) for feed pagination
+ */
+public record BlockerCursor(LocalDateTime createdAt, UUID blockerId) {
+    
+    private static final String SEPARATOR = "|";
+    
+    public static BlockerCursor of(Blocker blocker) {
+        return new BlockerCursor(blocker.getCreatedAt(), blocker.getBlockerId());
+    }
+    
+    public static BlockerCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            return new BlockerCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    UUID.fromString(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+    
+    public String encode() {
+        String raw = createdAt + SEPARATOR + blockerId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,14 @@
+package com.devblocker.blocker.service;
+
+import java.util.UUID;
+
+/**
+ * Thrown when a blocker id does not exist; mapped to 404 by GlobalExceptionHandler
+ * Extends IllegalArgumentException so existing callers handling that keep working
+ */
+public class BlockerNotFoundException extends IllegalArgumentException {
+    
+    public BlockerNotFoundException(UUID blockerId) {
+        super("Blocker not found: " + blockerId);
+    }
+}
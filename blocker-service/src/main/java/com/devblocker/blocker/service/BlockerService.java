@@ -3,8 +3,10 @@ package com.devblocker.blocker.service;
 import com.devblocker.blocker.client.UserServiceClient;
 import com.devblocker.blocker.dto.BlockerResponse;
 import com.devblocker.blocker.dto.CreateBlockerRequest;
+import com.devblocker.blocker.dto.CursorPageResponse;
 import com.devblocker.blocker.dto.PageResponse;
 import com.devblocker.blocker.dto.ResolveBlockerRequest;
+import com.devblocker.blocker.dto.SimilarBlockerResponse;
 import com.devblocker.blocker.dto.UpdateBestSolutionRequest;
 import com.devblocker.blocker.dto.UpdateBlockerRequest;
 import com.devblocker.blocker.model.Blocker;
@@ -12,19 +14,31 @@ import com.devblocker.blocker.model.BlockerStatus;
 import com.devblocker.blocker.model.BlockerVisibility;
 import com.devblocker.blocker.model.Severity;
 import com.devblocker.blocker.repository.BlockerRepository;
+import com.devblocker.blocker.service.duplicate.DuplicateCandidate;
+import com.devblocker.blocker.service.search.BlockerSearchIndex;
+import com.devblocker.blocker.service.search.SearchHit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -32,10 +46,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BlockerService {
     
+    private static final int SIMILAR_OVERFETCH_FACTOR = 4;
+    
     private final BlockerRepository blockerRepository;
     private final EventPublisher eventPublisher;
     private final DuplicateDetectionService duplicateDetectionService;
     private final UserServiceClient userServiceClient;
+    private final BlockerSearchIndex blockerSearchIndex;
+    private final TagIndexService tagIndexService;
+    
+    @Value("${duplicate.detection.max-candidates:500}")
+    private int maxSimilarCandidates;
     
     @Transactional
     public BlockerResponse createBlocker(CreateBlockerRequest request) {
@@ -54,14 +75,20 @@ public class BlockerService {
                 .mediaUrls(request.getMediaUrls() != null ? request.getMediaUrls() : new java.util.ArrayList<>())
                 .build();
         
-        final Blocker savedBlocker = blockerRepository.save(blocker);
+        // Flush so createdAt is populated for the tag index and the response
+        final Blocker savedBlocker = blockerRepository.saveAndFlush(blocker);
+        tagIndexService.updateIndex(savedBlocker.getBlockerId(), savedBlocker.getCreatedAt(),
+                List.of(), savedBlocker.getTags());
+        
+        // Event goes to the outbox in this transaction; OutboxRelay publishes it after commit
+        eventPublisher.publishBlockerCreated(savedBlocker);
         
-        // Publish event after transaction commit using TransactionSynchronization
+        // Update in-memory indexes only once the blocker is committed
         TransactionSynchronizationManager.registerSynchronization(
                 new TransactionSynchronization() {
                     @Override
                     public void afterCommit() {
-                        eventPublisher.publishBlockerCreated(savedBlocker);
+                        blockerSearchIndex.index(savedBlocker);
                         // Trigger duplicate detection after commit
                         duplicateDetectionService.checkDuplicates(savedBlocker);
                     }
@@ -75,7 +102,7 @@ public class BlockerService {
     
     public BlockerResponse getBlocker(UUID blockerId, UUID userOrgId, java.util.List<UUID> userGroupIds) {
         Blocker blocker = blockerRepository.findByBlockerId(blockerId)
-                .orElseThrow(() -> new IllegalArgumentException("Blocker not found: " + blockerId));
+                .orElseThrow(() -> new BlockerNotFoundException(blockerId));
         
         // Check access
         if (!canAccessBlocker(blocker, userOrgId, userGroupIds)) {
@@ -85,19 +112,76 @@ public class BlockerService {
         return mapToBlockerResponse(blocker);
     }
     
+    @Transactional(readOnly = true)
+    public List<SimilarBlockerResponse> getSimilarBlockers(
+            UUID blockerId,
+            UUID userOrgId,
+            List<UUID> userGroupIds,
+            int limit) {
+        Blocker source = blockerRepository.findByBlockerId(blockerId)
+                .orElseThrow(() -> new BlockerNotFoundException(blockerId));
+        
+        if (!canAccessBlocker(source, userOrgId, userGroupIds)) {
+            throw new IllegalArgumentException("Unauthorized: You don't have access to this blocker");
+        }
+        
+        // Candidates are ranked before access filtering, so over-fetch until limit accessible ones are found
+        Map<UUID, Blocker> blockersById = new HashMap<>();
+        List<SimilarBlockerResponse> results = new ArrayList<>();
+        int fetch = limit * SIMILAR_OVERFETCH_FACTOR;
+        while (true) {
+            List<DuplicateCandidate> candidates = duplicateDetectionService.findSimilar(blockerId, fetch);
+            List<UUID> unloaded = candidates.stream()
+                    .map(DuplicateCandidate::blockerId)
+                    .filter(id -> !blockersById.containsKey(id))
+                    .collect(Collectors.toList());
+            blockerRepository.findAllById(unloaded).forEach(blocker -> blockersById.put(blocker.getBlockerId(), blocker));
+            
+            results.clear();
+            for (DuplicateCandidate candidate : candidates) {
+                Blocker blocker = blockersById.get(candidate.blockerId());
+                if (blocker == null || !canAccessBlocker(blocker, userOrgId, userGroupIds)) {
+                    continue;
+                }
+                results.add(SimilarBlockerResponse.builder()
+                        .blockerId(blocker.getBlockerId())
+                        .title(blocker.getTitle())
+                        .status(blocker.getStatus())
+                        .severity(blocker.getSeverity())
+                        .bestSolutionId(blocker.getBestSolutionId())
+                        .similarity(candidate.similarity())
+                        .createdAt(blocker.getCreatedAt())
+                        .build());
+                if (results.size() == limit) {
+                    return results;
+                }
+            }
+            if (candidates.size() < fetch || fetch >= maxSimilarCandidates) {
+                return results;
+            }
+            fetch = Math.min(fetch * SIMILAR_OVERFETCH_FACTOR, maxSimilarCandidates);
+        }
+    }
+    
     private boolean canAccessBlocker(Blocker blocker, UUID userOrgId, java.util.List<UUID> userGroupIds) {
-        if (blocker.getVisibility() == com.devblocker.blocker.model.BlockerVisibility.PUBLIC) {
+        return canAccess(blocker.getVisibility(), blocker.getOrgId(), blocker.getGroupId(), userOrgId, userGroupIds);
+    }
+    
+    private boolean canAccess(BlockerVisibility visibility, UUID orgId, UUID groupId,
+                              UUID userOrgId, List<UUID> userGroupIds) {
+        if (visibility == BlockerVisibility.PUBLIC) {
             return true;
         }
-        if (blocker.getVisibility() == com.devblocker.blocker.model.BlockerVisibility.ORG) {
-            return userOrgId != null && userOrgId.equals(blocker.getOrgId());
+        if (visibility == BlockerVisibility.ORG) {
+            return userOrgId != null && userOrgId.equals(orgId);
         }
-        if (blocker.getVisibility() == com.devblocker.blocker.model.BlockerVisibility.GROUP) {
-            return userGroupIds != null && blocker.getGroupId() != null && userGroupIds.contains(blocker.getGroupId());
+        if (visibility == BlockerVisibility.GROUP) {
+            return userGroupIds != null && groupId != null && userGroupIds.contains(groupId);
         }
         return false;
     }
     
+    @Transactional(readOnly = true)
     public PageResponse<BlockerResponse> getAllBlockers(
             BlockerStatus status,
             Severity severity,
@@ -113,8 +197,13 @@ public class BlockerService {
         // teamCode parameter is kept for API compatibility but not used in query
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Blocker> blockers = blockerRepository.findWithFilters(
-                status, severity, createdBy, assignedTo, teamId, tag, userOrgId, userGroupIds, pageable);
+        Long tagId = tag != null ? tagIndexService.findTagId(tag).orElse(null) : null;
+        
+        // A tag nobody has used can't match anything
+        Page<Blocker> blockers = tag != null && tagId == null
+                ? Page.empty(pageable)
+                : blockerRepository.findWithFilters(
+                        status, severity, createdBy, assignedTo, teamId, tagId, userOrgId, userGroupIds, pageable);
         
         return PageResponse.<BlockerResponse>builder()
                 .content(blockers.getContent().stream()
@@ -129,6 +218,83 @@ public class BlockerService {
                 .build();
     }
     
+    @Transactional(readOnly = true)
+    public CursorPageResponse<BlockerResponse> getBlockersAfter(
+            BlockerStatus status,
+            Severity severity,
+            UUID createdBy,
+            UUID assignedTo,
+            UUID teamId,
+            String tag,
+            UUID userOrgId,
+            List<UUID> userGroupIds,
+            String cursor,
+            int size) {
+        BlockerCursor after = BlockerCursor.decode(cursor);
+        Pageable pageable = PageRequest.of(0, size);
+        Long tagId = tag != null ? tagIndexService.findTagId(tag).orElse(null) : null;
+        
+        Slice<Blocker> blockers = tag != null && tagId == null
+                ? new SliceImpl<>(List.of(), pageable, false)
+                : blockerRepository.findWithFiltersAfter(
+                        status, severity, createdBy, assignedTo, teamId, tagId, userOrgId, userGroupIds,
+                        after != null ? after.createdAt() : null,
+                        after != null ? after.blockerId() : null,
+                        pageable);
+        
+        List<Blocker> content = blockers.getContent();
+        String nextCursor = blockers.hasNext() && !content.isEmpty()
+                ? BlockerCursor.of(content.get(content.size() - 1)).encode()
+                : null;
+        
+        return CursorPageResponse.<BlockerResponse>builder()
+                .content(content.stream()
+                        .map(this::mapToBlockerResponse)
+                        .collect(Collectors.toList()))
+                .size(blockers.getSize())
+                .hasNext(blockers.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
+    @Transactional(readOnly = true)
+    public PageResponse<BlockerResponse> searchBlockers(
+            String query,
+            UUID userOrgId,
+            List<UUID> userGroupIds,
+            int page,
+            int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        List<SearchHit> hits = blockerSearchIndex.search(query, document -> canAccess(
+                document.visibility(), document.orgId(), document.groupId(), userOrgId, userGroupIds));
+        
+        // Only the requested page of ranked hits is loaded from the database
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + size, hits.size());
+        List<UUID> pageIds = hits.subList(from, to).stream()
+                .map(SearchHit::blockerId)
+                .collect(Collectors.toList());
+        
+        Map<UUID, Blocker> blockersById = blockerRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Blocker::getBlockerId, Function.identity()));
+        List<BlockerResponse> content = pageIds.stream()
+                .map(blockersById::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToBlockerResponse)
+                .collect(Collectors.toList());
+        
+        Page<BlockerResponse> results = new PageImpl<>(content, pageable, hits.size());
+        return PageResponse.<BlockerResponse>builder()
+                .content(results.getContent())
+                .page(results.getNumber())
+                .size(results.getSize())
+                .totalElements(results.getTotalElements())
+                .totalPages(results.getTotalPages())
+                .first(results.isFirst())
+                .last(results.isLast())
+                .build();
+    }
+    
     private List<String> getUserTeamCodes(UUID userId) {
         return userServiceClient.getUserTeamCodes(userId, null);
     }
@@ -136,7 +302,7 @@ public class BlockerService {
     @Transactional
     public BlockerResponse updateBlocker(UUID blockerId, UpdateBlockerRequest request) {
         Blocker blocker = blockerRepository.findByBlockerId(blockerId)
-                .orElseThrow(() -> new IllegalArgumentException("Blocker not found: " + blockerId));
+                .orElseThrow(() -> new BlockerNotFoundException(blockerId));
         
         if (request.getTitle() != null) {
             blocker.setTitle(request.getTitle());
@@ -153,21 +319,30 @@ public class BlockerService {
         if (request.getTeamId() != null) {
             blocker.setTeamId(request.getTeamId());
         }
+        List<String> previousTags = null;
         if (request.getTags() != null) {
+            previousTags = new ArrayList<>(blocker.getTags());
             blocker.setTags(request.getTags());
         }
         if (request.getMediaUrls() != null) {
             blocker.setMediaUrls(request.getMediaUrls());
         }
         
-        final Blocker savedBlocker = blockerRepository.save(blocker);
+        // Flush so updatedAt is populated for the event
+        final Blocker savedBlocker = blockerRepository.saveAndFlush(blocker);
+        if (previousTags != null) {
+            tagIndexService.updateIndex(blockerId, savedBlocker.getCreatedAt(), previousTags, savedBlocker.getTags());
+        }
+        
+        eventPublisher.publishBlockerUpdated(savedBlocker);
         
-        // Publish event after transaction commit
+        // Update in-memory indexes only once the blocker is committed
         TransactionSynchronizationManager.registerSynchronization(
                 new TransactionSynchronization() {
                     @Override
                     public void afterCommit() {
-                        eventPublisher.publishBlockerUpdated(savedBlocker);
+                        blockerSearchIndex.index(savedBlocker);
+                        duplicateDetectionService.checkDuplicates(savedBlocker);
                     }
                 }
         );
@@ -180,7 +355,7 @@ public class BlockerService {
     @Transactional
     public BlockerResponse resolveBlocker(UUID blockerId, ResolveBlockerRequest request, UUID resolvedBy) {
         Blocker blocker = blockerRepository.findByBlockerId(blockerId)
-                .orElseThrow(() -> new IllegalArgumentException("Blocker not found: " + blockerId));
+                .orElseThrow(() -> new BlockerNotFoundException(blockerId));
         
         if (blocker.getStatus() == BlockerStatus.RESOLVED) {
             throw new IllegalArgumentException("Blocker is already resolved");
@@ -197,17 +372,9 @@ public class BlockerService {
         blocker.setResolvedAt(LocalDateTime.now());
         
         final Blocker savedBlocker = blockerRepository.save(blocker);
-        final UUID finalResolvedBy = resolvedBy;
         
-        // Publish event after transaction commit
-        TransactionSynchronizationManager.registerSynchronization(
-                new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        eventPublisher.publishBlockerResolved(savedBlocker, finalResolvedBy);
-                    }
-                }
-        );
+        // Queued in this transaction, published by OutboxRelay after commit
+        eventPublisher.publishBlockerResolved(savedBlocker, resolvedBy);
         
         log.info("Blocker resolved: {}", blockerId);
         
@@ -217,20 +384,14 @@ public class BlockerService {
     @Transactional
     public BlockerResponse updateBestSolution(UUID blockerId, UpdateBestSolutionRequest request) {
         Blocker blocker = blockerRepository.findByBlockerId(blockerId)
-                .orElseThrow(() -> new IllegalArgumentException("Blocker not found: " + blockerId));
+                .orElseThrow(() -> new BlockerNotFoundException(blockerId));
         
         blocker.setBestSolutionId(request.getBestSolutionId());
-        final Blocker savedBlocker = blockerRepository.save(blocker);
+        // Flush so updatedAt is populated for the event
+        final Blocker savedBlocker = blockerRepository.saveAndFlush(blocker);
         
-        // Publish event after transaction commit
-        TransactionSynchronizationManager.registerSynchronization(
-                new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        eventPublisher.publishBlockerUpdated(savedBlocker);
-                    }
-                }
-        );
+        // Queued in this transaction, published by OutboxRelay after commit
+        eventPublisher.publishBlockerUpdated(savedBlocker);
         
         log.info("Best solution updated for blocker: {} to solution: {}", blockerId, request.getBestSolutionId());
         
@@ -249,8 +410,9 @@ public class BlockerService {
                 .teamId(blocker.getTeamId())
                 .teamCode(null) // Blocker model doesn't have teamCode field
                 .bestSolutionId(blocker.getBestSolutionId())
-                .tags(blocker.getTags())
-                .mediaUrls(blocker.getMediaUrls())
+                // Copied inside the read transaction: loads the collections batched per page, not during serialization
+                .tags(new ArrayList<>(blocker.getTags()))
+                .mediaUrls(new ArrayList<>(blocker.getMediaUrls()))
                 .createdAt(blocker.getCreatedAt())
                 .updatedAt(blocker.getUpdatedAt())
                 .resolvedAt(blocker.getResolvedAt())
@@ -1,22 +1,99 @@
 package com.devblocker.blocker.service;
 
 import com.devblocker.blocker.model.Blocker;
+import com.devblocker.blocker.repository.BlockerRepository;
+import com.devblocker.blocker.service.duplicate.DuplicateCandidate;
+import com.devblocker.blocker.service.duplicate.LshIndex;
+import com.devblocker.blocker.service.duplicate.MinHasher;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import java.util.HashMap;
-import java.util.Map;
 
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Near-duplicate detection using MinHash signatures and LSH banding over title + description
+ * Every blocker is indexed on create/update; lookups only score blockers that share an LSH bucket
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class DuplicateDetectionService {
     
-    @Value("${search.service.url:http://localhost:8084}")
-    private String searchServiceUrl;
+    private static final long HASH_SEED = 0x5DEECE66DL;
+    
+    private final BlockerRepository blockerRepository;
     
     @Value("${duplicate.detection.enabled:false}")
     private boolean duplicateDetectionEnabled;
     
+    @Value("${duplicate.detection.bands:32}")
+    private int bands;
+    
+    @Value("${duplicate.detection.rows-per-band:4}")
+    private int rowsPerBand;
+    
+    @Value("${duplicate.detection.shingle-length:5}")
+    private int shingleLength;
+    
+    @Value("${duplicate.detection.min-similarity:0.5}")
+    private double minSimilarity;
+    
+    @Value("${duplicate.detection.max-results:5}")
+    private int maxResults;
+    
+    @Value("${search.index.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+    
+    private MinHasher minHasher;
+    private LshIndex lshIndex;
+    
+    @PostConstruct
+    void init() {
+        minHasher = new MinHasher(bands * rowsPerBand, shingleLength, HASH_SEED);
+        lshIndex = new LshIndex(bands, rowsPerBand);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!duplicateDetectionEnabled) {
+            return;
+        }
+        
+        long start = System.currentTimeMillis();
+        try {
+            PageRequest pageable = PageRequest.of(0, rebuildBatchSize, Sort.by("createdAt", "blockerId"));
+            Slice<UUID> ids;
+            do {
+                ids = blockerRepository.findAllBlockerIds(pageable);
+                if (ids.hasContent()) {
+                    blockerRepository.findAllById(ids.getContent()).forEach(this::index);
+                }
+                pageable = pageable.next();
+            } while (ids.hasNext());
+            
+            log.info("Duplicate detection index rebuilt with {} blockers in {} ms",
+                    lshIndex.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to rebuild duplicate detection index", e);
+        }
+    }
+    
+    /**
+     * Index a newly created or updated blocker and log any likely duplicates
+     * Runs on the async executor so blocker writes never wait on it
+     */
+    @Async
     public void checkDuplicates(Blocker blocker) {
         if (!duplicateDetectionEnabled) {
             log.debug("Duplicate detection is disabled. Skipping check for blocker: {}", blocker.getBlockerId());
@@ -24,26 +101,50 @@ public class DuplicateDetectionService {
         }
         
         try {
-            // Stub: Call search-service to check for duplicates
-            // This will be implemented when search-service is available
-            Map<String, Object> request = new HashMap<>();
-            request.put("title", blocker.getTitle());
-            request.put("description", blocker.getDescription());
-            request.put("blockerId", blocker.getBlockerId().toString());
-            
-            // TODO: Implement actual call to search-service
-            // String url = searchServiceUrl + "/api/v1/search/duplicates";
-            // DuplicateCheckResponse response = restTemplate.postForObject(url, request, DuplicateCheckResponse.class);
-            
-            log.info("Duplicate check triggered for blocker: {} (stub implementation)", blocker.getBlockerId());
-            
-            // For now, just log that duplicate check was triggered
-            // In production, this would call the search-service API
+            int[] signature = index(blocker);
+            if (signature == null) {
+                return;
+            }
             
+            List<DuplicateCandidate> duplicates = lshIndex.query(signature, blocker.getBlockerId(), maxResults, minSimilarity);
+            if (!duplicates.isEmpty()) {
+                log.info("Possible duplicates for blocker {}: {}", blocker.getBlockerId(), duplicates);
+            }
         } catch (Exception e) {
             log.error("Failed to check duplicates for blocker: {}", blocker.getBlockerId(), e);
             // Don't throw - duplicate detection failure shouldn't break blocker creation
         }
     }
+    
+    /**
+     * Find the blockers most similar to an indexed blocker
+     * 
+     * @param blockerId Blocker to compare against
+     * @param limit Maximum number of results
+     * @return Candidates ordered by descending estimated similarity, empty if the blocker is not indexed
+     */
+    public List<DuplicateCandidate> findSimilar(UUID blockerId, int limit) {
+        if (!duplicateDetectionEnabled) {
+            return List.of();
+        }
+        
+        int[] signature = lshIndex.signatureOf(blockerId);
+        if (signature == null) {
+            return List.of();
+        }
+        return lshIndex.query(signature, blockerId, limit, minSimilarity);
+    }
+    
+    private int[] index(Blocker blocker) {
+        Set<Integer> shingles = minHasher.shingles(blocker.getTitle() + " " +
+                (blocker.getDescription() != null ? blocker.getDescription() : ""));
+        if (shingles.isEmpty()) {
+            lshIndex.remove(blocker.getBlockerId());
+            return null;
+        }
+        
+        int[] signature = minHasher.signature(shingles);
+        lshIndex.add(blocker.getBlockerId(), signature);
+        return signature;
+    }
 }
-
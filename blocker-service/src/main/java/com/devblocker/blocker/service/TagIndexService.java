@@ -0,0 +1,218 @@
+package com.devblocker.blocker.service;
+
+import com.devblocker.blocker.dto.TagCountResponse;
+import com.devblocker.blocker.model.Blocker;
+import com.devblocker.blocker.model.BlockerTagIndex;
+import com.devblocker.blocker.model.IndexBackfillState;
+import com.devblocker.blocker.model.Tag;
+import com.devblocker.blocker.repository.BlockerRepository;
+import com.devblocker.blocker.repository.BlockerTagIndexRepository;
+import com.devblocker.blocker.repository.IndexBackfillStateRepository;
+import com.devblocker.blocker.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the tag dictionary, the blocker_tag_index secondary index and per-tag usage counters
+ * Index rows and counters are written in the same transaction as the blocker itself
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagIndexService {
+    
+    private static final String BACKFILL_NAME = "blocker_tag_index";
+    
+    private final TagRepository tagRepository;
+    private final BlockerTagIndexRepository blockerTagIndexRepository;
+    private final BlockerRepository blockerRepository;
+    private final IndexBackfillStateRepository backfillStateRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${search.index.rebuild-batch-size:500}")
+    private int backfillBatchSize;
+    
+    public static String normalize(String tag) {
+        return tag == null ? null : tag.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Apply the difference between a blocker's previous and current tags to the index and counters
+     * 
+     * @param blockerId Blocker being written
+     * @param createdAt Blocker creation time, stored for feed-ordered tag scans
+     * @param previousTags Tags before the write (empty for a new blocker)
+     * @param currentTags Tags after the write
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updateIndex(UUID blockerId, LocalDateTime createdAt,
+                            Collection<String> previousTags, Collection<String> currentTags) {
+        Set<String> before = normalizeAll(previousTags);
+        Set<String> after = normalizeAll(currentTags);
+        
+        Set<String> removed = new HashSet<>(before);
+        removed.removeAll(after);
+        Set<String> added = new HashSet<>(after);
+        added.removeAll(before);
+        
+        if (!removed.isEmpty()) {
+            // Only pairs that were actually indexed count towards usage_count; a blocker the backfill
+            // has not reached yet has no rows to remove
+            List<Long> deleted = new ArrayList<>();
+            for (Tag tag : tagRepository.findByNameIn(removed)) {
+                if (blockerTagIndexRepository.deleteByBlockerIdAndTagId(blockerId, tag.getTagId()) > 0) {
+                    deleted.add(tag.getTagId());
+                }
+            }
+            if (!deleted.isEmpty()) {
+                tagRepository.incrementUsage(deleted, -1);
+            }
+        }
+        
+        if (!added.isEmpty()) {
+            List<Tag> addedTags = resolveTags(added);
+            blockerTagIndexRepository.saveAll(addedTags.stream()
+                    .map(tag -> BlockerTagIndex.builder()
+                            .tagId(tag.getTagId())
+                            .blockerId(blockerId)
+                            .createdAt(createdAt)
+                            .build())
+                    .collect(Collectors.toList()));
+            tagRepository.incrementUsage(addedTags.stream().map(Tag::getTagId).collect(Collectors.toList()), 1);
+        }
+    }
+    
+    public Optional<Long> findTagId(String tag) {
+        return tagRepository.findByName(normalize(tag)).map(Tag::getTagId);
+    }
+    
+    public List<TagCountResponse> getTopTags(int limit) {
+        return tagRepository.findTopTags(PageRequest.of(0, limit)).stream()
+                .map(tag -> TagCountResponse.builder()
+                        .tag(tag.getName())
+                        .count(tag.getUsageCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Populate the index from blocker_tags for blockers written before the index existed
+     * Progress is kept in index_backfill_state, one transaction per batch, so a failed or interrupted
+     * run resumes from its cursor on the next start. Indexing is idempotent: rows already written by
+     * live updates are skipped and only rows actually inserted count towards usage_count
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int indexed = 0;
+        try {
+            Integer batch;
+            do {
+                batch = transactionTemplate.execute(status -> backfillBatch());
+                indexed += batch;
+            } while (batch > 0);
+            
+            if (indexed > 0) {
+                log.info("Tag index backfilled for {} blockers", indexed);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill tag index after {} blockers; resuming from the saved cursor on next start",
+                    indexed, e);
+        }
+    }
+    
+    /**
+     * Index the next batch after the saved cursor and advance it
+     * 
+     * @return Number of blockers processed, 0 once the backfill is complete
+     */
+    private int backfillBatch() {
+        IndexBackfillState state = backfillStateRepository.findById(BACKFILL_NAME)
+                .orElseGet(() -> IndexBackfillState.builder().name(BACKFILL_NAME).build());
+        if (Boolean.TRUE.equals(state.getCompleted())) {
+            return 0;
+        }
+        
+        List<Object[]> rows = blockerRepository.findIdsAfter(
+                state.getCursorCreatedAt(), state.getCursorBlockerId(), PageRequest.of(0, backfillBatchSize));
+        if (rows.isEmpty()) {
+            state.setCompleted(true);
+        } else {
+            List<UUID> ids = rows.stream().map(row -> (UUID) row[0]).collect(Collectors.toList());
+            // Row locks make concurrent updates of these blockers wait, so their tags can't change under us
+            blockerRepository.lockWithTagsByBlockerIdIn(ids).forEach(this::indexIfAbsent);
+            
+            Object[] last = rows.get(rows.size() - 1);
+            state.setCursorBlockerId((UUID) last[0]);
+            state.setCursorCreatedAt((LocalDateTime) last[1]);
+        }
+        state.setUpdatedAt(LocalDateTime.now());
+        backfillStateRepository.save(state);
+        return rows.size();
+    }
+    
+    private void indexIfAbsent(Blocker blocker) {
+        Set<String> names = normalizeAll(blocker.getTags());
+        if (names.isEmpty()) {
+            return;
+        }
+        
+        List<Long> inserted = new ArrayList<>();
+        for (Tag tag : resolveTags(names)) {
+            if (blockerTagIndexRepository.insertIfAbsent(tag.getTagId(), blocker.getBlockerId(), blocker.getCreatedAt()) > 0) {
+                inserted.add(tag.getTagId());
+            }
+        }
+        if (!inserted.isEmpty()) {
+            tagRepository.incrementUsage(inserted, 1);
+        }
+    }
+    
+    private List<Tag> resolveTags(Set<String> names) {
+        List<Tag> tags = tagRepository.findByNameIn(names);
+        if (tags.size() < names.size()) {
+            Set<String> known = tags.stream().map(Tag::getName).collect(Collectors.toSet());
+            names.stream()
+                    .filter(name -> !known.contains(name))
+                    .forEach(tagRepository::insertIfAbsent);
+            // A tag inserted by a concurrent transaction is ignored above and invisible to a plain read
+            // of this transaction's snapshot; a locking read returns the latest committed rows
+            tags = tagRepository.lockByNameIn(names);
+            if (tags.size() < names.size()) {
+                Set<String> resolved = tags.stream().map(Tag::getName).collect(Collectors.toSet());
+                throw new IllegalStateException("Could not resolve tags: " + names.stream()
+                        .filter(name -> !resolved.contains(name))
+                        .collect(Collectors.toList()));
+            }
+        }
+        return tags;
+    }
+    
+    private Set<String> normalizeAll(Collection<String> tags) {
+        if (tags == null) {
+            return new HashSet<>();
+        }
+        return tags.stream()
+                .map(TagIndexService::normalize)
+                .filter(tag -> tag != null && !tag.isEmpty())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,6 @@
+package com.devblocker.blocker.service.duplicate;
+
+import java.util.UUID;
+
+public record DuplicateCandidate(UUID blockerId, double similarity) {
+}
@@ -0,0 +1,135 @@
+package com.devblocker.blocker.service.duplicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing over MinHash signatures
+ * Signatures are split into bands; blockers sharing any band bucket become candidates,
+ * so a lookup only compares against those instead of every indexed blocker
+ */
+public class LshIndex {
+    
+    private final int bands;
+    private final int rows;
+    private final List<Map<Integer, Set<UUID>>> buckets;
+    private final Map<UUID, int[]> signatures = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    public LshIndex(int bands, int rows) {
+        this.bands = bands;
+        this.rows = rows;
+        this.buckets = new ArrayList<>(bands);
+        for (int i = 0; i < bands; i++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+    
+    public void add(UUID blockerId, int[] signature) {
+        if (signature.length != bands * rows) {
+            throw new IllegalArgumentException("Signature length must be " + (bands * rows));
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(blockerId);
+            signatures.put(blockerId, signature);
+            for (int band = 0; band < bands; band++) {
+                buckets.get(band).computeIfAbsent(bandHash(signature, band), key -> new HashSet<>()).add(blockerId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(UUID blockerId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(blockerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int[] signatureOf(UUID blockerId) {
+        lock.readLock().lock();
+        try {
+            return signatures.get(blockerId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Find the blockers most similar to a signature
+     * 
+     * @param signature MinHash signature to look up
+     * @param exclude Blocker to leave out of the results (usually the one being checked), may be null
+     * @param limit Maximum number of candidates returned
+     * @param minSimilarity Estimated Jaccard similarity a candidate must reach
+     * @return Candidates ordered by descending similarity
+     */
+    public List<DuplicateCandidate> query(int[] signature, UUID exclude, int limit, double minSimilarity) {
+        lock.readLock().lock();
+        try {
+            Set<UUID> candidates = new HashSet<>();
+            for (int band = 0; band < bands; band++) {
+                Set<UUID> bucket = buckets.get(band).get(bandHash(signature, band));
+                if (bucket != null) {
+                    candidates.addAll(bucket);
+                }
+            }
+            candidates.remove(exclude);
+            
+            List<DuplicateCandidate> matches = new ArrayList<>();
+            for (UUID candidate : candidates) {
+                double similarity = MinHasher.similarity(signature, signatures.get(candidate));
+                if (similarity >= minSimilarity) {
+                    matches.add(new DuplicateCandidate(candidate, similarity));
+                }
+            }
+            matches.sort(Comparator.comparingDouble(DuplicateCandidate::similarity).reversed());
+            return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private int bandHash(int[] signature, int band) {
+        return Arrays.hashCode(Arrays.copyOfRange(signature, band * rows, (band + 1) * rows));
+    }
+    
+    private void removeInternal(UUID blockerId) {
+        int[] existing = signatures.remove(blockerId);
+        if (existing == null) {
+            return;
+        }
+        for (int band = 0; band < bands; band++) {
+            int key = bandHash(existing, band);
+            Set<UUID> bucket = buckets.get(band).get(key);
+            if (bucket != null) {
+                bucket.remove(blockerId);
+                if (bucket.isEmpty()) {
+                    buckets.get(band).remove(key);
+                }
+            }
+        }
+    }
+}
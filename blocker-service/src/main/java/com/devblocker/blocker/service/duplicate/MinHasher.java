@@ -0,0 +1,80 @@
+package com.devblocker.blocker.service.duplicate;
+
+import com.devblocker.blocker.service.search.Tokenizer;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Computes MinHash signatures over character shingles of normalized text
+ * The fraction of equal signature positions estimates the Jaccard similarity of the shingle sets
+ */
+public class MinHasher {
+    
+    private static final long PRIME = 2147483647L; // 2^31 - 1
+    
+    private final int shingleLength;
+    private final long[] multipliers;
+    private final long[] offsets;
+    
+    public MinHasher(int numHashes, int shingleLength, long seed) {
+        this.shingleLength = shingleLength;
+        this.multipliers = new long[numHashes];
+        this.offsets = new long[numHashes];
+        
+        // Fixed seed so signatures stay comparable across restarts
+        Random random = new Random(seed);
+        for (int i = 0; i < numHashes; i++) {
+            multipliers[i] = 1 + random.nextInt((int) (PRIME - 1));
+            offsets[i] = random.nextInt((int) PRIME);
+        }
+    }
+    
+    public int numHashes() {
+        return multipliers.length;
+    }
+    
+    public Set<Integer> shingles(String text) {
+        String normalized = String.join(" ", Tokenizer.tokenize(text));
+        Set<Integer> shingles = new HashSet<>();
+        if (normalized.isEmpty()) {
+            return shingles;
+        }
+        if (normalized.length() <= shingleLength) {
+            shingles.add(normalized.hashCode());
+            return shingles;
+        }
+        for (int i = 0; i + shingleLength <= normalized.length(); i++) {
+            shingles.add(normalized.substring(i, i + shingleLength).hashCode());
+        }
+        return shingles;
+    }
+    
+    public int[] signature(Set<Integer> shingles) {
+        int[] signature = new int[multipliers.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        
+        for (int shingle : shingles) {
+            long x = shingle & 0x7fffffffL;
+            for (int i = 0; i < multipliers.length; i++) {
+                int hash = (int) ((multipliers[i] * x + offsets[i]) % PRIME);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+    
+    public static double similarity(int[] first, int[] second) {
+        int equal = 0;
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / first.length;
+    }
+}
@@ -0,0 +1,48 @@
+// Generated from shared/outbox by scripts/sync-outbox.sh - edit the shared copy, not this file
+package com.devblocker.blocker.service.outbox;
+
+import com.devblocker.blocker.model.OutboxEvent;
+import com.devblocker.blocker.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records outgoing events in the outbox table instead of sending them to the broker directly
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    
+    /**
+     * Header the JSON message converters read the payload type from on the consumer side
+     */
+    static final String TYPE_ID_HEADER = "__TypeId__";
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    
+    /**
+     * Queue an event in the caller's transaction
+     * The event is only visible to OutboxRelay if that transaction commits
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String exchange, String routingKey, Object event) {
+        Message message = rabbitTemplate.getMessageConverter().toMessage(event, new MessageProperties());
+        MessageProperties properties = message.getMessageProperties();
+        Object typeId = properties.getHeaders().get(TYPE_ID_HEADER);
+        
+        outboxEventRepository.save(OutboxEvent.builder()
+                .exchange(exchange)
+                .routingKey(routingKey)
+                .payload(message.getBody())
+                .contentType(properties.getContentType())
+                .contentEncoding(properties.getContentEncoding())
+                .typeId(typeId != null ? typeId.toString() : null)
+                .build());
+    }
+}
@@ -0,0 +1,96 @@
+package com.devblocker.blocker.service.search;
+
+import com.devblocker.blocker.model.Blocker;
+import com.devblocker.blocker.repository.BlockerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Full-text index over blocker title, description and tags
+ * Rebuilt from the database on startup and kept current by BlockerService after each commit
+ * The index is per instance: writes committed by another replica are not seen until this one restarts
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlockerSearchIndex {
+    
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    
+    private final BlockerRepository blockerRepository;
+    private final InvertedIndex index = new InvertedIndex();
+    
+    @Value("${search.index.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            PageRequest pageable = PageRequest.of(0, rebuildBatchSize, Sort.by("createdAt", "blockerId"));
+            Slice<UUID> ids;
+            do {
+                ids = blockerRepository.findAllBlockerIds(pageable);
+                if (ids.hasContent()) {
+                    blockerRepository.findAllWithTagsByBlockerIdIn(ids.getContent()).forEach(this::index);
+                }
+                pageable = pageable.next();
+            } while (ids.hasNext());
+            
+            log.info("Search index rebuilt with {} blockers in {} ms", index.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to rebuild search index", e);
+            // Don't throw - the service stays up and the index fills in as blockers are written
+        }
+    }
+    
+    public void index(Blocker blocker) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = addTerms(termFrequencies, Tokenizer.tokenize(blocker.getTitle()), TITLE_WEIGHT)
+                + addTerms(termFrequencies, Tokenizer.tokenize(blocker.getDescription()), DESCRIPTION_WEIGHT);
+        if (blocker.getTags() != null) {
+            for (String tag : blocker.getTags()) {
+                length += addTerms(termFrequencies, Tokenizer.tokenize(tag), TAG_WEIGHT);
+            }
+        }
+        
+        index.index(new IndexedDocument(
+                blocker.getBlockerId(),
+                blocker.getVisibility(),
+                blocker.getOrgId(),
+                blocker.getGroupId(),
+                blocker.getCreatedAt(),
+                termFrequencies,
+                length));
+    }
+    
+    public void remove(UUID blockerId) {
+        index.remove(blockerId);
+    }
+    
+    public List<SearchHit> search(String query, Predicate<IndexedDocument> filter) {
+        return index.search(Tokenizer.tokenize(query), filter);
+    }
+    
+    private int addTerms(Map<String, Integer> termFrequencies, List<String> terms, int weight) {
+        for (String term : terms) {
+            termFrequencies.merge(term, weight, Integer::sum);
+        }
+        return terms.size() * weight;
+    }
+}
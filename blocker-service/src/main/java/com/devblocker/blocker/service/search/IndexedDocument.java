@@ -0,0 +1,20 @@
+package com.devblocker.blocker.service.search;
+
+import com.devblocker.blocker.model.BlockerVisibility;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Indexed view of a blocker: weighted term frequencies plus the fields needed for visibility checks
+ */
+public record IndexedDocument(
+        UUID blockerId,
+        BlockerVisibility visibility,
+        UUID orgId,
+        UUID groupId,
+        LocalDateTime createdAt,
+        Map<String, Integer> termFrequencies,
+        int length) {
+}
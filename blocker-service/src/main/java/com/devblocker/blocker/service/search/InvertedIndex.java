@@ -0,0 +1,130 @@
+package com.devblocker.blocker.service.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory term -> postings index with BM25 ranking
+ * Writers replace a whole document at a time; readers never see a half-indexed blocker
+ */
+public class InvertedIndex {
+    
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    
+    private final Map<String, Map<UUID, Integer>> postings = new HashMap<>();
+    private final Map<UUID, IndexedDocument> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+    
+    public void index(IndexedDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.blockerId());
+            documents.put(document.blockerId(), document);
+            totalLength += document.length();
+            document.termFrequencies().forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.blockerId(), frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(UUID blockerId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(blockerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Rank every document matching at least one query term
+     * 
+     * @param queryTerms Tokenized query
+     * @param filter Documents rejected by the filter are skipped before scoring
+     * @return Hits ordered by descending score, newest first on ties
+     */
+    public List<SearchHit> search(List<String> queryTerms, Predicate<IndexedDocument> filter) {
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty() || queryTerms.isEmpty()) {
+                return List.of();
+            }
+            
+            int documentCount = documents.size();
+            double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+            Map<UUID, Double> scores = new HashMap<>();
+            
+            for (String term : new LinkedHashSet<>(queryTerms)) {
+                Map<UUID, Integer> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                
+                int documentFrequency = termPostings.size();
+                double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                
+                for (Map.Entry<UUID, Integer> posting : termPostings.entrySet()) {
+                    IndexedDocument document = documents.get(posting.getKey());
+                    if (!scores.containsKey(posting.getKey()) && !filter.test(document)) {
+                        continue;
+                    }
+                    int frequency = posting.getValue();
+                    double norm = K1 * (1 - B + B * document.length() / averageLength);
+                    double termScore = idf * frequency * (K1 + 1) / (frequency + norm);
+                    scores.merge(posting.getKey(), termScore, Double::sum);
+                }
+            }
+            
+            List<SearchHit> hits = new ArrayList<>(scores.size());
+            scores.forEach((blockerId, score) -> hits.add(new SearchHit(blockerId, score)));
+            hits.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+                    .thenComparing(hit -> createdAt(hit.blockerId()), Comparator.reverseOrder()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private LocalDateTime createdAt(UUID blockerId) {
+        LocalDateTime createdAt = documents.get(blockerId).createdAt();
+        return createdAt != null ? createdAt : LocalDateTime.MIN;
+    }
+    
+    private void removeInternal(UUID blockerId) {
+        IndexedDocument existing = documents.remove(blockerId);
+        if (existing == null) {
+            return;
+        }
+        totalLength -= existing.length();
+        for (String term : existing.termFrequencies().keySet()) {
+            Map<UUID, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(blockerId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
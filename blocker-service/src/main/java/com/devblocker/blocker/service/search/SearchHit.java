@@ -0,0 +1,6 @@
+package com.devblocker.blocker.service.search;
+
+import java.util.UUID;
+
+public record SearchHit(UUID blockerId, double score) {
+}
@@ -0,0 +1,51 @@
+package com.devblocker.blocker.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits blocker text into lower-cased index terms
+ * Used for both indexing and querying so both sides see the same terms
+ */
+public final class Tokenizer {
+    
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "if", "in",
+            "into", "is", "it", "of", "on", "or", "so", "that", "the", "this", "to", "was", "with"
+    );
+    
+    private Tokenizer() {
+    }
+    
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else {
+                flush(current, terms);
+            }
+        }
+        flush(current, terms);
+        
+        return terms;
+    }
+    
+    private static void flush(StringBuilder current, List<String> terms) {
+        if (current.length() >= MIN_TERM_LENGTH) {
+            String term = current.toString();
+            if (!STOP_WORDS.contains(term)) {
+                terms.add(term);
+            }
+        }
+        current.setLength(0);
+    }
+}
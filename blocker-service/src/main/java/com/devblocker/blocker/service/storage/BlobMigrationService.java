@@ -0,0 +1,100 @@
+package com.devblocker.blocker.service.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Moves file bodies left in the legacy stored_files.file_data LONGBLOB column into the BlobStore
+ * Each row is streamed out, hashed, and its file_data cleared; rows that fail are retried on the next start
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlobMigrationService {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final BlobStore blobStore;
+    
+    @Value("${file.storage.migrate-on-startup:true}")
+    private boolean migrateOnStartup;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (migrateOnStartup) {
+            migrate();
+        }
+    }
+    
+    public int migrate() {
+        if (!legacyColumnExists()) {
+            return 0;
+        }
+        
+        // New rows no longer carry file_data, so the legacy NOT NULL constraint has to go
+        String nullable = jdbcTemplate.queryForObject(
+                "SELECT IS_NULLABLE FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'stored_files' AND COLUMN_NAME = 'file_data'",
+                String.class);
+        if ("NO".equals(nullable)) {
+            jdbcTemplate.execute("ALTER TABLE stored_files MODIFY file_data LONGBLOB NULL");
+            log.info("Made stored_files.file_data nullable");
+        }
+        
+        List<Object> fileIds = jdbcTemplate.queryForList(
+                "SELECT file_id FROM stored_files WHERE file_data IS NOT NULL", Object.class);
+        if (fileIds.isEmpty()) {
+            return 0;
+        }
+        
+        log.info("Migrating {} stored files from database to blob store", fileIds.size());
+        int migrated = 0;
+        for (Object fileId : fileIds) {
+            try {
+                StoredBlob blob = jdbcTemplate.query(
+                        "SELECT file_data FROM stored_files WHERE file_id = ?",
+                        rs -> {
+                            if (!rs.next()) {
+                                return null;
+                            }
+                            try (InputStream in = rs.getBinaryStream(1)) {
+                                return in != null ? blobStore.store(in) : null;
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        },
+                        fileId);
+                if (blob == null) {
+                    continue;
+                }
+                
+                jdbcTemplate.update(
+                        "UPDATE stored_files SET content_hash = ?, file_size = ?, file_data = NULL WHERE file_id = ?",
+                        blob.contentHash(), blob.size(), fileId);
+                migrated++;
+            } catch (Exception e) {
+                log.error("Failed to migrate stored file: {}", fileId, e);
+            }
+        }
+        
+        log.info("Migrated {} of {} stored files to blob store", migrated, fileIds.size());
+        return migrated;
+    }
+    
+    private boolean legacyColumnExists() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'stored_files' AND COLUMN_NAME = 'file_data'",
+                Integer.class);
+        return count != null && count > 0;
+    }
+}
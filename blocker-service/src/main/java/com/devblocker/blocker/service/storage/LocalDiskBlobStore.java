@@ -0,0 +1,103 @@
+package com.devblocker.blocker.service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * BlobStore on the local filesystem under file.upload-dir
+ * Blobs live at {root}/{hash[0..2]}/{hash[2..4]}/{hash}; identical uploads share one file
+ */
+@Slf4j
+@Component
+public class LocalDiskBlobStore implements BlobStore {
+    
+    private static final long TRANSFER_CHUNK_SIZE = 1024 * 1024; // 1MB
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+    
+    private final Path root;
+    private final Path tempDir;
+    
+    public LocalDiskBlobStore(@Value("${file.upload-dir}") String uploadDir) throws IOException {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.tempDir = root.resolve("tmp");
+        Files.createDirectories(tempDir);
+        log.info("Blob store root: {}", root);
+    }
+    
+    @Override
+    public StoredBlob store(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            long size = 0;
+            ReadableByteChannel in = Channels.newChannel(new DigestInputStream(content, digest));
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long transferred;
+                while ((transferred = out.transferFrom(in, size, TRANSFER_CHUNK_SIZE)) > 0) {
+                    size += transferred;
+                }
+                out.force(true);
+            }
+            
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(contentHash);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new StoredBlob(contentHash, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    @Override
+    public Resource load(String contentHash) {
+        Path path = pathFor(contentHash);
+        if (!Files.isReadable(path)) {
+            throw new RuntimeException("Blob not found: " + contentHash);
+        }
+        return new FileSystemResource(path);
+    }
+    
+    @Override
+    public boolean exists(String contentHash) {
+        return Files.exists(pathFor(contentHash));
+    }
+    
+    private Path pathFor(String contentHash) {
+        if (contentHash == null || !CONTENT_HASH.matcher(contentHash).matches()) {
+            throw new IllegalArgumentException("Invalid content hash: " + contentHash);
+        }
+        return root.resolve(contentHash.substring(0, 2))
+                .resolve(contentHash.substring(2, 4))
+                .resolve(contentHash);
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
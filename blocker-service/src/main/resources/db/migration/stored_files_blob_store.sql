@@ -0,0 +1,10 @@
+-- Move file bodies out of stored_files into the on-disk blob store
+-- BlobMigrationService runs these steps automatically on startup (file.storage.migrate-on-startup=true);
+-- this script is for applying the schema part by hand.
+
+ALTER TABLE stored_files ADD COLUMN content_hash VARCHAR(64) NULL;
+CREATE INDEX idx_stored_file_hash ON stored_files (content_hash);
+ALTER TABLE stored_files MODIFY file_data LONGBLOB NULL;
+
+-- After all rows have content_hash set (SELECT COUNT(*) FROM stored_files WHERE file_data IS NOT NULL returns 0):
+-- ALTER TABLE stored_files DROP COLUMN file_data;
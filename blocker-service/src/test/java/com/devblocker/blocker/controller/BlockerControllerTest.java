@@ -0,0 +1,71 @@
+package com.devblocker.blocker.controller;
+
+import com.devblocker.blocker.service.BlockerNotFoundException;
+import com.devblocker.blocker.service.BlockerService;
+import com.devblocker.blocker.service.FileStorageService;
+import com.devblocker.blocker.service.TagIndexService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BlockerController.class)
+class BlockerControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockitoBean
+    private BlockerService blockerService;
+    
+    @MockitoBean
+    private FileStorageService fileStorageService;
+    
+    @MockitoBean
+    private TagIndexService tagIndexService;
+    
+    @Test
+    void missingBlockerIsNotFound() throws Exception {
+        UUID blockerId = UUID.randomUUID();
+        when(blockerService.getBlocker(eq(blockerId), any(), any())).thenThrow(new BlockerNotFoundException(blockerId));
+        
+        mockMvc.perform(get("/api/v1/blockers/{id}", blockerId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Blocker not found: " + blockerId));
+    }
+    
+    @Test
+    void otherIllegalArgumentsStayBadRequest() throws Exception {
+        UUID blockerId = UUID.randomUUID();
+        when(blockerService.getBlocker(eq(blockerId), any(), any()))
+                .thenThrow(new IllegalArgumentException("Unauthorized: You don't have access to this blocker"));
+        
+        mockMvc.perform(get("/api/v1/blockers/{id}", blockerId))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void similarLimitOutOfRangeIsBadRequest() throws Exception {
+        UUID blockerId = UUID.randomUUID();
+        
+        for (String limit : new String[] {"0", "-1", "51"}) {
+            mockMvc.perform(get("/api/v1/blockers/{id}/similar", blockerId).param("limit", limit))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("limit must be between 1 and 50"));
+        }
+        verify(blockerService, never()).getSimilarBlockers(any(), any(), any(), anyInt());
+    }
+}
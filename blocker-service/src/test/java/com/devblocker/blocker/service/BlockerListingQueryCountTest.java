@@ -0,0 +1,171 @@
+package com.devblocker.blocker.service;
+
+import com.devblocker.blocker.client.UserServiceClient;
+import com.devblocker.blocker.dto.BlockerResponse;
+import com.devblocker.blocker.dto.CursorPageResponse;
+import com.devblocker.blocker.dto.PageResponse;
+import com.devblocker.blocker.model.Blocker;
+import com.devblocker.blocker.model.Severity;
+import com.devblocker.blocker.repository.BlockerRepository;
+import com.devblocker.blocker.repository.BlockerTagIndexRepository;
+import com.devblocker.blocker.repository.IndexBackfillStateRepository;
+import com.devblocker.blocker.repository.TagRepository;
+import com.devblocker.blocker.service.search.BlockerSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listing reads must cost a fixed number of statements whatever the page size: tags and media are
+ * batch-loaded for the whole page (@BatchSize) and the tag filter is a semi-join, not a per-row lookup
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({BlockerService.class, TagIndexService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BlockerListingQueryCountTest {
+    
+    private static final int BLOCKERS = 30;
+    
+    @Autowired
+    private BlockerService blockerService;
+    
+    @Autowired
+    private TagIndexService tagIndexService;
+    
+    @Autowired
+    private BlockerRepository blockerRepository;
+    
+    @Autowired
+    private BlockerTagIndexRepository blockerTagIndexRepository;
+    
+    @Autowired
+    private TagRepository tagRepository;
+    
+    @Autowired
+    private IndexBackfillStateRepository backfillStateRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @MockitoBean
+    private EventPublisher eventPublisher;
+    
+    @MockitoBean
+    private DuplicateDetectionService duplicateDetectionService;
+    
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+    
+    @MockitoBean
+    private BlockerSearchIndex blockerSearchIndex;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < BLOCKERS; i++) {
+                Blocker blocker = blockerRepository.saveAndFlush(Blocker.builder()
+                        .title("Blocker " + i)
+                        .severity(Severity.HIGH)
+                        .createdBy(UUID.randomUUID())
+                        .tags(new ArrayList<>(List.of("java", "tag" + i)))
+                        .mediaUrls(new ArrayList<>(List.of("/files/" + i + "/a.png", "/files/" + i + "/b.png")))
+                        .build());
+                tagIndexService.updateIndex(blocker.getBlockerId(), blocker.getCreatedAt(), List.of(), blocker.getTags());
+            }
+        });
+    }
+    
+    @AfterEach
+    void cleanUp() {
+        blockerTagIndexRepository.deleteAll();
+        tagRepository.deleteAll();
+        backfillStateRepository.deleteAll();
+        blockerRepository.deleteAll();
+    }
+    
+    @Test
+    void pagedListingStatementCountIsConstantInPageSize() {
+        long small = statements(() -> assertLoaded(blockerService.getAllBlockers(
+                null, null, null, null, null, null, null, null, null, 0, 5), 5));
+        long large = statements(() -> assertLoaded(blockerService.getAllBlockers(
+                null, null, null, null, null, null, null, null, null, 0, 25), 25));
+        
+        // Page query, count query, one batch for tags, one for media
+        assertThat(small).isEqualTo(4);
+        assertThat(large).isEqualTo(small);
+    }
+    
+    @Test
+    void tagFilteredListingStatementCountIsConstantInPageSize() {
+        long small = statements(() -> assertLoaded(blockerService.getAllBlockers(
+                null, null, null, null, null, null, "java", null, null, 0, 5), 5));
+        long large = statements(() -> assertLoaded(blockerService.getAllBlockers(
+                null, null, null, null, null, null, "java", null, null, 0, 25), 25));
+        
+        assertThat(large).isEqualTo(small);
+        assertThat(small).isLessThanOrEqualTo(5);
+    }
+    
+    @Test
+    void cursorListingStatementCountIsConstantInPageSize() {
+        long small = statements(() -> assertLoaded(blockerService.getBlockersAfter(
+                null, null, null, null, null, null, null, null, null, 5), 5));
+        long large = statements(() -> assertLoaded(blockerService.getBlockersAfter(
+                null, null, null, null, null, null, null, null, null, 25), 25));
+        
+        // Slice query (no count), one batch for tags, one for media
+        assertThat(small).isEqualTo(3);
+        assertThat(large).isEqualTo(small);
+    }
+    
+    private long statements(Supplier<?> listing) {
+        statistics.clear();
+        listing.get();
+        return statistics.getPrepareStatementCount();
+    }
+    
+    private static PageResponse<BlockerResponse> assertLoaded(PageResponse<BlockerResponse> page, int size) {
+        assertLoaded(page.getContent(), size);
+        return page;
+    }
+    
+    private static CursorPageResponse<BlockerResponse> assertLoaded(CursorPageResponse<BlockerResponse> page, int size) {
+        assertLoaded(page.getContent(), size);
+        return page;
+    }
+    
+    private static void assertLoaded(List<BlockerResponse> content, int size) {
+        // Collections must already be loaded: the read transaction is over
+        assertThat(content).hasSize(size).allSatisfy(blocker -> {
+            assertThat(blocker.getTags()).hasSize(2);
+            assertThat(blocker.getMediaUrls()).hasSize(2);
+        });
+    }
+}
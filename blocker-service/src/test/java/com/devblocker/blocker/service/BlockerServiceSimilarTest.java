@@ -0,0 +1,114 @@
+package com.devblocker.blocker.service;
+
+import com.devblocker.blocker.client.UserServiceClient;
+import com.devblocker.blocker.dto.SimilarBlockerResponse;
+import com.devblocker.blocker.model.Blocker;
+import com.devblocker.blocker.model.BlockerVisibility;
+import com.devblocker.blocker.repository.BlockerRepository;
+import com.devblocker.blocker.service.duplicate.DuplicateCandidate;
+import com.devblocker.blocker.service.search.BlockerSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BlockerServiceSimilarTest {
+    
+    private final UUID userOrgId = UUID.randomUUID();
+    private final Map<UUID, Blocker> blockers = new HashMap<>();
+    private final List<DuplicateCandidate> ranked = new ArrayList<>();
+    
+    private DuplicateDetectionService duplicateDetectionService;
+    private BlockerService blockerService;
+    private Blocker source;
+    
+    @BeforeEach
+    void setUp() {
+        BlockerRepository blockerRepository = mock(BlockerRepository.class);
+        duplicateDetectionService = mock(DuplicateDetectionService.class);
+        blockerService = new BlockerService(blockerRepository, mock(EventPublisher.class), duplicateDetectionService,
+                mock(UserServiceClient.class), mock(BlockerSearchIndex.class), mock(TagIndexService.class));
+        ReflectionTestUtils.setField(blockerService, "maxSimilarCandidates", 40);
+        
+        source = blocker(BlockerVisibility.PUBLIC, null);
+        when(blockerRepository.findByBlockerId(source.getBlockerId())).thenReturn(Optional.of(source));
+        when(blockerRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return ids.stream().map(blockers::get).toList();
+        });
+        when(duplicateDetectionService.findSimilar(eq(source.getBlockerId()), anyInt())).thenAnswer(invocation -> {
+            int limit = invocation.getArgument(1);
+            return new ArrayList<>(ranked.subList(0, Math.min(limit, ranked.size())));
+        });
+    }
+    
+    @Test
+    void overFetchesPastInaccessibleTopCandidates() {
+        // The ten most similar blockers belong to another org; accessible ones rank below them
+        for (int i = 0; i < 10; i++) {
+            candidate(blocker(BlockerVisibility.ORG, UUID.randomUUID()), 0.99 - i * 0.01);
+        }
+        Blocker orgBlocker = blocker(BlockerVisibility.ORG, userOrgId);
+        Blocker publicBlocker = blocker(BlockerVisibility.PUBLIC, null);
+        Blocker third = blocker(BlockerVisibility.PUBLIC, null);
+        candidate(orgBlocker, 0.8);
+        candidate(publicBlocker, 0.7);
+        candidate(third, 0.6);
+        
+        List<SimilarBlockerResponse> similar = blockerService.getSimilarBlockers(
+                source.getBlockerId(), userOrgId, null, 2);
+        
+        assertThat(similar).extracting(SimilarBlockerResponse::getBlockerId)
+                .containsExactly(orgBlocker.getBlockerId(), publicBlocker.getBlockerId());
+    }
+    
+    @Test
+    void stopsAtCandidateCapWithFewerResults() {
+        for (int i = 0; i < 60; i++) {
+            candidate(blocker(BlockerVisibility.ORG, UUID.randomUUID()), 0.99 - i * 0.001);
+        }
+        candidate(blocker(BlockerVisibility.PUBLIC, null), 0.5);
+        
+        assertThat(blockerService.getSimilarBlockers(source.getBlockerId(), userOrgId, null, 5)).isEmpty();
+    }
+    
+    @Test
+    void returnsWhatExistsWhenCandidatesRunOut() {
+        Blocker only = blocker(BlockerVisibility.PUBLIC, null);
+        candidate(blocker(BlockerVisibility.ORG, UUID.randomUUID()), 0.9);
+        candidate(only, 0.8);
+        
+        assertThat(blockerService.getSimilarBlockers(source.getBlockerId(), userOrgId, null, 5))
+                .extracting(SimilarBlockerResponse::getBlockerId)
+                .containsExactly(only.getBlockerId());
+    }
+    
+    private Blocker blocker(BlockerVisibility visibility, UUID orgId) {
+        Blocker blocker = Blocker.builder()
+                .blockerId(UUID.randomUUID())
+                .title("Build fails")
+                .visibility(visibility)
+                .orgId(orgId)
+                .build();
+        blockers.put(blocker.getBlockerId(), blocker);
+        return blocker;
+    }
+    
+    private void candidate(Blocker blocker, double similarity) {
+        ranked.add(new DuplicateCandidate(blocker.getBlockerId(), similarity));
+    }
+}
@@ -0,0 +1,156 @@
+package com.devblocker.blocker.service;
+
+import com.devblocker.blocker.model.Blocker;
+import com.devblocker.blocker.model.BlockerTagIndex;
+import com.devblocker.blocker.model.IndexBackfillState;
+import com.devblocker.blocker.model.Severity;
+import com.devblocker.blocker.model.Tag;
+import com.devblocker.blocker.repository.BlockerRepository;
+import com.devblocker.blocker.repository.BlockerTagIndexRepository;
+import com.devblocker.blocker.repository.IndexBackfillStateRepository;
+import com.devblocker.blocker.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "search.index.rebuild-batch-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TagIndexService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // backfill commits one transaction per batch
+class TagIndexServiceTest {
+    
+    @Autowired
+    private TagIndexService tagIndexService;
+    
+    @Autowired
+    private BlockerRepository blockerRepository;
+    
+    @Autowired
+    private BlockerTagIndexRepository blockerTagIndexRepository;
+    
+    @Autowired
+    private TagRepository tagRepository;
+    
+    @Autowired
+    private IndexBackfillStateRepository backfillStateRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @AfterEach
+    void cleanUp() {
+        blockerTagIndexRepository.deleteAll();
+        tagRepository.deleteAll();
+        blockerRepository.deleteAll();
+        backfillStateRepository.deleteAll();
+    }
+    
+    @Test
+    void backfillSkipsPairsAlreadyIndexedByLiveWrites() {
+        Blocker first = saveBlocker("Java", "Spring");
+        saveBlocker("java", "docker");
+        saveBlocker("kafka");
+        
+        // A live update indexed the first blocker before the backfill reached it
+        transactionTemplate.executeWithoutResult(status ->
+                tagIndexService.updateIndex(first.getBlockerId(), first.getCreatedAt(), List.of(), first.getTags()));
+        
+        tagIndexService.backfill();
+        
+        assertThat(blockerTagIndexRepository.count()).isEqualTo(5);
+        assertThat(usageCounts()).isEqualTo(Map.of("java", 2L, "spring", 1L, "docker", 1L, "kafka", 1L));
+        assertThat(backfillStateRepository.findById("blocker_tag_index"))
+                .get().extracting(IndexBackfillState::getCompleted).isEqualTo(true);
+    }
+    
+    @Test
+    void backfillResumesFromSavedCursorAndIsIdempotent() {
+        saveBlocker("java");
+        saveBlocker("java");
+        saveBlocker("java", "go");
+        
+        // A previous run indexed the first two blockers in cursor order, then stopped
+        List<Object[]> done = blockerRepository.findIdsAfter(null, null, PageRequest.of(0, 2));
+        transactionTemplate.executeWithoutResult(status -> done.forEach(row -> {
+            Blocker blocker = blockerRepository.findById((UUID) row[0]).orElseThrow();
+            tagIndexService.updateIndex(blocker.getBlockerId(), blocker.getCreatedAt(), List.of(), blocker.getTags());
+        }));
+        backfillStateRepository.save(IndexBackfillState.builder()
+                .name("blocker_tag_index")
+                .cursorBlockerId((UUID) done.get(1)[0])
+                .cursorCreatedAt((LocalDateTime) done.get(1)[1])
+                .build());
+        
+        tagIndexService.backfill();
+        tagIndexService.backfill();
+        
+        assertThat(blockerTagIndexRepository.findAll().stream()
+                .map(BlockerTagIndex::getBlockerId).distinct().count()).isEqualTo(3);
+        assertThat(usageCounts()).isEqualTo(Map.of("java", 3L, "go", 1L));
+    }
+    
+    @Test
+    void updateIndexReusesExistingTags() {
+        tagRepository.save(Tag.builder().name("java").usageCount(4L).build());
+        Blocker blocker = saveBlocker("java", "rust");
+        
+        transactionTemplate.executeWithoutResult(status ->
+                tagIndexService.updateIndex(blocker.getBlockerId(), blocker.getCreatedAt(), List.of(), blocker.getTags()));
+        
+        assertThat(usageCounts()).isEqualTo(Map.of("java", 5L, "rust", 1L));
+    }
+    
+    @Test
+    void updatingABlockerNotYetBackfilledOnlyCountsRowsThatExisted() {
+        tagRepository.save(Tag.builder().name("java").usageCount(1L).build());
+        tagRepository.save(Tag.builder().name("spring").usageCount(0L).build());
+        // Written before the index existed: tagged java/spring but no index rows yet
+        Blocker legacy = saveBlocker("java", "spring");
+        
+        transactionTemplate.executeWithoutResult(status -> tagIndexService.updateIndex(
+                legacy.getBlockerId(), legacy.getCreatedAt(), legacy.getTags(), List.of("java", "kafka")));
+        
+        assertThat(tagRepository.findAll().stream().collect(Collectors.toMap(Tag::getName, Tag::getUsageCount)))
+                .isEqualTo(Map.of("java", 1L, "spring", 0L, "kafka", 1L));
+        
+        // The backfill later indexes the blocker's current tags without double counting
+        legacy.setTags(new ArrayList<>(List.of("java", "kafka")));
+        blockerRepository.saveAndFlush(legacy);
+        tagIndexService.backfill();
+        
+        assertThat(usageCounts()).isEqualTo(Map.of("java", 2L, "kafka", 1L));
+    }
+    
+    private Blocker saveBlocker(String... tags) {
+        return blockerRepository.saveAndFlush(Blocker.builder()
+                .title("Blocker")
+                .severity(Severity.MEDIUM)
+                .createdBy(UUID.randomUUID())
+                .tags(new ArrayList<>(List.of(tags)))
+                .build());
+    }
+    
+    private Map<String, Long> usageCounts() {
+        return tagRepository.findAll().stream()
+                .filter(tag -> tag.getUsageCount() > 0)
+                .collect(Collectors.toMap(Tag::getName, Tag::getUsageCount));
+    }
+}
@@ -0,0 +1,93 @@
+package com.devblocker.blocker.service.search;
+
+import com.devblocker.blocker.model.Blocker;
+import com.devblocker.blocker.repository.BlockerRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class BlockerSearchIndexTest {
+    
+    private final BlockerSearchIndex searchIndex = new BlockerSearchIndex(mock(BlockerRepository.class));
+    
+    @Test
+    void matchesTitleDescriptionAndTagsCaseInsensitively() {
+        Blocker blocker = blocker("Build fails on CI", "Gradle daemon crashes", List.of("Kotlin"));
+        searchIndex.index(blocker);
+        
+        assertThat(ids("BUILD")).containsExactly(blocker.getBlockerId());
+        assertThat(ids("gradle")).containsExactly(blocker.getBlockerId());
+        assertThat(ids("kotlin")).containsExactly(blocker.getBlockerId());
+    }
+    
+    @Test
+    void titleMatchOutranksTagAndDescriptionMatch() {
+        Blocker inDescription = blocker("Pipeline broken", "Redis connection refused", List.of());
+        Blocker inTag = blocker("Pipeline broken", "Connection refused", List.of("redis"));
+        Blocker inTitle = blocker("Redis pipeline broken", "Connection refused", List.of());
+        searchIndex.index(inDescription);
+        searchIndex.index(inTag);
+        searchIndex.index(inTitle);
+        
+        assertThat(ids("redis")).containsExactly(inTitle.getBlockerId(), inTag.getBlockerId(),
+                inDescription.getBlockerId());
+    }
+    
+    @Test
+    void reindexingAnUpdatedBlockerReplacesItsTerms() {
+        Blocker blocker = blocker("Database timeout", "Queries hang", List.of("postgres"));
+        searchIndex.index(blocker);
+        
+        blocker.setTitle("Kafka consumer lag");
+        blocker.setTags(new ArrayList<>(List.of("kafka")));
+        searchIndex.index(blocker);
+        
+        assertThat(ids("database")).isEmpty();
+        assertThat(ids("postgres")).isEmpty();
+        assertThat(ids("kafka lag")).containsExactly(blocker.getBlockerId());
+        assertThat(ids("queries")).containsExactly(blocker.getBlockerId());
+    }
+    
+    @Test
+    void removedBlockerIsNoLongerFound() {
+        Blocker removed = blocker("Database timeout", null, null);
+        Blocker kept = blocker("Database deadlock", null, null);
+        searchIndex.index(removed);
+        searchIndex.index(kept);
+        
+        searchIndex.remove(removed.getBlockerId());
+        
+        assertThat(ids("database")).containsExactly(kept.getBlockerId());
+        assertThat(ids("timeout")).isEmpty();
+    }
+    
+    @Test
+    void emptyOrStopWordOnlyQueryMatchesNothing() {
+        searchIndex.index(blocker("The build is broken", "It fails", List.of()));
+        
+        assertThat(ids(null)).isEmpty();
+        assertThat(ids("")).isEmpty();
+        assertThat(ids("   ")).isEmpty();
+        assertThat(ids("the is it")).isEmpty();
+    }
+    
+    private Blocker blocker(String title, String description, List<String> tags) {
+        return Blocker.builder()
+                .blockerId(UUID.randomUUID())
+                .title(title)
+                .description(description)
+                .tags(tags)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+    
+    private List<UUID> ids(String query) {
+        return searchIndex.search(query, document -> true).stream().map(SearchHit::blockerId).toList();
+    }
+}
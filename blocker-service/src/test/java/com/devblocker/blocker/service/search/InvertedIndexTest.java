@@ -0,0 +1,125 @@
+package com.devblocker.blocker.service.search;
+
+import com.devblocker.blocker.model.BlockerVisibility;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+    
+    private final InvertedIndex index = new InvertedIndex();
+    
+    @Test
+    void higherTermFrequencyRanksFirst() {
+        UUID once = index(Map.of("timeout", 1, "redis", 3), NOW);
+        UUID thrice = index(Map.of("timeout", 3, "redis", 1), NOW);
+        
+        assertThat(ids(index.search(List.of("timeout"), document -> true))).containsExactly(thrice, once);
+    }
+    
+    @Test
+    void shorterDocumentRanksFirstForTheSameTermFrequency() {
+        UUID shortDocument = index(Map.of("timeout", 1, "redis", 1), NOW);
+        UUID longDocument = index(Map.of("timeout", 1, "redis", 9), NOW);
+        
+        List<SearchHit> hits = index.search(List.of("timeout"), document -> true);
+        
+        assertThat(ids(hits)).containsExactly(shortDocument, longDocument);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+    
+    @Test
+    void rarerTermOutweighsCommonTerm() {
+        UUID rare = index(Map.of("deadlock", 1, "database", 1), NOW);
+        UUID common = index(Map.of("database", 2), NOW);
+        index(Map.of("database", 2), NOW);
+        index(Map.of("database", 2), NOW);
+        
+        List<SearchHit> hits = index.search(List.of("deadlock", "database"), document -> true);
+        
+        assertThat(hits).hasSize(4);
+        assertThat(hits.get(0).blockerId()).isEqualTo(rare);
+        assertThat(ids(hits)).contains(common);
+    }
+    
+    @Test
+    void repeatedQueryTermsAreScoredOnce() {
+        index(Map.of("timeout", 2), NOW);
+        
+        double single = index.search(List.of("timeout"), document -> true).get(0).score();
+        double repeated = index.search(List.of("timeout", "timeout"), document -> true).get(0).score();
+        
+        assertThat(repeated).isEqualTo(single);
+    }
+    
+    @Test
+    void tiesAreBrokenNewestFirst() {
+        UUID older = index(Map.of("timeout", 1), NOW.minusDays(1));
+        UUID newer = index(Map.of("timeout", 1), NOW);
+        UUID undated = index(Map.of("timeout", 1), null);
+        
+        assertThat(ids(index.search(List.of("timeout"), document -> true))).containsExactly(newer, older, undated);
+    }
+    
+    @Test
+    void filteredDocumentsAreSkipped() {
+        UUID visible = index(Map.of("timeout", 1), NOW);
+        UUID hidden = index(Map.of("timeout", 1), NOW);
+        
+        assertThat(ids(index.search(List.of("timeout"), document -> !document.blockerId().equals(hidden))))
+                .containsExactly(visible);
+    }
+    
+    @Test
+    void reindexingReplacesTheDocumentsTerms() {
+        UUID blockerId = index(Map.of("timeout", 1), NOW);
+        index.index(document(blockerId, Map.of("deadlock", 1), NOW));
+        
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search(List.of("timeout"), document -> true)).isEmpty();
+        assertThat(ids(index.search(List.of("deadlock"), document -> true))).containsExactly(blockerId);
+    }
+    
+    @Test
+    void removedDocumentIsNoLongerFound() {
+        UUID removed = index(Map.of("timeout", 1), NOW);
+        UUID kept = index(Map.of("timeout", 1, "redis", 1), NOW);
+        
+        index.remove(removed);
+        index.remove(UUID.randomUUID());
+        
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(ids(index.search(List.of("timeout"), document -> true))).containsExactly(kept);
+    }
+    
+    @Test
+    void emptyQueryOrUnknownTermsMatchNothing() {
+        index(Map.of("timeout", 1), NOW);
+        
+        assertThat(index.search(List.of(), document -> true)).isEmpty();
+        assertThat(index.search(List.of("kubernetes"), document -> true)).isEmpty();
+        assertThat(new InvertedIndex().search(List.of("timeout"), document -> true)).isEmpty();
+    }
+    
+    private UUID index(Map<String, Integer> termFrequencies, LocalDateTime createdAt) {
+        UUID blockerId = UUID.randomUUID();
+        index.index(document(blockerId, termFrequencies, createdAt));
+        return blockerId;
+    }
+    
+    private IndexedDocument document(UUID blockerId, Map<String, Integer> termFrequencies, LocalDateTime createdAt) {
+        int length = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+        return new IndexedDocument(blockerId, BlockerVisibility.PUBLIC, null, null, createdAt, termFrequencies, length);
+    }
+    
+    private List<UUID> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::blockerId).toList();
+    }
+}
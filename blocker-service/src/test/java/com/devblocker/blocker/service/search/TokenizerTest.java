@@ -0,0 +1,39 @@
+package com.devblocker.blocker.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenizerTest {
+    
+    @Test
+    void lowerCasesTerms() {
+        assertThat(Tokenizer.tokenize("NullPointerException KAFKA Timeout"))
+                .containsExactly("nullpointerexception", "kafka", "timeout");
+    }
+    
+    @Test
+    void splitsOnPunctuationAndWhitespace() {
+        assertThat(Tokenizer.tokenize("auth-service: OOM!!(again)\tnode_modules/v2.1"))
+                .containsExactly("auth", "service", "oom", "again", "node", "modules", "v2");
+    }
+    
+    @Test
+    void dropsStopWordsAndSingleCharacters() {
+        assertThat(Tokenizer.tokenize("The build is a mess of X and Y"))
+                .containsExactly("build", "mess");
+    }
+    
+    @Test
+    void keepsRepeatedTermsAndNonAsciiLetters() {
+        assertThat(Tokenizer.tokenize("Déjà vu, déjà VU"))
+                .containsExactly("déjà", "vu", "déjà", "vu");
+    }
+    
+    @Test
+    void nullOrEmptyTextHasNoTerms() {
+        assertThat(Tokenizer.tokenize(null)).isEmpty();
+        assertThat(Tokenizer.tokenize("")).isEmpty();
+        assertThat(Tokenizer.tokenize(" -- ! ")).isEmpty();
+    }
+}
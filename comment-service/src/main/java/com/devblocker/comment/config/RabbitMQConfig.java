@@ -1,5 +1,6 @@
 package com.devblocker.comment.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -8,6 +9,7 @@ import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+@Slf4j
 @Configuration
 public class RabbitMQConfig {
     
@@ -42,6 +44,11 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter());
+        // Publisher confirms are correlated (spring.rabbitmq.publisher-confirm-type); unroutable messages
+        // come back through the returns callback instead of being dropped silently
+        template.setMandatory(true);
+        template.setReturnsCallback(returned -> log.warn("Message returned by broker: exchange={}, routingKey={}, reply={}",
+                returned.getExchange(), returned.getRoutingKey(), returned.getReplyText()));
         return template;
     }
 }
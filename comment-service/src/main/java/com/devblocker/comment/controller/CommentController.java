@@ -2,6 +2,7 @@ package com.devblocker.comment.controller;
 
 import com.devblocker.comment.dto.CommentResponse;
 import com.devblocker.comment.dto.CreateCommentRequest;
+import com.devblocker.comment.dto.CursorPageResponse;
 import com.devblocker.comment.dto.ReplyRequest;
 import com.devblocker.comment.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -46,6 +47,32 @@ public class CommentController {
         return ResponseEntity.ok(comments);
     }
     
+    @GetMapping(value = "/blockers/{blockerId}/comments", params = "cursor")
+    @Operation(summary = "Get comments for blocker (cursor)", 
+               description = "Keyset-paginated top-level comments, oldest first, with the first replies of each node down to depth. Pass an empty cursor for the first slice, then the returned nextCursor. Nodes with hasMoreReplies continue via GET /comments/{commentId}/replies with their repliesCursor")
+    public ResponseEntity<CursorPageResponse<CommentResponse>> getCommentsByCursor(
+            @PathVariable UUID blockerId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "2") int depth) {
+        
+        CursorPageResponse<CommentResponse> comments = commentService.getCommentsByBlockerAfter(blockerId, cursor, size, depth);
+        return ResponseEntity.ok(comments);
+    }
+    
+    @GetMapping("/comments/{commentId}/replies")
+    @Operation(summary = "Get replies to comment", 
+               description = "Keyset-paginated direct replies, oldest first, with nested previews down to depth (load more replies)")
+    public ResponseEntity<CursorPageResponse<CommentResponse>> getReplies(
+            @PathVariable UUID commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "1") int depth) {
+        
+        CursorPageResponse<CommentResponse> replies = commentService.getReplies(commentId, cursor, size, depth);
+        return ResponseEntity.ok(replies);
+    }
+    
     @PostMapping("/comments/{commentId}/reply")
     @Operation(summary = "Reply to comment", 
                description = "Creates a reply to an existing comment (threaded). Publishes CommentAdded event")
@@ -22,5 +22,8 @@ public class CommentResponse {
     private LocalDateTime createdAt;
     private List<CommentResponse> replies; // Nested replies for threaded display
     private Integer replyCount; // Number of direct replies
+    private Long descendantCount; // Single-comment view: replies at any depth
+    private boolean hasMoreReplies; // Paged views: replies exist beyond those included
+    private String repliesCursor; // Paged views: cursor for GET /comments/{id}/replies after the included replies
 }
 
@@ -11,9 +11,11 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "comments", indexes = {
-    @Index(name = "idx_blocker_id", columnList = "blocker_id"),
+    @Index(name = "idx_blocker_created", columnList = "blocker_id, created_at"),
+    @Index(name = "idx_blocker_parent_created", columnList = "blocker_id, parent_comment_id, created_at"),
     @Index(name = "idx_user_id", columnList = "user_id"),
-    @Index(name = "idx_parent_comment_id", columnList = "parent_comment_id")
+    @Index(name = "idx_parent_created", columnList = "parent_comment_id, created_at"),
+    @Index(name = "idx_path", columnList = "path")
 })
 @Data
 @Builder
@@ -35,6 +37,15 @@ public class Comment {
     @Column(name = "parent_comment_id")
     private UUID parentCommentId; // null for top-level comments, UUID for replies
     
+    /**
+     * Materialized path of ancestor segments (see CommentPaths); null until backfilled for older rows
+     */
+    @Column(name = "path", columnDefinition = "VARCHAR(2424) CHARACTER SET ascii COLLATE ascii_bin")
+    private String path;
+    
+    @Column(name = "depth")
+    private Integer depth; // 0 for top-level comments
+    
     @Column(name = "content", nullable = false, columnDefinition = "TEXT")
     private String content;
     
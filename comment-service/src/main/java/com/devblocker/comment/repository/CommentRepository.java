@@ -1,9 +1,15 @@
 package com.devblocker.comment.repository;
 
 import com.devblocker.comment.model.Comment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -39,5 +45,85 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
      * Count replies for a specific comment
      */
     long countByParentCommentId(UUID parentCommentId);
+    
+    /**
+     * Keyset slice of a blocker's top-level comments, oldest first, served by idx_blocker_parent_created
+     * Pass the last comment of the previous slice as the cursor (or nulls for the first slice)
+     */
+    @Query("SELECT c FROM Comment c WHERE c.blockerId = :blockerId AND c.parentCommentId IS NULL AND " +
+           "(:cursorCreatedAt IS NULL OR c.createdAt > :cursorCreatedAt OR " +
+           " (c.createdAt = :cursorCreatedAt AND c.commentId > :cursorCommentId)) " +
+           "ORDER BY c.createdAt ASC, c.commentId ASC")
+    Slice<Comment> findTopLevelAfter(
+            @Param("blockerId") UUID blockerId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorCommentId") UUID cursorCommentId,
+            Pageable pageable);
+    
+    /**
+     * Keyset slice of the direct replies to a comment, oldest first, served by idx_parent_created
+     */
+    @Query("SELECT c FROM Comment c WHERE c.parentCommentId = :parentCommentId AND " +
+           "(:cursorCreatedAt IS NULL OR c.createdAt > :cursorCreatedAt OR " +
+           " (c.createdAt = :cursorCreatedAt AND c.commentId > :cursorCommentId)) " +
+           "ORDER BY c.createdAt ASC, c.commentId ASC")
+    Slice<Comment> findRepliesAfter(
+            @Param("parentCommentId") UUID parentCommentId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorCommentId") UUID cursorCommentId,
+            Pageable pageable);
+    
+    /**
+     * Direct reply counts for a set of comments as (parentCommentId, count) rows; comments without replies are absent
+     */
+    @Query("SELECT c.parentCommentId, COUNT(c) FROM Comment c " +
+           "WHERE c.parentCommentId IN :parentCommentIds GROUP BY c.parentCommentId")
+    List<Object[]> countRepliesByParentCommentIdIn(@Param("parentCommentIds") Collection<UUID> parentCommentIds);
+    
+    /**
+     * The first :limit replies of each given comment in one round-trip, oldest first per parent
+     */
+    @Query(value = "SELECT ranked.comment_id, ranked.blocker_id, ranked.user_id, ranked.parent_comment_id, " +
+                   "ranked.path, ranked.depth, ranked.content, ranked.created_at FROM (" +
+                   " SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.parent_comment_id " +
+                   "  ORDER BY c.created_at ASC, c.comment_id ASC) AS reply_rank " +
+                   " FROM comments c WHERE c.parent_comment_id IN (:parentCommentIds)) ranked " +
+                   "WHERE ranked.reply_rank <= :limit " +
+                   "ORDER BY ranked.created_at ASC, ranked.comment_id ASC",
+           nativeQuery = true)
+    List<Comment> findFirstRepliesByParentCommentIdIn(
+            @Param("parentCommentIds") Collection<UUID> parentCommentIds,
+            @Param("limit") int limit);
+    
+    /**
+     * A comment and everything below it, depth-first with siblings oldest first
+     * Single range scan on idx_path; pass CommentPaths.subtreePattern(path). The subtree reply count is its size minus one
+     */
+    @Query("SELECT c FROM Comment c WHERE c.path LIKE :pathPattern ORDER BY c.path ASC")
+    List<Comment> findSubtree(@Param("pathPattern") String pathPattern);
+    
+    /**
+     * Path backfill: top-level comments without a path
+     */
+    @Query("SELECT c FROM Comment c WHERE c.path IS NULL AND c.parentCommentId IS NULL")
+    List<Comment> findRootsWithoutPath(Pageable pageable);
+    
+    /**
+     * Path backfill: replies without a path whose parent already has one and is below :maxDepth, as (reply, parent) rows
+     */
+    @Query("SELECT c, p FROM Comment c JOIN Comment p ON p.commentId = c.parentCommentId " +
+           "WHERE c.path IS NULL AND p.path IS NOT NULL AND p.depth < :maxDepth")
+    List<Object[]> findRepliesWithoutPath(@Param("maxDepth") int maxDepth, Pageable pageable);
+    
+    /**
+     * Path backfill: legacy replies to a comment already at :maxDepth, which no path can hold
+     */
+    @Query("SELECT COUNT(c) FROM Comment c JOIN Comment p ON p.commentId = c.parentCommentId " +
+           "WHERE c.path IS NULL AND p.path IS NOT NULL AND p.depth >= :maxDepth")
+    long countRepliesBeyondMaxDepth(@Param("maxDepth") int maxDepth);
+    
+    /**
+     * Whether any of the given comments has a reply without a path (legacy replies beyond MAX_DEPTH)
+     */
+    boolean existsByParentCommentIdInAndPathIsNull(Collection<UUID> parentCommentIds);
 }
-
@@ -0,0 +1,123 @@
+package com.devblocker.comment.service;
+
+import com.devblocker.comment.model.Comment;
+import com.devblocker.comment.repository.CommentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Assigns materialized paths to comments that predate the path column
+ * Each scheduled tick updates one bounded batch in one short transaction, roots first, then replies whose
+ * parent already has a path, so the shared scheduler thread is never held for long. Once a tick finds
+ * nothing to do, the job idles for idle-interval-ms before looking again (replies created under a parent
+ * that was not backfilled yet are picked up then).
+ * Segments are derived from (createdAt, commentId), so instances running concurrently write the same values.
+ * Legacy replies nested deeper than CommentPaths.MAX_DEPTH cannot be given a path; they are left without one
+ * and reported, and reads of their ancestors fall back to building the thread from the blocker's comments
+ */
+@Slf4j
+@Service
+public class CommentPathBackfillService {
+    
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${comments.path-backfill.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${comments.path-backfill.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${comments.path-backfill.idle-interval-ms:600000}")
+    private long idleIntervalMs;
+    
+    private long idleUntil;
+    private long backfilledRoots;
+    private long backfilledReplies;
+    
+    public CommentPathBackfillService(CommentRepository commentRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Scheduled(initialDelayString = "${comments.path-backfill.initial-delay-ms:10000}",
+               fixedDelayString = "${comments.path-backfill.interval-ms:1000}")
+    public void backfill() {
+        if (!enabled || System.currentTimeMillis() < idleUntil) {
+            return;
+        }
+        if (backfillBatch() > 0) {
+            return;
+        }
+        if (backfilledRoots + backfilledReplies > 0) {
+            log.info("Backfilled comment paths for {} top-level comments and {} replies",
+                    backfilledRoots, backfilledReplies);
+            backfilledRoots = 0;
+            backfilledReplies = 0;
+        }
+        long tooDeep = commentRepository.countRepliesBeyondMaxDepth(CommentPaths.MAX_DEPTH);
+        if (tooDeep > 0) {
+            log.warn("{} legacy replies are nested deeper than {} levels and were left without a path",
+                    tooDeep, CommentPaths.MAX_DEPTH);
+        }
+        idleUntil = System.currentTimeMillis() + idleIntervalMs;
+    }
+    
+    /**
+     * Backfill one batch: roots while any are left, then one level of replies
+     *
+     * @return number of comments updated, 0 when nothing is left that a path can be assigned to
+     */
+    int backfillBatch() {
+        int roots = backfillRoots();
+        backfilledRoots += roots;
+        if (roots > 0) {
+            return roots;
+        }
+        int replies = backfillReplies();
+        backfilledReplies += replies;
+        return replies;
+    }
+    
+    int backfillRoots() {
+        Integer updated = transactionTemplate.execute(status -> {
+            List<Comment> roots = commentRepository.findRootsWithoutPath(PageRequest.of(0, batchSize));
+            for (Comment root : roots) {
+                root.setPath(CommentPaths.segmentOf(root.getCreatedAt(), root.getCommentId()));
+                root.setDepth(0);
+            }
+            return roots.size();
+        });
+        return updated != null ? updated : 0;
+    }
+    
+    /**
+     * One batch of replies whose parent has a path; each pass reaches one level deeper
+     * Replies to a comment already at MAX_DEPTH are not selected, see countRepliesBeyondMaxDepth
+     *
+     * @return number of replies updated
+     */
+    int backfillReplies() {
+        Integer updated = transactionTemplate.execute(status -> {
+            List<Object[]> rows = commentRepository.findRepliesWithoutPath(
+                    CommentPaths.MAX_DEPTH, PageRequest.of(0, batchSize));
+            for (Object[] row : rows) {
+                Comment reply = (Comment) row[0];
+                Comment parent = (Comment) row[1];
+                reply.setPath(CommentPaths.child(parent.getPath(),
+                        CommentPaths.segmentOf(reply.getCreatedAt(), reply.getCommentId())));
+                reply.setDepth(parent.getDepth() + 1);
+            }
+            return rows.size();
+        });
+        return updated != null ? updated : 0;
+    }
+}
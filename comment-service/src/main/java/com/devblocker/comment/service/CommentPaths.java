@@ -0,0 +1,62 @@
+package com.devblocker.comment.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Materialized paths for comment threads
+ * A path is the chain of ancestor segments ending with the comment's own, e.g. "a/b/c/". Each segment is
+ * fixed-width hex of the creation time plus 48 distinguishing bits, so a subtree is the range of paths
+ * sharing a prefix and ordering by path lists a thread depth-first with siblings oldest first
+ */
+public final class CommentPaths {
+    
+    /** Deepest reply level (top-level comments are depth 0); bounds the path to the indexed column length */
+    public static final int MAX_DEPTH = 100;
+    
+    public static final int SEGMENT_LENGTH = 24;
+    
+    private static final long DISTINGUISHING_BITS_MASK = 0xFFFFFFFFFFFFL;
+    
+    private CommentPaths() {
+    }
+    
+    /**
+     * Segment for a new comment; the low bits are random because the id is only generated on insert
+     */
+    public static String newSegment(LocalDateTime createdAt) {
+        return segment(createdAt, ThreadLocalRandom.current().nextLong());
+    }
+    
+    /**
+     * Deterministic segment for an existing comment (backfill), so concurrent runs agree
+     */
+    public static String segmentOf(LocalDateTime createdAt, UUID commentId) {
+        return segment(createdAt, commentId.getLeastSignificantBits());
+    }
+    
+    public static String child(String parentPath, String segment) {
+        return parentPath + segment;
+    }
+    
+    /**
+     * Path of the parent comment (the path without its last segment)
+     */
+    public static String parentOf(String path) {
+        return path.substring(0, path.length() - SEGMENT_LENGTH);
+    }
+    
+    /**
+     * LIKE pattern matching a comment and everything below it
+     */
+    public static String subtreePattern(String path) {
+        return path + "%";
+    }
+    
+    private static String segment(LocalDateTime createdAt, long bits) {
+        long millis = createdAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return String.format("%011x%012x/", millis, bits & DISTINGUISHING_BITS_MASK);
+    }
+}
@@ -2,20 +2,27 @@ package com.devblocker.comment.service;
 
 import com.devblocker.comment.dto.CommentResponse;
 import com.devblocker.comment.dto.CreateCommentRequest;
+import com.devblocker.comment.dto.CursorPageResponse;
 import com.devblocker.comment.dto.ReplyRequest;
 import com.devblocker.comment.model.Comment;
 import com.devblocker.comment.repository.CommentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -26,115 +33,271 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final EventPublisher eventPublisher;
     
+    @Value("${comments.thread.max-depth:5}")
+    private int maxDepth;
+    
+    @Value("${comments.thread.replies-per-node:3}")
+    private int repliesPerNode;
+    
+    @Value("${comments.thread.max-page-size:100}")
+    private int maxPageSize;
+    
     @Transactional
     public CommentResponse addComment(UUID blockerId, CreateCommentRequest request, String authToken) {
         // Validate blocker exists (optional - could call blocker-service)
         // For now, we'll just create the comment
         
+        LocalDateTime now = LocalDateTime.now();
         Comment comment = Comment.builder()
                 .blockerId(blockerId)
                 .userId(request.getUserId())
                 .parentCommentId(null) // Top-level comment
+                .path(CommentPaths.newSegment(now))
+                .depth(0)
                 .content(request.getContent())
+                .createdAt(now)
                 .build();
         
-        final Comment savedComment = commentRepository.save(comment);
+        final Comment savedComment = commentRepository.saveAndFlush(comment);
         
-        // Publish event after transaction commit
-        TransactionSynchronizationManager.registerSynchronization(
-                new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        eventPublisher.publishCommentAdded(savedComment);
-                    }
-                }
-        );
+        // Queued in the outbox within this transaction; relayed after commit
+        eventPublisher.publishCommentAdded(savedComment);
         
         log.info("Comment created: {} for blocker: {}", savedComment.getCommentId(), blockerId);
         
-        return mapToResponse(savedComment, new ArrayList<>());
+        return mapToResponse(savedComment);
     }
     
+    /**
+     * Get the full comment tree of a blocker
+     * One query loads every comment; the tree is assembled in memory
+     */
     public List<CommentResponse> getCommentsByBlocker(UUID blockerId) {
-        // Get all top-level comments
-        List<Comment> topLevelComments = commentRepository
-                .findByBlockerIdAndParentCommentIdIsNullOrderByCreatedAtAsc(blockerId);
-        
-        // Get all comments for this blocker (including replies)
-        List<Comment> allComments = commentRepository.findByBlockerIdOrderByCreatedAtAsc(blockerId);
-        
-        // Build a map of comment ID to replies
-        Map<UUID, List<Comment>> repliesMap = allComments.stream()
-                .filter(c -> c.getParentCommentId() != null)
-                .collect(Collectors.groupingBy(Comment::getParentCommentId));
-        
-        // Build threaded response
-        return topLevelComments.stream()
-                .map(comment -> {
-                    List<Comment> replies = repliesMap.getOrDefault(comment.getCommentId(), new ArrayList<>());
-                    return mapToResponse(comment, replies);
-                })
+        List<Comment> comments = commentRepository.findByBlockerIdOrderByCreatedAtAsc(blockerId);
+        Map<UUID, CommentResponse> nodes = buildTree(comments);
+        
+        return comments.stream()
+                .filter(comment -> comment.getParentCommentId() == null)
+                .map(comment -> nodes.get(comment.getCommentId()))
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Get a page of a blocker's top-level comments with reply previews down to depth
+     * Cost depends on the page size and depth, not on the size of the thread
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CommentResponse> getCommentsByBlockerAfter(UUID blockerId, String cursor, int size, int depth) {
+        validatePaging(size, depth);
+        CommentCursor after = CommentCursor.decode(cursor);
+        Slice<Comment> comments = commentRepository.findTopLevelAfter(
+                blockerId,
+                after != null ? after.createdAt() : null,
+                after != null ? after.commentId() : null,
+                PageRequest.of(0, size));
+        return toCursorPage(comments, depth);
+    }
+    
+    /**
+     * Load more replies of a comment (the "load more replies" cursor of a node), with previews down to depth
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CommentResponse> getReplies(UUID commentId, String cursor, int size, int depth) {
+        validatePaging(size, depth);
+        if (!commentRepository.existsByCommentId(commentId)) {
+            throw new IllegalArgumentException("Comment not found: " + commentId);
+        }
+        CommentCursor after = CommentCursor.decode(cursor);
+        Slice<Comment> replies = commentRepository.findRepliesAfter(
+                commentId,
+                after != null ? after.createdAt() : null,
+                after != null ? after.commentId() : null,
+                PageRequest.of(0, size));
+        return toCursorPage(replies, depth);
+    }
+    
     @Transactional
     public CommentResponse replyToComment(UUID commentId, ReplyRequest request, String authToken) {
         // Validate parent comment exists
         Comment parentComment = commentRepository.findByCommentId(commentId)
                 .orElseThrow(() -> new IllegalArgumentException("Parent comment not found: " + commentId));
         
+        if (parentComment.getDepth() != null && parentComment.getDepth() >= CommentPaths.MAX_DEPTH) {
+            throw new IllegalArgumentException("Maximum reply depth of " + CommentPaths.MAX_DEPTH + " reached");
+        }
+        
+        // Extend the parent's path; if the parent is not backfilled yet, the backfill job assigns it later
+        LocalDateTime now = LocalDateTime.now();
+        boolean parentHasPath = parentComment.getPath() != null;
         Comment reply = Comment.builder()
                 .blockerId(parentComment.getBlockerId()) // Reply belongs to same blocker
                 .userId(request.getUserId())
                 .parentCommentId(commentId) // Set parent comment ID
+                .path(parentHasPath ? CommentPaths.child(parentComment.getPath(), CommentPaths.newSegment(now)) : null)
+                .depth(parentHasPath ? parentComment.getDepth() + 1 : null)
                 .content(request.getContent())
+                .createdAt(now)
                 .build();
         
-        final Comment savedReply = commentRepository.save(reply);
+        final Comment savedReply = commentRepository.saveAndFlush(reply);
         
-        // Publish event after transaction commit
-        TransactionSynchronizationManager.registerSynchronization(
-                new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        eventPublisher.publishCommentAdded(savedReply);
-                    }
-                }
-        );
+        // Queued in the outbox within this transaction; relayed after commit
+        eventPublisher.publishCommentAdded(savedReply);
         
         log.info("Reply created: {} to comment: {}", savedReply.getCommentId(), commentId);
         
-        return mapToResponse(savedReply, new ArrayList<>());
+        return mapToResponse(savedReply);
     }
     
     public CommentResponse getComment(UUID commentId) {
         Comment comment = commentRepository.findByCommentId(commentId)
                 .orElseThrow(() -> new IllegalArgumentException("Comment not found: " + commentId));
         
-        // Get replies to this comment
-        List<Comment> replies = commentRepository.findByParentCommentIdOrderByCreatedAtAsc(commentId);
+        if (comment.getPath() == null) {
+            // Not backfilled yet: load the blocker's comments once and take this comment's subtree
+            Map<UUID, CommentResponse> nodes = buildTree(
+                    commentRepository.findByBlockerIdOrderByCreatedAtAsc(comment.getBlockerId()));
+            CommentResponse response = nodes.get(commentId);
+            return response != null ? response : mapToResponse(comment);
+        }
         
-        return mapToResponse(comment, replies);
+        // The subtree is one range scan on the materialized path
+        List<Comment> subtree = commentRepository.findSubtree(CommentPaths.subtreePattern(comment.getPath()));
+        if (hasRepliesBeyondMaxDepth(subtree)) {
+            // Legacy replies nested deeper than a path can hold are not in the range scan
+            CommentResponse response = buildTree(
+                    commentRepository.findByBlockerIdOrderByCreatedAtAsc(comment.getBlockerId())).get(commentId);
+            response.setDescendantCount(countDescendants(response));
+            return response;
+        }
+        CommentResponse response = buildTree(subtree).get(commentId);
+        response.setDescendantCount((long) subtree.size() - 1);
+        return response;
     }
     
     /**
-     * Maps a comment and its replies to CommentResponse
-     * Recursively builds the thread structure
+     * Whether comments at MAX_DEPTH in the subtree have legacy replies the path backfill could not place
      */
-    private CommentResponse mapToResponse(Comment comment, List<Comment> directReplies) {
-        // Recursively map replies
-        List<CommentResponse> replyResponses = directReplies.stream()
-                .map(reply -> {
-                    // Get nested replies for this reply
-                    List<Comment> nestedReplies = commentRepository
-                            .findByParentCommentIdOrderByCreatedAtAsc(reply.getCommentId());
-                    return mapToResponse(reply, nestedReplies);
-                })
+    private boolean hasRepliesBeyondMaxDepth(List<Comment> subtree) {
+        List<UUID> deepest = subtree.stream()
+                .filter(c -> c.getDepth() != null && c.getDepth() >= CommentPaths.MAX_DEPTH)
+                .map(Comment::getCommentId)
                 .collect(Collectors.toList());
+        return !deepest.isEmpty() && commentRepository.existsByParentCommentIdInAndPathIsNull(deepest);
+    }
+    
+    private long countDescendants(CommentResponse root) {
+        long count = 0;
+        Deque<CommentResponse> stack = new ArrayDeque<>(root.getReplies());
+        while (!stack.isEmpty()) {
+            CommentResponse node = stack.pop();
+            count++;
+            stack.addAll(node.getReplies());
+        }
+        return count;
+    }
+    
+    /**
+     * Builds the reply tree of a comment set in O(n)
+     * Comments must be ordered by creation date or path so every reply list ends up oldest first;
+     * iterative, so deep threads are not limited by the call stack
+     * 
+     * @return Response node per comment id, with replies and replyCount filled in
+     */
+    private Map<UUID, CommentResponse> buildTree(List<Comment> comments) {
+        Map<UUID, CommentResponse> nodes = new HashMap<>(comments.size() * 2);
+        for (Comment comment : comments) {
+            nodes.put(comment.getCommentId(), mapToResponse(comment));
+        }
+        for (Comment comment : comments) {
+            if (comment.getParentCommentId() == null) {
+                continue;
+            }
+            CommentResponse parent = nodes.get(comment.getParentCommentId());
+            if (parent != null) {
+                parent.getReplies().add(nodes.get(comment.getCommentId()));
+                parent.setReplyCount(parent.getReplies().size());
+            }
+        }
+        return nodes;
+    }
+    
+    private void validatePaging(int size, int depth) {
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxPageSize);
+        }
+        if (depth < 0 || depth > maxDepth) {
+            throw new IllegalArgumentException("depth must be between 0 and " + maxDepth);
+        }
+    }
+    
+    private CursorPageResponse<CommentResponse> toCursorPage(Slice<Comment> comments, int depth) {
+        List<Comment> content = comments.getContent();
+        String nextCursor = comments.hasNext() && !content.isEmpty()
+                ? CommentCursor.of(content.get(content.size() - 1)).encode()
+                : null;
         
-        // Get reply count
-        Integer replyCount = (int) commentRepository.countByParentCommentId(comment.getCommentId());
+        return CursorPageResponse.<CommentResponse>builder()
+                .content(expandReplies(content, depth))
+                .size(comments.getSize())
+                .hasNext(comments.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
+    /**
+     * Maps comments and attaches the first replies of every node, level by level, down to depth
+     * Two queries per level (reply counts, first replies per parent); nodes with more replies than
+     * included get hasMoreReplies and a repliesCursor to continue from
+     */
+    private List<CommentResponse> expandReplies(List<Comment> comments, int depth) {
+        List<CommentResponse> roots = comments.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
         
+        List<CommentResponse> level = roots;
+        for (int currentDepth = 0; !level.isEmpty(); currentDepth++) {
+            Map<UUID, CommentResponse> nodes = level.stream()
+                    .collect(Collectors.toMap(CommentResponse::getCommentId, Function.identity()));
+            for (Object[] row : commentRepository.countRepliesByParentCommentIdIn(nodes.keySet())) {
+                nodes.get((UUID) row[0]).setReplyCount(((Long) row[1]).intValue());
+            }
+            
+            List<UUID> parentIds = level.stream()
+                    .filter(node -> node.getReplyCount() > 0)
+                    .map(CommentResponse::getCommentId)
+                    .collect(Collectors.toList());
+            if (currentDepth >= depth || parentIds.isEmpty()) {
+                parentIds.forEach(parentId -> nodes.get(parentId).setHasMoreReplies(true));
+                break;
+            }
+            
+            List<CommentResponse> nextLevel = new ArrayList<>();
+            for (Comment reply : commentRepository.findFirstRepliesByParentCommentIdIn(parentIds, repliesPerNode)) {
+                CommentResponse node = mapToResponse(reply);
+                nodes.get(reply.getParentCommentId()).getReplies().add(node);
+                nextLevel.add(node);
+            }
+            for (UUID parentId : parentIds) {
+                CommentResponse parent = nodes.get(parentId);
+                List<CommentResponse> replies = parent.getReplies();
+                if (replies.size() < parent.getReplyCount()) {
+                    parent.setHasMoreReplies(true);
+                    if (!replies.isEmpty()) {
+                        CommentResponse last = replies.get(replies.size() - 1);
+                        parent.setRepliesCursor(new CommentCursor(last.getCreatedAt(), last.getCommentId()).encode());
+                    }
+                }
+            }
+            level = nextLevel;
+        }
+        return roots;
+    }
+    
+    /**
+     * Maps a comment to CommentResponse without replies
+     */
+    private CommentResponse mapToResponse(Comment comment) {
         return CommentResponse.builder()
                 .commentId(comment.getCommentId())
                 .blockerId(comment.getBlockerId())
@@ -142,9 +305,8 @@ public class CommentService {
                 .parentCommentId(comment.getParentCommentId())
                 .content(comment.getContent())
                 .createdAt(comment.getCreatedAt())
-                .replies(replyResponses)
-                .replyCount(replyCount)
+                .replies(new ArrayList<>())
+                .replyCount(0)
                 .build();
     }
 }
-
@@ -0,0 +1,125 @@
+package com.devblocker.comment.service;
+
+import com.devblocker.comment.dto.CommentResponse;
+import com.devblocker.comment.model.Comment;
+import com.devblocker.comment.repository.CommentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "comments.path-backfill.batch-size=2",
+        "comments.path-backfill.initial-delay-ms=3600000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({CommentPathBackfillService.class, CommentService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CommentPathBackfillServiceTest {
+    
+    @Autowired
+    private CommentPathBackfillService backfillService;
+    
+    @Autowired
+    private CommentService commentService;
+    
+    @Autowired
+    private CommentRepository commentRepository;
+    
+    @MockitoBean
+    private EventPublisher eventPublisher;
+    
+    private final UUID blockerId = UUID.randomUUID();
+    private LocalDateTime clock = LocalDateTime.of(2024, 1, 1, 12, 0);
+    
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAll();
+    }
+    
+    @Test
+    void eachTickUpdatesOneBoundedBatch() {
+        Comment first = legacyComment(null);
+        legacyComment(null);
+        legacyComment(null);
+        legacyComment(first.getCommentId());
+        
+        backfillService.backfill();
+        assertThat(commentRepository.findAll()).filteredOn(c -> c.getPath() != null).hasSize(2);
+        
+        backfillService.backfill();
+        backfillService.backfill();
+        assertThat(commentRepository.findAll()).allSatisfy(c -> assertThat(c.getPath()).isNotNull());
+        Comment reply = commentRepository.findByParentCommentIdOrderByCreatedAtAsc(first.getCommentId()).get(0);
+        Comment root = commentRepository.findByCommentId(first.getCommentId()).orElseThrow();
+        assertThat(reply.getPath()).startsWith(root.getPath());
+        assertThat(reply.getDepth()).isEqualTo(1);
+        
+        // Nothing left: the job goes idle instead of scanning again on every tick
+        backfillService.backfill();
+        Comment late = legacyComment(null);
+        backfillService.backfill();
+        assertThat(commentRepository.findByCommentId(late.getCommentId()).orElseThrow().getPath()).isNull();
+    }
+    
+    @Test
+    void repliesBeyondMaxDepthAreReportedAndStillRead() {
+        Comment deepest = commentRepository.save(Comment.builder()
+                .blockerId(blockerId)
+                .userId(UUID.randomUUID())
+                .parentCommentId(UUID.randomUUID())
+                .path(syntheticPath(CommentPaths.MAX_DEPTH + 1))
+                .depth(CommentPaths.MAX_DEPTH)
+                .content("deepest")
+                .createdAt(tick())
+                .build());
+        Comment tooDeep = legacyComment(deepest.getCommentId());
+        Comment belowTooDeep = legacyComment(tooDeep.getCommentId());
+        
+        assertThat(backfillService.backfillBatch()).isZero();
+        assertThat(commentRepository.findByCommentId(tooDeep.getCommentId()).orElseThrow().getPath()).isNull();
+        assertThat(commentRepository.countRepliesBeyondMaxDepth(CommentPaths.MAX_DEPTH)).isEqualTo(1);
+        
+        CommentResponse response = commentService.getComment(deepest.getCommentId());
+        assertThat(response.getReplies()).extracting(CommentResponse::getCommentId)
+                .containsExactly(tooDeep.getCommentId());
+        assertThat(response.getReplies().get(0).getReplies()).extracting(CommentResponse::getCommentId)
+                .containsExactly(belowTooDeep.getCommentId());
+        assertThat(response.getDescendantCount()).isEqualTo(2);
+    }
+    
+    private Comment legacyComment(UUID parentCommentId) {
+        return commentRepository.save(Comment.builder()
+                .blockerId(blockerId)
+                .userId(UUID.randomUUID())
+                .parentCommentId(parentCommentId)
+                .content("legacy")
+                .createdAt(tick())
+                .build());
+    }
+    
+    private String syntheticPath(int segments) {
+        StringBuilder path = new StringBuilder();
+        for (int i = 0; i < segments; i++) {
+            path.append(CommentPaths.newSegment(tick()));
+        }
+        return path.toString();
+    }
+    
+    private LocalDateTime tick() {
+        clock = clock.plusSeconds(1);
+        return clock;
+    }
+}
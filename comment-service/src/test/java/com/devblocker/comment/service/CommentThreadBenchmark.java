@@ -0,0 +1,97 @@
+package com.devblocker.comment.service;
+
+import com.devblocker.comment.dto.CommentResponse;
+import com.devblocker.comment.model.Comment;
+import com.devblocker.comment.repository.CommentRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * In-memory tree assembly of getCommentsByBlocker over synthetic threads of COMMENTS comments
+ * deep: chains of CommentPaths.MAX_DEPTH replies under each root; wide: 10 roots with every other
+ * comment a direct reply; the repository is mocked so only buildTree and mapping are measured
+ * 
+ * Run (see README, Benchmarks): java -cp ... org.openjdk.jmh.Main CommentThreadBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommentThreadBenchmark {
+    
+    private static final int COMMENTS = 10_000;
+    private static final int WIDE_ROOTS = 10;
+    
+    @Param({"deep", "wide"})
+    private String shape;
+    
+    private CommentService commentService;
+    private UUID blockerId;
+    
+    @Setup
+    public void setUp() {
+        blockerId = UUID.randomUUID();
+        List<Comment> comments = "deep".equals(shape) ? deepThread() : wideThread();
+        CommentRepository commentRepository = mock(CommentRepository.class, withSettings().stubOnly());
+        when(commentRepository.findByBlockerIdOrderByCreatedAtAsc(blockerId)).thenReturn(comments);
+        commentService = new CommentService(commentRepository, mock(EventPublisher.class, withSettings().stubOnly()));
+    }
+    
+    @Benchmark
+    public List<CommentResponse> getCommentsByBlocker() {
+        return commentService.getCommentsByBlocker(blockerId);
+    }
+    
+    private List<Comment> deepThread() {
+        List<Comment> comments = new ArrayList<>(COMMENTS);
+        Comment parent = null;
+        for (int i = 0; i < COMMENTS; i++) {
+            boolean root = i % (CommentPaths.MAX_DEPTH + 1) == 0;
+            parent = comment(i, root ? null : parent);
+            comments.add(parent);
+        }
+        return comments;
+    }
+    
+    private List<Comment> wideThread() {
+        List<Comment> comments = new ArrayList<>(COMMENTS);
+        for (int i = 0; i < COMMENTS; i++) {
+            Comment parent = i < WIDE_ROOTS ? null : comments.get(i % WIDE_ROOTS);
+            comments.add(comment(i, parent));
+        }
+        return comments;
+    }
+    
+    private Comment comment(int index, Comment parent) {
+        return Comment.builder()
+                .commentId(UUID.randomUUID())
+                .blockerId(blockerId)
+                .userId(UUID.randomUUID())
+                .parentCommentId(parent != null ? parent.getCommentId() : null)
+                .depth(parent != null ? parent.getDepth() + 1 : 0)
+                .content("comment " + index)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(index))
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.devblocker.comment.service;
+
+import com.devblocker.comment.dto.CommentResponse;
+import com.devblocker.comment.model.Comment;
+import com.devblocker.comment.repository.CommentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The full thread of a blocker is one query however many comments it has, and the in-memory tree
+ * keeps replyCount and oldest-first order for deep chains and wide fan-outs
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "comments.path-backfill.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(CommentService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CommentThreadQueryCountTest {
+    
+    private static final int CHAIN_DEPTH = CommentPaths.MAX_DEPTH;
+    private static final int WIDE_REPLIES = 150;
+    
+    @Autowired
+    private CommentService commentService;
+    
+    @Autowired
+    private CommentRepository commentRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @MockitoBean
+    private EventPublisher eventPublisher;
+    
+    private final UUID blockerId = UUID.randomUUID();
+    private final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private Statistics statistics;
+    private Comment deepRoot;
+    private Comment wideRoot;
+    private List<Comment> wideReplies;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        // A chain nested as deep as replies may go
+        deepRoot = save(null, start);
+        Comment parent = deepRoot;
+        for (int depth = 1; depth <= CHAIN_DEPTH; depth++) {
+            parent = save(parent, start.plusSeconds(depth));
+        }
+        
+        // One comment with many direct replies, inserted out of creation order
+        wideRoot = save(null, start.plusMinutes(10));
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < WIDE_REPLIES; i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(42));
+        wideReplies = new ArrayList<>();
+        for (int i : order) {
+            wideReplies.add(save(wideRoot, start.plusMinutes(20).plusSeconds(i)));
+        }
+        wideReplies.sort((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()));
+    }
+    
+    @AfterEach
+    void cleanUp() {
+        commentRepository.deleteAll();
+    }
+    
+    @Test
+    void wholeThreadIsOneQuery() {
+        statistics.clear();
+        List<CommentResponse> thread = commentService.getCommentsByBlocker(blockerId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        
+        assertThat(thread).extracting(CommentResponse::getCommentId)
+                .containsExactly(deepRoot.getCommentId(), wideRoot.getCommentId());
+        assertDeepChain(thread.get(0));
+        assertWideReplies(thread.get(1));
+    }
+    
+    @Test
+    void singleCommentSubtreeIsOneRangeScan() {
+        statistics.clear();
+        CommentResponse deep = commentService.getComment(deepRoot.getCommentId());
+        // Comment lookup, subtree range scan, and the check for replies beyond MAX_DEPTH
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertDeepChain(deep);
+        assertThat(deep.getDescendantCount()).isEqualTo(CHAIN_DEPTH);
+        
+        statistics.clear();
+        CommentResponse wide = commentService.getComment(wideRoot.getCommentId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertWideReplies(wide);
+        assertThat(wide.getDescendantCount()).isEqualTo(WIDE_REPLIES);
+    }
+    
+    private void assertDeepChain(CommentResponse root) {
+        CommentResponse node = root;
+        for (int depth = 0; depth < CHAIN_DEPTH; depth++) {
+            assertThat(node.getReplyCount()).as("replyCount at depth %d", depth).isEqualTo(1);
+            assertThat(node.getReplies()).hasSize(1);
+            node = node.getReplies().get(0);
+        }
+        assertThat(node.getReplyCount()).isZero();
+        assertThat(node.getReplies()).isEmpty();
+    }
+    
+    private void assertWideReplies(CommentResponse root) {
+        assertThat(root.getReplyCount()).isEqualTo(WIDE_REPLIES);
+        assertThat(root.getReplies()).extracting(CommentResponse::getCommentId)
+                .containsExactlyElementsOf(wideReplies.stream().map(Comment::getCommentId).toList());
+        assertThat(root.getReplies()).allSatisfy(reply -> assertThat(reply.getReplyCount()).isZero());
+    }
+    
+    private Comment save(Comment parent, LocalDateTime createdAt) {
+        String segment = CommentPaths.newSegment(createdAt);
+        return commentRepository.save(Comment.builder()
+                .blockerId(blockerId)
+                .userId(UUID.randomUUID())
+                .parentCommentId(parent != null ? parent.getCommentId() : null)
+                .path(parent != null ? CommentPaths.child(parent.getPath(), segment) : segment)
+                .depth(parent != null ? parent.getDepth() + 1 : 0)
+                .content("comment")
+                .createdAt(createdAt)
+                .build());
+    }
+}
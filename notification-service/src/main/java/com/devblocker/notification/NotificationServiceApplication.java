@@ -2,10 +2,10 @@ package com.devblocker.notification;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication(excludeName = {
-	"org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration"
-})
+@SpringBootApplication
+@EnableScheduling
 public class NotificationServiceApplication {
 
 	public static void main(String[] args) {
@@ -1,18 +1,25 @@
 package com.devblocker.notification.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
     
     // Queues for consuming events from other services
     public static final String BLOCKER_CREATED_QUEUE = "notification.blocker.created.queue";
+    public static final String BLOCKER_UPDATED_QUEUE = "notification.blocker.updated.queue";
     public static final String COMMENT_ADDED_QUEUE = "notification.comment.added.queue";
     public static final String SOLUTION_ADDED_QUEUE = "notification.solution.added.queue";
     public static final String SOLUTION_ACCEPTED_QUEUE = "notification.solution.accepted.queue";
@@ -22,24 +29,42 @@ public class RabbitMQConfig {
     public static final String COMMENT_EVENTS_EXCHANGE = "comment.events";
     public static final String SOLUTION_EVENTS_EXCHANGE = "solution.events";
     
+    // Committed notifications are fanned out to every instance, each consuming through its own anonymous queue
+    public static final String NOTIFICATION_PUSH_EXCHANGE = "notification.push";
+    
+    // Dead lettering: rejected messages are routed to "<queue>.dlq" with the queue name as routing key
+    public static final String DEAD_LETTER_EXCHANGE = "devblocker.dlx";
+    public static final String DEAD_LETTER_QUEUE_SUFFIX = ".dlq";
+    
     @Bean
     public Queue blockerCreatedQueue() {
-        return QueueBuilder.durable(BLOCKER_CREATED_QUEUE).build();
+        return deadLetteredQueue(BLOCKER_CREATED_QUEUE);
+    }
+    
+    @Bean
+    public Queue blockerUpdatedQueue() {
+        return deadLetteredQueue(BLOCKER_UPDATED_QUEUE);
     }
     
     @Bean
     public Queue commentAddedQueue() {
-        return QueueBuilder.durable(COMMENT_ADDED_QUEUE).build();
+        return deadLetteredQueue(COMMENT_ADDED_QUEUE);
     }
     
     @Bean
     public Queue solutionAddedQueue() {
-        return QueueBuilder.durable(SOLUTION_ADDED_QUEUE).build();
+        return deadLetteredQueue(SOLUTION_ADDED_QUEUE);
     }
     
     @Bean
     public Queue solutionAcceptedQueue() {
-        return QueueBuilder.durable(SOLUTION_ACCEPTED_QUEUE).build();
+        return deadLetteredQueue(SOLUTION_ACCEPTED_QUEUE);
+    }
+    
+    @Bean
+    public Declarables deadLetterDeclarables() {
+        return deadLetterTopology(BLOCKER_CREATED_QUEUE, BLOCKER_UPDATED_QUEUE, COMMENT_ADDED_QUEUE,
+                SOLUTION_ADDED_QUEUE, SOLUTION_ACCEPTED_QUEUE);
     }
     
     // Exchange beans for consuming from other services
@@ -58,6 +83,26 @@ public class RabbitMQConfig {
         return new TopicExchange(SOLUTION_EVENTS_EXCHANGE, true, false);
     }
     
+    @Bean
+    public FanoutExchange notificationPushExchange() {
+        return new FanoutExchange(NOTIFICATION_PUSH_EXCHANGE, true, false);
+    }
+    
+    /**
+     * Exclusive, auto-delete queue named per instance; it disappears with the instance's connection
+     */
+    @Bean
+    public Queue notificationPushQueue() {
+        return new AnonymousQueue();
+    }
+    
+    @Bean
+    public Binding notificationPushBinding() {
+        return BindingBuilder
+                .bind(notificationPushQueue())
+                .to(notificationPushExchange());
+    }
+    
     // Bindings to consume from other services' exchanges
     @Bean
     public Binding blockerCreatedBinding() {
@@ -67,6 +112,14 @@ public class RabbitMQConfig {
                 .with("blocker.created");
     }
     
+    @Bean
+    public Binding blockerUpdatedBinding() {
+        return BindingBuilder
+                .bind(blockerUpdatedQueue())
+                .to(blockerEventsExchange())
+                .with("blocker.updated");
+    }
+    
     @Bean
     public Binding commentAddedBinding() {
         return BindingBuilder
@@ -102,5 +155,94 @@ public class RabbitMQConfig {
         template.setMessageConverter(messageConverter());
         return template;
     }
+    
+    // Listener container factories, one per queue so each can be scaled independently
+    
+    @Bean
+    public SimpleRabbitListenerContainerFactory blockerCreatedContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${rabbitmq.listener.blocker-created.concurrency:4}") int concurrency,
+            @Value("${rabbitmq.listener.blocker-created.max-concurrency:16}") int maxConcurrency,
+            @Value("${rabbitmq.listener.blocker-created.prefetch:50}") int prefetch) {
+        return containerFactory(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+    
+    @Bean
+    public SimpleRabbitListenerContainerFactory blockerUpdatedContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${rabbitmq.listener.blocker-updated.concurrency:1}") int concurrency,
+            @Value("${rabbitmq.listener.blocker-updated.max-concurrency:4}") int maxConcurrency,
+            @Value("${rabbitmq.listener.blocker-updated.prefetch:50}") int prefetch) {
+        return containerFactory(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+    
+    @Bean
+    public SimpleRabbitListenerContainerFactory commentAddedContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${rabbitmq.listener.comment-added.concurrency:2}") int concurrency,
+            @Value("${rabbitmq.listener.comment-added.max-concurrency:8}") int maxConcurrency,
+            @Value("${rabbitmq.listener.comment-added.prefetch:50}") int prefetch) {
+        return containerFactory(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+    
+    @Bean
+    public SimpleRabbitListenerContainerFactory solutionAddedContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${rabbitmq.listener.solution-added.concurrency:2}") int concurrency,
+            @Value("${rabbitmq.listener.solution-added.max-concurrency:8}") int maxConcurrency,
+            @Value("${rabbitmq.listener.solution-added.prefetch:50}") int prefetch) {
+        return containerFactory(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+    
+    @Bean
+    public SimpleRabbitListenerContainerFactory solutionAcceptedContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${rabbitmq.listener.solution-accepted.concurrency:1}") int concurrency,
+            @Value("${rabbitmq.listener.solution-accepted.max-concurrency:4}") int maxConcurrency,
+            @Value("${rabbitmq.listener.solution-accepted.prefetch:20}") int prefetch) {
+        return containerFactory(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+    
+    /**
+     * Builds a container factory on top of spring.rabbitmq.listener.simple.* (converter, retry interceptor
+     * with exponential backoff, requeue policy) and overrides the consumer scaling for one queue
+     */
+    private static SimpleRabbitListenerContainerFactory containerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            int concurrency, int maxConcurrency, int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        factory.setPrefetchCount(prefetch);
+        // Retries exhausted -> reject without requeue -> dead-letter queue
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+    
+    private static Queue deadLetteredQueue(String name) {
+        return QueueBuilder.durable(name)
+                .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(name)
+                .build();
+    }
+    
+    private static Declarables deadLetterTopology(String... queueNames) {
+        DirectExchange deadLetterExchange = new DirectExchange(DEAD_LETTER_EXCHANGE, true, false);
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(deadLetterExchange);
+        for (String queueName : queueNames) {
+            Queue deadLetterQueue = QueueBuilder.durable(queueName + DEAD_LETTER_QUEUE_SUFFIX).build();
+            declarables.add(deadLetterQueue);
+            declarables.add(BindingBuilder.bind(deadLetterQueue).to(deadLetterExchange).with(queueName));
+        }
+        return new Declarables(declarables);
+    }
 }
 
@@ -1,14 +1,22 @@
 package com.devblocker.notification.controller;
 
+import com.devblocker.notification.dto.BulkMarkReadResponse;
+import com.devblocker.notification.dto.CursorPageResponse;
+import com.devblocker.notification.dto.MarkReadRequest;
 import com.devblocker.notification.dto.NotificationResponse;
 import com.devblocker.notification.dto.PageResponse;
 import com.devblocker.notification.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @RestController
@@ -33,6 +41,30 @@ public class NotificationController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/history")
+    @Operation(summary = "Get full notification history", 
+               description = "Cursor-paginated history across recent and archived notifications, newest first")
+    public ResponseEntity<CursorPageResponse<NotificationResponse>> getNotificationHistory(
+            @RequestParam(value = "userId") UUID userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("size must be between 1 and 100");
+        }
+        return ResponseEntity.ok(notificationService.getNotificationHistory(userId, cursor, size));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream notifications (SSE)", 
+               description = "Pushes new notifications as Server-Sent Events; send Last-Event-ID to replay missed ones")
+    public Flux<ServerSentEvent<NotificationResponse>> streamNotifications(
+            @RequestParam(value = "userId") UUID userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        
+        return notificationService.streamNotifications(userId, lastEventId);
+    }
+    
     @PostMapping("/{notificationId}/mark-read")
     @Operation(summary = "Mark notification as read", 
                description = "Marks a specific notification as read for the user")
@@ -44,6 +76,35 @@ public class NotificationController {
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping("/mark-all-read")
+    @Operation(summary = "Mark all notifications as read", 
+               description = "Marks every unread notification of the user as read in a single update")
+    public ResponseEntity<BulkMarkReadResponse> markAllAsRead(
+            @RequestParam(value = "userId") UUID userId) {
+        
+        return ResponseEntity.ok(notificationService.markAllAsRead(userId));
+    }
+    
+    @PostMapping("/mark-read")
+    @Operation(summary = "Mark notifications as read", 
+               description = "Marks the given notifications of the user as read in a single update")
+    public ResponseEntity<BulkMarkReadResponse> markAsReadByIds(
+            @RequestParam(value = "userId") UUID userId,
+            @RequestBody MarkReadRequest request) {
+        
+        return ResponseEntity.ok(notificationService.markAsReadByIds(userId, request.getNotificationIds()));
+    }
+    
+    @PostMapping("/mark-read-before")
+    @Operation(summary = "Mark notifications as read up to a timestamp", 
+               description = "Marks all notifications of the user created at or before the timestamp as read")
+    public ResponseEntity<BulkMarkReadResponse> markAsReadBefore(
+            @RequestParam(value = "userId") UUID userId,
+            @RequestParam(value = "before") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        
+        return ResponseEntity.ok(notificationService.markAsReadBefore(userId, before));
+    }
+    
     @GetMapping("/unread-count")
     @Operation(summary = "Get unread notification count", 
                description = "Returns the count of unread notifications for a user")
@@ -0,0 +1,15 @@
+package com.devblocker.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMarkReadResponse {
+    private int updated; // Notifications that changed from unread to read
+    private long unreadCount; // Remaining unread notifications for the user
+}
@@ -0,0 +1,19 @@
+package com.devblocker.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Committed notifications fanned out to every instance for delivery to their open SSE streams
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPushMessage {
+    private List<NotificationResponse> notifications;
+}
@@ -5,12 +5,16 @@ import com.devblocker.notification.config.RabbitMQConfig;
 import com.devblocker.notification.listener.event.BlockerCreatedEvent;
 import com.devblocker.notification.model.Notification;
 import com.devblocker.notification.service.NotificationService;
+import com.devblocker.notification.service.projection.BlockerProjectionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -20,8 +24,9 @@ public class BlockerCreatedListener {
     
     private final NotificationService notificationService;
     private final UserServiceClient userServiceClient;
+    private final BlockerProjectionService blockerProjectionService;
     
-    @RabbitListener(queues = RabbitMQConfig.BLOCKER_CREATED_QUEUE)
+    @RabbitListener(queues = RabbitMQConfig.BLOCKER_CREATED_QUEUE, containerFactory = "blockerCreatedContainerFactory")
     public void handleBlockerCreated(BlockerCreatedEvent event) {
         try {
             UUID blockerId = UUID.fromString(event.getBlockerId());
@@ -29,68 +34,88 @@ public class BlockerCreatedListener {
             
             log.info("Received BlockerCreated event for blocker: {}", blockerId);
             
+            // Seed the projection so comment/solution listeners resolve recipients locally
+            blockerProjectionService.apply(
+                    blockerId,
+                    event.getTitle(),
+                    createdBy,
+                    event.getAssignedTo() != null ? UUID.fromString(event.getAssignedTo()) : null,
+                    event.getCreatedAt()
+            );
+            
+            // Fetch team members before opening the write transaction
+            List<UUID> teamMemberIds = List.of();
+            if (event.getTeamCode() != null && !event.getTeamCode().isEmpty()) {
+                log.info("Notifying team members for blocker {} with teamCode: {}", blockerId, event.getTeamCode());
+                teamMemberIds = userServiceClient.getTeamMembersByCode(event.getTeamCode(), null);
+                if (teamMemberIds == null || teamMemberIds.isEmpty()) {
+                    log.warn("No team members found for team code: {}", event.getTeamCode());
+                    teamMemberIds = List.of();
+                }
+            }
+            
+            List<Notification> notifications = new ArrayList<>(teamMemberIds.size() + 2);
+            
             // Notify assigned user if different from creator
             if (event.getAssignedTo() != null && !event.getAssignedTo().equals(event.getCreatedBy())) {
-                UUID assignedTo = UUID.fromString(event.getAssignedTo());
-                
-                notificationService.createNotification(
-                        assignedTo,
+                notifications.add(blockerNotification(
+                        UUID.fromString(event.getAssignedTo()),
                         Notification.NotificationType.BLOCKER_CREATED,
                         "New Blocker Assigned",
                         String.format("A new blocker '%s' has been assigned to you", event.getTitle()),
-                        event.getBlockerId(),
-                        "blocker"
-                );
-                log.info("Notification created for assigned user: {}", assignedTo);
+                        event));
             }
             
             // Always notify the creator (they created it, so they should know)
-            notificationService.createNotification(
+            notifications.add(blockerNotification(
                     createdBy,
                     Notification.NotificationType.BLOCKER_CREATED,
                     "Blocker Created",
                     String.format("You created a new blocker '%s'", event.getTitle()),
-                    event.getBlockerId(),
-                    "blocker"
-            );
-            log.info("Notification created for blocker creator: {}", createdBy);
+                    event));
             
-            // Notify team members if teamCode is specified
-            if (event.getTeamCode() != null && !event.getTeamCode().isEmpty()) {
-                log.info("Notifying team members for blocker {} with teamCode: {}", blockerId, event.getTeamCode());
-                
-                // Fetch team members from user-service
-                List<UUID> teamMemberIds = userServiceClient.getTeamMembersByCode(event.getTeamCode(), null);
-                
-                if (teamMemberIds != null && !teamMemberIds.isEmpty()) {
-                    for (UUID memberId : teamMemberIds) {
-                        // Skip creator and assigned user (already notified)
-                        if (memberId.equals(createdBy)) {
-                            continue;
-                        }
-                        if (event.getAssignedTo() != null && memberId.toString().equals(event.getAssignedTo())) {
-                            continue;
-                        }
-                        
-                        notificationService.createNotification(
-                                memberId,
-                                Notification.NotificationType.TEAM_BLOCKER_CREATED,
-                                "New Team Blocker",
-                                String.format("A new blocker '%s' was created in your team (%s)", 
-                                        event.getTitle(), event.getTeamCode()),
-                                event.getBlockerId(),
-                                "blocker"
-                        );
-                        log.info("Team notification created for team member: {} (team: {})", memberId, event.getTeamCode());
-                    }
-                } else {
-                    log.warn("No team members found for team code: {}", event.getTeamCode());
+            // Notify team members, skipping creator and assigned user (already notified)
+            String teamMessage = String.format("A new blocker '%s' was created in your team (%s)",
+                    event.getTitle(), event.getTeamCode());
+            Set<UUID> seen = new HashSet<>();
+            for (UUID memberId : teamMemberIds) {
+                if (memberId.equals(createdBy) || !seen.add(memberId)) {
+                    continue;
                 }
+                if (event.getAssignedTo() != null && memberId.toString().equals(event.getAssignedTo())) {
+                    continue;
+                }
+                notifications.add(blockerNotification(
+                        memberId,
+                        Notification.NotificationType.TEAM_BLOCKER_CREATED,
+                        "New Team Blocker",
+                        teamMessage,
+                        event));
             }
             
+            // One transaction and batched inserts for the whole fan-out; a redelivered event skips those already notified
+            notificationService.createNotifications(notifications);
+            log.info("Created {} notifications for blocker {} ({} team members)",
+                    notifications.size(), blockerId, teamMemberIds.size());
+            
         } catch (Exception e) {
             log.error("Failed to process BlockerCreated event: {}", event, e);
+            // Rethrow so the container retries with backoff and then dead-letters the message
+            throw e;
         }
     }
+    
+    private Notification blockerNotification(UUID userId, Notification.NotificationType type,
+                                             String title, String message, BlockerCreatedEvent event) {
+        return Notification.builder()
+                .userId(userId)
+                .type(type)
+                .title(title)
+                .message(message)
+                .relatedEntityId(event.getBlockerId())
+                .relatedEntityType("blocker")
+                .eventKey("blocker.created:" + event.getBlockerId())
+                .build();
+    }
 }
 
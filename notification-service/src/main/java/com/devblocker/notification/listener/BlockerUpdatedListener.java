@@ -0,0 +1,44 @@
+package com.devblocker.notification.listener;
+
+import com.devblocker.notification.config.RabbitMQConfig;
+import com.devblocker.notification.listener.event.BlockerUpdatedEvent;
+import com.devblocker.notification.service.projection.BlockerProjectionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Keeps the blocker projection current (title, creator, assignee changes)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlockerUpdatedListener {
+    
+    private final BlockerProjectionService blockerProjectionService;
+    
+    @RabbitListener(queues = RabbitMQConfig.BLOCKER_UPDATED_QUEUE, containerFactory = "blockerUpdatedContainerFactory")
+    public void handleBlockerUpdated(BlockerUpdatedEvent event) {
+        try {
+            UUID blockerId = UUID.fromString(event.getBlockerId());
+            
+            log.debug("Received BlockerUpdated event for blocker: {}", blockerId);
+            
+            blockerProjectionService.apply(
+                    blockerId,
+                    event.getTitle(),
+                    UUID.fromString(event.getCreatedBy()),
+                    event.getAssignedTo() != null ? UUID.fromString(event.getAssignedTo()) : null,
+                    event.getUpdatedAt()
+            );
+            
+        } catch (Exception e) {
+            log.error("Failed to process BlockerUpdated event: {}", event, e);
+            // Rethrow so the container retries with backoff and then dead-letters the message
+            throw e;
+        }
+    }
+}
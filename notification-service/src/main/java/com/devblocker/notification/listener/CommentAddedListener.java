@@ -1,15 +1,18 @@
 package com.devblocker.notification.listener;
 
-import com.devblocker.notification.client.BlockerServiceClient;
 import com.devblocker.notification.config.RabbitMQConfig;
 import com.devblocker.notification.listener.event.CommentAddedEvent;
+import com.devblocker.notification.model.BlockerProjection;
 import com.devblocker.notification.model.Notification;
 import com.devblocker.notification.service.NotificationService;
+import com.devblocker.notification.service.projection.BlockerProjectionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -18,9 +21,9 @@ import java.util.UUID;
 public class CommentAddedListener {
     
     private final NotificationService notificationService;
-    private final BlockerServiceClient blockerServiceClient;
+    private final BlockerProjectionService blockerProjectionService;
     
-    @RabbitListener(queues = RabbitMQConfig.COMMENT_ADDED_QUEUE)
+    @RabbitListener(queues = RabbitMQConfig.COMMENT_ADDED_QUEUE, containerFactory = "commentAddedContainerFactory")
     public void handleCommentAdded(CommentAddedEvent event) {
         try {
             UUID blockerId = UUID.fromString(event.getBlockerId());
@@ -28,8 +31,8 @@ public class CommentAddedListener {
             
             log.info("Received CommentAdded event for blocker: {}, comment: {}", blockerId, event.getCommentId());
             
-            // Fetch blocker details to get creator/assignee
-            BlockerServiceClient.BlockerResponse blocker = blockerServiceClient.getBlocker(blockerId, null);
+            // Creator/assignee from the local projection (blocker-service is only called on a miss)
+            BlockerProjection blocker = blockerProjectionService.findBlocker(blockerId);
             
             if (blocker == null) {
                 log.warn("Blocker {} not found, cannot create notification for comment", blockerId);
@@ -43,37 +46,42 @@ public class CommentAddedListener {
                 // For now, we need the parent comment's userId to create a notification
             }
             
+            String eventKey = "comment.added:" + event.getCommentId();
+            String message = String.format("A new comment was added to blocker '%s'", blocker.getTitle());
+            List<Notification> notifications = new ArrayList<>(2);
+            
             // Notify blocker creator about new comment (if different from comment author)
             if (blocker.getCreatedBy() != null && !blocker.getCreatedBy().equals(commentUserId)) {
-                notificationService.createNotification(
-                        blocker.getCreatedBy(),
-                        Notification.NotificationType.COMMENT_ADDED,
-                        "New Comment on Blocker",
-                        String.format("A new comment was added to blocker '%s'", blocker.getTitle()),
-                        event.getBlockerId(),
-                        "blocker"
-                );
-                log.info("Notification created for blocker creator: {}", blocker.getCreatedBy());
+                notifications.add(commentNotification(blocker.getCreatedBy(), message, eventKey, event));
             }
             
             // Notify blocker assignee about new comment (if different from comment author and creator)
             if (blocker.getAssignedTo() != null 
                     && !blocker.getAssignedTo().equals(commentUserId)
                     && !blocker.getAssignedTo().equals(blocker.getCreatedBy())) {
-                notificationService.createNotification(
-                        blocker.getAssignedTo(),
-                        Notification.NotificationType.COMMENT_ADDED,
-                        "New Comment on Blocker",
-                        String.format("A new comment was added to blocker '%s'", blocker.getTitle()),
-                        event.getBlockerId(),
-                        "blocker"
-                );
-                log.info("Notification created for blocker assignee: {}", blocker.getAssignedTo());
+                notifications.add(commentNotification(blocker.getAssignedTo(), message, eventKey, event));
             }
             
+            // One transaction for all recipients; a redelivered event skips those already notified
+            notificationService.createNotifications(notifications);
+            log.info("Created {} notifications for comment {}", notifications.size(), event.getCommentId());
+            
         } catch (Exception e) {
             log.error("Failed to process CommentAdded event: {}", event, e);
+            // Rethrow so the container retries with backoff and then dead-letters the message
+            throw e;
         }
     }
+    
+    private Notification commentNotification(UUID userId, String message, String eventKey, CommentAddedEvent event) {
+        return Notification.builder()
+                .userId(userId)
+                .type(Notification.NotificationType.COMMENT_ADDED)
+                .title("New Comment on Blocker")
+                .message(message)
+                .relatedEntityId(event.getBlockerId())
+                .relatedEntityType("blocker")
+                .eventKey(eventKey)
+                .build();
+    }
 }
-
@@ -9,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -18,7 +19,7 @@ public class SolutionAcceptedListener {
     
     private final NotificationService notificationService;
     
-    @RabbitListener(queues = RabbitMQConfig.SOLUTION_ACCEPTED_QUEUE)
+    @RabbitListener(queues = RabbitMQConfig.SOLUTION_ACCEPTED_QUEUE, containerFactory = "solutionAcceptedContainerFactory")
     public void handleSolutionAccepted(SolutionAcceptedEvent event) {
         try {
             UUID blockerId = UUID.fromString(event.getBlockerId());
@@ -29,18 +30,22 @@ public class SolutionAcceptedListener {
             
             // Notify the solution author that their solution was accepted
             if (!solutionUserId.equals(acceptedBy)) {
-                notificationService.createNotification(
-                        solutionUserId,
-                        Notification.NotificationType.SOLUTION_ACCEPTED,
-                        "Solution Accepted!",
-                        String.format("Your solution for blocker has been accepted as the best solution"),
-                        event.getBlockerId(),
-                        "blocker"
-                );
+                // Keyed by acceptance, so a redelivered event is skipped but a later re-acceptance still notifies
+                notificationService.createNotifications(List.of(Notification.builder()
+                        .userId(solutionUserId)
+                        .type(Notification.NotificationType.SOLUTION_ACCEPTED)
+                        .title("Solution Accepted!")
+                        .message("Your solution for blocker has been accepted as the best solution")
+                        .relatedEntityId(event.getBlockerId())
+                        .relatedEntityType("blocker")
+                        .eventKey("solution.accepted:" + event.getSolutionId() + ":" + event.getAcceptedAt())
+                        .build()));
             }
             
         } catch (Exception e) {
             log.error("Failed to process SolutionAccepted event: {}", event, e);
+            // Rethrow so the container retries with backoff and then dead-letters the message
+            throw e;
         }
     }
 }
@@ -1,15 +1,18 @@
 package com.devblocker.notification.listener;
 
-import com.devblocker.notification.client.BlockerServiceClient;
 import com.devblocker.notification.config.RabbitMQConfig;
 import com.devblocker.notification.listener.event.SolutionAddedEvent;
+import com.devblocker.notification.model.BlockerProjection;
 import com.devblocker.notification.model.Notification;
 import com.devblocker.notification.service.NotificationService;
+import com.devblocker.notification.service.projection.BlockerProjectionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -18,9 +21,9 @@ import java.util.UUID;
 public class SolutionAddedListener {
     
     private final NotificationService notificationService;
-    private final BlockerServiceClient blockerServiceClient;
+    private final BlockerProjectionService blockerProjectionService;
     
-    @RabbitListener(queues = RabbitMQConfig.SOLUTION_ADDED_QUEUE)
+    @RabbitListener(queues = RabbitMQConfig.SOLUTION_ADDED_QUEUE, containerFactory = "solutionAddedContainerFactory")
     public void handleSolutionAdded(SolutionAddedEvent event) {
         try {
             UUID blockerId = UUID.fromString(event.getBlockerId());
@@ -28,45 +31,50 @@ public class SolutionAddedListener {
             
             log.info("Received SolutionAdded event for blocker: {}, solution: {}", blockerId, event.getSolutionId());
             
-            // Fetch blocker details to get creator/assignee
-            BlockerServiceClient.BlockerResponse blocker = blockerServiceClient.getBlocker(blockerId, null);
+            // Creator/assignee from the local projection (blocker-service is only called on a miss)
+            BlockerProjection blocker = blockerProjectionService.findBlocker(blockerId);
             
             if (blocker == null) {
                 log.warn("Blocker {} not found, cannot create notification for solution", blockerId);
                 return;
             }
             
+            String eventKey = "solution.added:" + event.getSolutionId();
+            String message = String.format("A new solution was added for blocker '%s'", blocker.getTitle());
+            List<Notification> notifications = new ArrayList<>(2);
+            
             // Notify blocker creator about new solution (if different from solution author)
             if (blocker.getCreatedBy() != null && !blocker.getCreatedBy().equals(solutionUserId)) {
-                notificationService.createNotification(
-                        blocker.getCreatedBy(),
-                        Notification.NotificationType.SOLUTION_ADDED,
-                        "New Solution for Blocker",
-                        String.format("A new solution was added for blocker '%s'", blocker.getTitle()),
-                        event.getBlockerId(),
-                        "blocker"
-                );
-                log.info("Notification created for blocker creator: {}", blocker.getCreatedBy());
+                notifications.add(solutionNotification(blocker.getCreatedBy(), message, eventKey, event));
             }
             
             // Notify blocker assignee about new solution (if different from solution author and creator)
             if (blocker.getAssignedTo() != null 
                     && !blocker.getAssignedTo().equals(solutionUserId)
                     && !blocker.getAssignedTo().equals(blocker.getCreatedBy())) {
-                notificationService.createNotification(
-                        blocker.getAssignedTo(),
-                        Notification.NotificationType.SOLUTION_ADDED,
-                        "New Solution for Blocker",
-                        String.format("A new solution was added for blocker '%s'", blocker.getTitle()),
-                        event.getBlockerId(),
-                        "blocker"
-                );
-                log.info("Notification created for blocker assignee: {}", blocker.getAssignedTo());
+                notifications.add(solutionNotification(blocker.getAssignedTo(), message, eventKey, event));
             }
             
+            // One transaction for all recipients; a redelivered event skips those already notified
+            notificationService.createNotifications(notifications);
+            log.info("Created {} notifications for solution {}", notifications.size(), event.getSolutionId());
+            
         } catch (Exception e) {
             log.error("Failed to process SolutionAdded event: {}", event, e);
+            // Rethrow so the container retries with backoff and then dead-letters the message
+            throw e;
         }
     }
+    
+    private Notification solutionNotification(UUID userId, String message, String eventKey, SolutionAddedEvent event) {
+        return Notification.builder()
+                .userId(userId)
+                .type(Notification.NotificationType.SOLUTION_ADDED)
+                .title("New Solution for Blocker")
+                .message(message)
+                .relatedEntityId(event.getBlockerId())
+                .relatedEntityType("blocker")
+                .eventKey(eventKey)
+                .build();
+    }
 }
-
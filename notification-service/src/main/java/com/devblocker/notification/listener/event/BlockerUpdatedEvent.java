@@ -0,0 +1,16 @@
+package com.devblocker.notification.listener.event;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class BlockerUpdatedEvent {
+    private String blockerId;
+    private String title;
+    private String status;
+    private String createdBy;
+    private String assignedTo;
+    private String teamId;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,58 @@
+package com.devblocker.notification.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read notifications moved out of the hot table by the retention job
+ * Rows keep their original id and timestamps; they are immutable once archived
+ */
+@Entity
+@Table(name = "notifications_archive", indexes = {
+    @Index(name = "idx_archive_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_archive_archived_at", columnList = "archived_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedNotification {
+    
+    @Id
+    @Column(name = "notification_id", updatable = false, nullable = false)
+    private UUID notificationId;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private Notification.NotificationType type;
+    
+    @Column(name = "title", nullable = false)
+    private String title;
+    
+    @Column(name = "message", nullable = false, columnDefinition = "TEXT")
+    private String message;
+    
+    @Column(name = "related_entity_id")
+    private String relatedEntityId;
+    
+    @Column(name = "related_entity_type")
+    private String relatedEntityType;
+    
+    @Column(name = "email_sent", nullable = false)
+    private Boolean emailSent;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "archived_at", nullable = false, updatable = false)
+    private LocalDateTime archivedAt;
+}
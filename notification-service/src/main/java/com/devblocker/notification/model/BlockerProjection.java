@@ -0,0 +1,48 @@
+package com.devblocker.notification.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Local read-model of the blocker fields needed to address notifications
+ * Fed by blocker.created / blocker.updated events; blocker-service stays the source of truth
+ */
+@Entity
+@Table(name = "blocker_projections")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlockerProjection {
+    
+    @Id
+    @Column(name = "blocker_id", updatable = false, nullable = false)
+    private UUID blockerId;
+    
+    @Column(name = "title", nullable = false)
+    private String title;
+    
+    @Column(name = "created_by", nullable = false)
+    private UUID createdBy;
+    
+    @Column(name = "assigned_to")
+    private UUID assignedTo;
+    
+    @Column(name = "source_updated_at")
+    private LocalDateTime sourceUpdatedAt; // Blocker timestamp of the applied state, guards against out-of-order events
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -14,7 +14,11 @@ import java.util.UUID;
     @Index(name = "idx_user_id", columnList = "user_id"),
     @Index(name = "idx_read", columnList = "is_read"),
     @Index(name = "idx_created_at", columnList = "created_at"),
-    @Index(name = "idx_user_read", columnList = "user_id, is_read")
+    @Index(name = "idx_user_read", columnList = "user_id, is_read"),
+    @Index(name = "idx_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_read_created", columnList = "is_read, created_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_notification_event_recipient", columnNames = {"event_key", "user_id"})
 })
 @Data
 @Builder
@@ -46,6 +50,9 @@ public class Notification {
     @Column(name = "related_entity_type")
     private String relatedEntityType; // blocker, solution, comment
     
+    @Column(name = "event_key", length = 100)
+    private String eventKey; // Source event (e.g. comment.added:<commentId>); one notification per event and recipient
+    
     @Column(name = "is_read", nullable = false)
     @Builder.Default
     private Boolean read = false;
@@ -0,0 +1,48 @@
+package com.devblocker.notification.repository;
+
+import com.devblocker.notification.model.ArchivedNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedNotificationRepository extends JpaRepository<ArchivedNotification, UUID> {
+    
+    /**
+     * Copy hot notifications into the archive in one INSERT ... SELECT
+     */
+    @Modifying
+    @Query("INSERT INTO ArchivedNotification (notificationId, userId, type, title, message, " +
+           "relatedEntityId, relatedEntityType, emailSent, createdAt, archivedAt) " +
+           "SELECT n.notificationId, n.userId, n.type, n.title, n.message, " +
+           "n.relatedEntityId, n.relatedEntityType, n.emailSent, n.createdAt, local datetime " +
+           "FROM Notification n WHERE n.notificationId IN :notificationIds")
+    int copyFromNotifications(@Param("notificationIds") Collection<UUID> notificationIds);
+    
+    /**
+     * First page of a user's archived notifications, newest first
+     */
+    @Query("SELECT a FROM ArchivedNotification a WHERE a.userId = :userId " +
+           "ORDER BY a.createdAt DESC, a.notificationId DESC")
+    List<ArchivedNotification> findHistory(@Param("userId") UUID userId, Pageable pageable);
+    
+    /**
+     * Next page of a user's archived notifications after the (createdAt, notificationId) keyset position
+     */
+    @Query("SELECT a FROM ArchivedNotification a WHERE a.userId = :userId " +
+           "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.notificationId < :notificationId)) " +
+           "ORDER BY a.createdAt DESC, a.notificationId DESC")
+    List<ArchivedNotification> findHistoryAfter(
+            @Param("userId") UUID userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("notificationId") UUID notificationId,
+            Pageable pageable);
+}
@@ -0,0 +1,11 @@
+package com.devblocker.notification.repository;
+
+import com.devblocker.notification.model.BlockerProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface BlockerProjectionRepository extends JpaRepository<BlockerProjection, UUID> {
+}
@@ -4,10 +4,15 @@ import com.devblocker.notification.model.Notification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -23,11 +28,83 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
      */
     Page<Notification> findByUserIdAndReadFalseOrderByCreatedAtDesc(UUID userId, Pageable pageable);
     
+    /**
+     * Notifications for a user created at or after a timestamp, oldest first (SSE replay)
+     */
+    List<Notification> findByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+            UUID userId, LocalDateTime createdAt, Pageable pageable);
+    
     /**
      * Count unread notifications for a user
      */
     long countByUserIdAndReadFalse(UUID userId);
     
+    /**
+     * Recipients that already have a notification for a source event, so a redelivered event is skipped
+     */
+    @Query("SELECT n.userId FROM Notification n WHERE n.eventKey = :eventKey AND n.userId IN :userIds")
+    List<UUID> findUserIdsByEventKeyAndUserIdIn(@Param("eventKey") String eventKey,
+                                                @Param("userIds") Collection<UUID> userIds);
+    
+    /**
+     * Unread counts for a set of users as (userId, count) rows; users without unread notifications are absent
+     */
+    @Query("SELECT n.userId, COUNT(n) FROM Notification n " +
+           "WHERE n.read = false AND n.userId IN :userIds GROUP BY n.userId")
+    List<Object[]> countUnreadByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+    
+    /**
+     * Bulk read-state updates; each is a single UPDATE driven by idx_user_read and returns the rows changed
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.userId = :userId AND n.read = false")
+    int markAllAsRead(@Param("userId") UUID userId);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true " +
+           "WHERE n.userId = :userId AND n.read = false AND n.notificationId IN :notificationIds")
+    int markAsReadByIds(@Param("userId") UUID userId, @Param("notificationIds") Collection<UUID> notificationIds);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true " +
+           "WHERE n.userId = :userId AND n.read = false AND n.createdAt <= :before")
+    int markAsReadBefore(@Param("userId") UUID userId, @Param("before") LocalDateTime before);
+    
+    /**
+     * Oldest read notifications created before the cutoff (retention candidates), served by idx_read_created
+     */
+    @Query("SELECT n.notificationId FROM Notification n " +
+           "WHERE n.read = true AND n.createdAt < :cutoff ORDER BY n.createdAt ASC")
+    List<UUID> findReadIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.notificationId IN :notificationIds AND n.read = true")
+    int deleteReadByIds(@Param("notificationIds") Collection<UUID> notificationIds);
+    
+    /**
+     * Flag notifications whose email went out; called from the email workers, outside any service transaction
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.emailSent = true WHERE n.notificationId IN :notificationIds")
+    int markEmailSent(@Param("notificationIds") Collection<UUID> notificationIds);
+    
+    /**
+     * Keyset pages over a user's hot notifications, newest first (merged with the archive for history)
+     */
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+           "ORDER BY n.createdAt DESC, n.notificationId DESC")
+    List<Notification> findHistory(@Param("userId") UUID userId, Pageable pageable);
+    
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.notificationId < :notificationId)) " +
+           "ORDER BY n.createdAt DESC, n.notificationId DESC")
+    List<Notification> findHistoryAfter(
+            @Param("userId") UUID userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("notificationId") UUID notificationId,
+            Pageable pageable);
+    
     /**
      * Find notification by ID and user ID (for security)
      */
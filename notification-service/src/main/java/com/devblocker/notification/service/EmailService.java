@@ -11,6 +11,7 @@ import org.springframework.stereotype.Service;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -53,36 +54,46 @@ public class EmailService {
     }
     
     /**
-     * Send email notification
-     * Note: In production, you would fetch user email from user-service
+     * Build one digest email covering every pending notification of a user
      */
-    public void sendNotificationEmail(Notification notification, String userEmail) {
-        if (!shouldSendEmail(notification.getType())) {
-            log.debug("Email not enabled for notification type: {}", notification.getType());
-            return;
+    public SimpleMailMessage buildDigestMessage(String userEmail, List<EmailItem> items) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(userEmail);
+        if (items.size() == 1) {
+            message.setSubject(items.get(0).title());
+            message.setText(items.get(0).message());
+        } else {
+            message.setSubject(String.format("You have %d new DevBlocker notifications", items.size()));
+            StringBuilder text = new StringBuilder();
+            for (EmailItem item : items) {
+                text.append("- ").append(item.title()).append('\n')
+                        .append("  ").append(item.message()).append("\n\n");
+            }
+            message.setText(text.toString());
         }
-        
-        if (userEmail == null || userEmail.isEmpty()) {
-            log.warn("User email not provided for notification: {}", notification.getNotificationId());
+        return message;
+    }
+    
+    /**
+     * Send a batch of messages over a single SMTP connection
+     * Throws MailSendException listing the individual messages that failed
+     */
+    public void sendBatch(List<SimpleMailMessage> messages) {
+        if (messages.isEmpty()) {
             return;
         }
+        mailSender.send(messages.toArray(new SimpleMailMessage[0]));
+        log.info("Sent {} notification emails", messages.size());
+    }
+    
+    /**
+     * A notification waiting to be emailed
+     */
+    public record EmailItem(UUID notificationId, String title, String message) {
         
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(userEmail);
-            message.setSubject(notification.getTitle());
-            message.setText(notification.getMessage());
-            
-            mailSender.send(message);
-            
-            log.info("Email notification sent to {} for notification: {}", 
-                    userEmail, notification.getNotificationId());
-        } catch (Exception e) {
-            log.error("Failed to send email notification to {} for notification: {}", 
-                    userEmail, notification.getNotificationId(), e);
-            // Don't throw - email failure shouldn't break notification creation
+        public static EmailItem of(Notification notification) {
+            return new EmailItem(notification.getNotificationId(), notification.getTitle(), notification.getMessage());
         }
     }
 }
-
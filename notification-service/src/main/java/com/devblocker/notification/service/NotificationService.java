@@ -1,17 +1,37 @@
 package com.devblocker.notification.service;
 
+import com.devblocker.notification.dto.BulkMarkReadResponse;
+import com.devblocker.notification.dto.CursorPageResponse;
 import com.devblocker.notification.dto.NotificationResponse;
 import com.devblocker.notification.dto.PageResponse;
+import com.devblocker.notification.model.ArchivedNotification;
 import com.devblocker.notification.model.Notification;
+import com.devblocker.notification.repository.ArchivedNotificationRepository;
 import com.devblocker.notification.repository.NotificationRepository;
+import com.devblocker.notification.service.email.EmailDigestService;
+import com.devblocker.notification.service.push.NotificationPushService;
+import com.devblocker.notification.service.unread.UnreadCountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -20,8 +40,26 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class NotificationService {
     
+    /**
+     * History order: newest first, ties broken by id in the byte order MySQL uses for binary(16) UUIDs,
+     * so merging hot and archived pages agrees with each table's ORDER BY
+     */
+    private static final Comparator<NotificationResponse> HISTORY_ORDER = Comparator
+            .comparing(NotificationResponse::getCreatedAt)
+            .thenComparing(NotificationResponse::getNotificationId, NotificationService::compareUuidBytes)
+            .reversed();
+    
     private final NotificationRepository notificationRepository;
-    private final EmailService emailService;
+    private final ArchivedNotificationRepository archivedNotificationRepository;
+    private final EmailDigestService emailDigestService;
+    private final UnreadCountService unreadCountService;
+    private final NotificationPushService notificationPushService;
+    
+    @Value("${notification.push.replay-limit:100}")
+    private int replayLimit;
+    
+    @Value("${notification.bulk-read.max-ids:1000}")
+    private int maxBulkReadIds;
     
     /**
      * Create a new notification
@@ -48,18 +86,76 @@ public class NotificationService {
                 .build();
         
         notification = notificationRepository.save(notification);
+        unreadCountService.adjustAfterCommit(userId, 1);
+        deliverAfterCommit(List.of(notification));
         
         log.info("Notification created: {} for user: {}", notification.getNotificationId(), userId);
         
-        // Send email if configured (async in production)
-        // For now, we'll just mark it - in production, use async email sending
-        if (emailService.shouldSendEmail(type)) {
-            // In production, fetch user email from user-service
-            // For now, we'll just log it
-            log.info("Email notification should be sent for notification: {}", notification.getNotificationId());
+        return notification;
+    }
+    
+    /**
+     * Create notifications for many recipients in one transaction
+     * Rows are inserted with JDBC batching (hibernate.jdbc.batch_size / order_inserts), so a fan-out
+     * to a large team costs a handful of round-trips instead of one transaction per member.
+     * Notifications carrying an eventKey are skipped for recipients that already have one for that event,
+     * so a redelivered or retried event never notifies anyone twice (uk_notification_event_recipient
+     * rejects the rare concurrent redelivery, which is then retried and skipped)
+     */
+    @Transactional
+    public List<Notification> createNotifications(List<Notification> notifications) {
+        List<Notification> pending = withoutAlreadyNotified(notifications);
+        if (pending.size() < notifications.size()) {
+            log.info("Skipped {} notifications already created by an earlier delivery of the same event",
+                    notifications.size() - pending.size());
+        }
+        if (pending.isEmpty()) {
+            return pending;
         }
         
-        return notification;
+        for (Notification notification : pending) {
+            if (notification.getRead() == null) {
+                notification.setRead(false);
+            }
+            if (notification.getEmailSent() == null) {
+                notification.setEmailSent(false);
+            }
+        }
+        
+        List<Notification> saved = notificationRepository.saveAll(pending);
+        unreadCountService.adjustAfterCommit(saved.stream()
+                .collect(Collectors.groupingBy(Notification::getUserId, Collectors.counting())));
+        deliverAfterCommit(saved);
+        
+        log.info("Created {} notifications for {} {}", saved.size(),
+                saved.get(0).getRelatedEntityType(), saved.get(0).getRelatedEntityId());
+        
+        return saved;
+    }
+    
+    private List<Notification> withoutAlreadyNotified(List<Notification> notifications) {
+        Map<String, List<UUID>> recipientsByEvent = notifications.stream()
+                .filter(notification -> notification.getEventKey() != null)
+                .collect(Collectors.groupingBy(Notification::getEventKey,
+                        Collectors.mapping(Notification::getUserId, Collectors.toList())));
+        if (recipientsByEvent.isEmpty()) {
+            return notifications;
+        }
+        
+        Map<String, Set<UUID>> notified = new HashMap<>();
+        recipientsByEvent.forEach((eventKey, userIds) -> {
+            List<UUID> existing = notificationRepository.findUserIdsByEventKeyAndUserIdIn(eventKey, userIds);
+            if (!existing.isEmpty()) {
+                notified.put(eventKey, new HashSet<>(existing));
+            }
+        });
+        if (notified.isEmpty()) {
+            return notifications;
+        }
+        return notifications.stream()
+                .filter(notification -> notification.getEventKey() == null
+                        || !notified.getOrDefault(notification.getEventKey(), Set.of()).contains(notification.getUserId()))
+                .collect(Collectors.toList());
     }
     
     /**
@@ -95,6 +191,51 @@ public class NotificationService {
                 .build();
     }
     
+    /**
+     * Page through a user's full history (hot table and archive) with a keyset cursor
+     * Both tables are read with the same keyset predicate and merged, so archiving never shifts pages
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<NotificationResponse> getNotificationHistory(UUID userId, String cursor, int size) {
+        NotificationCursor after = NotificationCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        
+        List<Notification> hot = after == null
+                ? notificationRepository.findHistory(userId, limit)
+                : notificationRepository.findHistoryAfter(userId, after.createdAt(), after.notificationId(), limit);
+        List<ArchivedNotification> archived = after == null
+                ? archivedNotificationRepository.findHistory(userId, limit)
+                : archivedNotificationRepository.findHistoryAfter(
+                        userId, after.createdAt(), after.notificationId(), limit);
+        
+        List<NotificationResponse> merged = new ArrayList<>(hot.size() + archived.size());
+        hot.forEach(notification -> merged.add(mapToResponse(notification)));
+        archived.forEach(notification -> merged.add(mapToResponse(notification)));
+        merged.sort(HISTORY_ORDER);
+        
+        boolean hasNext = merged.size() > size;
+        List<NotificationResponse> content = hasNext ? merged.subList(0, size) : merged;
+        String nextCursor = null;
+        if (hasNext) {
+            NotificationResponse last = content.get(content.size() - 1);
+            nextCursor = new NotificationCursor(last.getCreatedAt(), last.getNotificationId()).encode();
+        }
+        
+        return CursorPageResponse.<NotificationResponse>builder()
+                .content(new ArrayList<>(content))
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
+    /**
+     * Stream notifications to a connected user, replaying anything created after lastEventId first
+     */
+    public Flux<ServerSentEvent<NotificationResponse>> streamNotifications(UUID userId, String lastEventId) {
+        return notificationPushService.stream(userId, () -> getNotificationsAfter(userId, lastEventId));
+    }
+    
     /**
      * Mark notification as read
      */
@@ -110,6 +251,7 @@ public class NotificationService {
         if (!notification.getRead()) {
             notification.setRead(true);
             notification = notificationRepository.save(notification);
+            unreadCountService.adjustAfterCommit(userId, -1);
             log.info("Notification {} marked as read by user {}", notificationId, userId);
         }
         
@@ -117,10 +259,126 @@ public class NotificationService {
     }
     
     /**
-     * Get unread count for a user
+     * Mark every unread notification of a user as read
+     */
+    @Transactional
+    public BulkMarkReadResponse markAllAsRead(UUID userId) {
+        int updated = notificationRepository.markAllAsRead(userId);
+        return bulkMarkReadResult(userId, updated);
+    }
+    
+    /**
+     * Mark the given notifications of a user as read; ids belonging to other users are ignored
+     */
+    @Transactional
+    public BulkMarkReadResponse markAsReadByIds(UUID userId, List<UUID> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            throw new IllegalArgumentException("notificationIds must not be empty");
+        }
+        if (notificationIds.size() > maxBulkReadIds) {
+            throw new IllegalArgumentException("At most " + maxBulkReadIds + " notificationIds per request");
+        }
+        int updated = notificationRepository.markAsReadByIds(userId, notificationIds);
+        return bulkMarkReadResult(userId, updated);
+    }
+    
+    /**
+     * Mark all notifications of a user created at or before a timestamp as read
+     */
+    @Transactional
+    public BulkMarkReadResponse markAsReadBefore(UUID userId, LocalDateTime before) {
+        if (before == null) {
+            throw new IllegalArgumentException("before must not be null");
+        }
+        int updated = notificationRepository.markAsReadBefore(userId, before);
+        return bulkMarkReadResult(userId, updated);
+    }
+    
+    /**
+     * Get unread count for a user (served from the unread counter cache)
      */
     public long getUnreadCount(UUID userId) {
-        return notificationRepository.countByUserIdAndReadFalse(userId);
+        return unreadCountService.getUnreadCount(userId);
+    }
+    
+    /**
+     * Notifications created after the one with the given id, oldest first, capped at the replay limit
+     * Unknown or malformed ids replay nothing; the client then relies on a regular list fetch
+     */
+    private List<NotificationResponse> getNotificationsAfter(UUID userId, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        UUID lastNotificationId;
+        try {
+            lastNotificationId = UUID.fromString(lastEventId.trim());
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+        Notification last = notificationRepository.findByNotificationIdAndUserId(lastNotificationId, userId);
+        if (last == null) {
+            return List.of();
+        }
+        return notificationRepository
+                .findByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+                        userId, last.getCreatedAt(), PageRequest.of(0, replayLimit))
+                .stream()
+                .filter(notification -> !notification.getNotificationId().equals(lastNotificationId))
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Push to connected clients and queue digest emails once the rows are committed
+     */
+    private void deliverAfterCommit(List<Notification> notifications) {
+        List<NotificationResponse> responses = notifications.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notificationPushService.broadcast(responses);
+            emailDigestService.enqueue(notifications);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        notificationPushService.broadcast(responses);
+                        emailDigestService.enqueue(notifications);
+                    }
+                }
+        );
+    }
+    
+    private BulkMarkReadResponse bulkMarkReadResult(UUID userId, int updated) {
+        // Adjust by the rows actually changed, so notifications committed concurrently stay counted
+        unreadCountService.adjustAfterCommit(userId, -updated);
+        log.info("Marked {} notifications as read for user {}", updated, userId);
+        return BulkMarkReadResponse.builder()
+                .updated(updated)
+                .unreadCount(notificationRepository.countByUserIdAndReadFalse(userId))
+                .build();
+    }
+    
+    private NotificationResponse mapToResponse(ArchivedNotification notification) {
+        return NotificationResponse.builder()
+                .notificationId(notification.getNotificationId())
+                .userId(notification.getUserId())
+                .type(notification.getType())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .relatedEntityId(notification.getRelatedEntityId())
+                .relatedEntityType(notification.getRelatedEntityType())
+                .read(true)
+                .createdAt(notification.getCreatedAt())
+                .build();
+    }
+    
+    private static int compareUuidBytes(UUID left, UUID right) {
+        int result = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return result != 0 ? result
+                : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
     }
     
     private NotificationResponse mapToResponse(Notification notification) {
@@ -0,0 +1,238 @@
+package com.devblocker.notification.service.email;
+
+import com.devblocker.notification.client.UserServiceClient;
+import com.devblocker.notification.model.Notification;
+import com.devblocker.notification.repository.NotificationRepository;
+import com.devblocker.notification.service.EmailService;
+import com.devblocker.notification.service.EmailService.EmailItem;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous, digest-batched email delivery
+ * Committed notifications are queued per user; once a user's digest window elapses (or the digest
+ * fills up) the flusher hands batches of digests to a small worker pool, which sends each batch over
+ * one SMTP connection and marks the notifications emailSent. Callers only ever touch the in-memory queue.
+ * The queue is not durable: digests pending at shutdown are not sent (emailSent stays false).
+ */
+@Slf4j
+@Service
+public class EmailDigestService {
+    
+    private final EmailService emailService;
+    private final UserServiceClient userServiceClient;
+    private final NotificationRepository notificationRepository;
+    private final ThreadPoolTaskExecutor emailExecutor;
+    private final Map<UUID, PendingDigest> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    
+    @Value("${notification.email.digest-window-ms:60000}")
+    private long digestWindowMs;
+    
+    @Value("${notification.email.max-per-digest:20}")
+    private int maxPerDigest;
+    
+    @Value("${notification.email.digests-per-batch:50}")
+    private int digestsPerBatch;
+    
+    @Value("${notification.email.max-pending:10000}")
+    private int maxPending;
+    
+    @Value("${notification.email.max-attempts:3}")
+    private int maxAttempts;
+    
+    public EmailDigestService(EmailService emailService,
+                              UserServiceClient userServiceClient,
+                              NotificationRepository notificationRepository,
+                              @Value("${notification.email.workers:4}") int workers,
+                              @Value("${notification.email.worker-queue-capacity:100}") int workerQueueCapacity) {
+        this.emailService = emailService;
+        this.userServiceClient = userServiceClient;
+        this.notificationRepository = notificationRepository;
+        this.emailExecutor = new ThreadPoolTaskExecutor();
+        this.emailExecutor.setCorePoolSize(workers);
+        this.emailExecutor.setMaxPoolSize(workers);
+        this.emailExecutor.setQueueCapacity(workerQueueCapacity);
+        this.emailExecutor.setThreadNamePrefix("email-");
+        this.emailExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        this.emailExecutor.setAwaitTerminationSeconds(30);
+        this.emailExecutor.initialize();
+    }
+    
+    /**
+     * Queue committed notifications whose type is configured for email
+     */
+    public void enqueue(List<Notification> notifications) {
+        long now = System.currentTimeMillis();
+        for (Notification notification : notifications) {
+            if (!emailService.shouldSendEmail(notification.getType())) {
+                continue;
+            }
+            if (pendingCount.get() >= maxPending) {
+                log.warn("Email queue full ({} pending), dropping email for notification {}",
+                        maxPending, notification.getNotificationId());
+                continue;
+            }
+            pending.compute(notification.getUserId(), (userId, digest) -> {
+                PendingDigest target = digest != null ? digest : new PendingDigest(userId, now, 0);
+                target.items.add(EmailItem.of(notification));
+                return target;
+            });
+            pendingCount.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Hand digests whose window has elapsed (or that are full) to the worker pool
+     */
+    @Scheduled(fixedDelayString = "${notification.email.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<PendingDigest> due = new ArrayList<>();
+        for (UUID userId : pending.keySet()) {
+            pending.computeIfPresent(userId, (id, digest) -> {
+                if (now - digest.queuedAt >= digestWindowMs || digest.items.size() >= maxPerDigest) {
+                    due.add(digest);
+                    return null;
+                }
+                return digest;
+            });
+        }
+        due.forEach(digest -> pendingCount.addAndGet(-digest.items.size()));
+        
+        for (int from = 0; from < due.size(); from += digestsPerBatch) {
+            List<PendingDigest> batch = List.copyOf(due.subList(from, Math.min(from + digestsPerBatch, due.size())));
+            try {
+                emailExecutor.execute(() -> deliver(batch));
+            } catch (TaskRejectedException e) {
+                log.warn("Email workers saturated, re-queueing {} digests", batch.size());
+                batch.forEach(digest -> requeue(digest, false));
+            }
+        }
+    }
+    
+    /**
+     * Send one batch of digests; a failure only re-queues the digests it affects
+     * Digests whose address lookup fails are re-queued before the send; if the send fails, only the
+     * digests the mail server rejected are (all of them when it cannot say which)
+     */
+    private void deliver(List<PendingDigest> batch) {
+        Map<SimpleMailMessage, PendingDigest> messages = new IdentityHashMap<>();
+        for (PendingDigest digest : batch) {
+            try {
+                String email = userServiceClient.getUserEmail(digest.userId, null);
+                if (email == null || email.isEmpty()) {
+                    log.debug("No email address for user {}, skipping {} notifications", digest.userId, digest.items.size());
+                    continue;
+                }
+                messages.put(emailService.buildDigestMessage(email, digest.items), digest);
+            } catch (RuntimeException e) {
+                log.warn("Failed to prepare email digest for user {}: {}", digest.userId, e.getMessage());
+                requeue(digest, true);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        
+        Set<PendingDigest> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            emailService.sendBatch(new ArrayList<>(messages.keySet()));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                failed.addAll(messages.values());
+            } else {
+                e.getFailedMessages().keySet().forEach(message -> {
+                    PendingDigest digest = messages.get(message);
+                    if (digest != null) {
+                        failed.add(digest);
+                    }
+                });
+            }
+            log.warn("Failed to send {} of {} notification emails: {}", failed.size(), messages.size(), e.getMessage());
+        } catch (MailException e) {
+            failed.addAll(messages.values());
+            log.warn("Failed to send {} notification emails: {}", messages.size(), e.getMessage());
+        } catch (RuntimeException e) {
+            failed.addAll(messages.values());
+            log.error("Unexpected error sending {} notification emails", messages.size(), e);
+        }
+        
+        List<UUID> sentIds = new ArrayList<>();
+        for (PendingDigest digest : messages.values()) {
+            if (failed.contains(digest)) {
+                requeue(digest, true);
+            } else {
+                digest.items.forEach(item -> sentIds.add(item.notificationId()));
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            // The emails are out; re-queueing here would send them twice
+            try {
+                notificationRepository.markEmailSent(sentIds);
+            } catch (RuntimeException e) {
+                log.error("Sent {} notification emails but failed to mark them emailSent", sentIds.size(), e);
+            }
+        }
+    }
+    
+    private void requeue(PendingDigest digest, boolean countAttempt) {
+        int attempts = countAttempt ? digest.attempts + 1 : digest.attempts;
+        if (attempts >= maxAttempts) {
+            log.error("Giving up on email digest for user {} after {} attempts ({} notifications)",
+                    digest.userId, attempts, digest.items.size());
+            return;
+        }
+        long now = System.currentTimeMillis();
+        pending.compute(digest.userId, (userId, existing) -> {
+            PendingDigest target = existing != null ? existing : new PendingDigest(userId, now, attempts);
+            target.items.addAll(digest.items);
+            return target;
+        });
+        pendingCount.addAndGet(digest.items.size());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        emailExecutor.shutdown();
+    }
+    
+    /**
+     * Notifications of one user waiting for the same digest email
+     * Items are only mutated inside ConcurrentHashMap.compute for the owning user
+     */
+    private static final class PendingDigest {
+        
+        private final UUID userId;
+        private final long queuedAt;
+        private final int attempts;
+        private final List<EmailItem> items = new ArrayList<>();
+        
+        private PendingDigest(UUID userId, long queuedAt, int attempts) {
+            this.userId = userId;
+            this.queuedAt = queuedAt;
+            this.attempts = attempts;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.devblocker.notification.service.projection;
+
+import com.devblocker.notification.client.BlockerServiceClient;
+import com.devblocker.notification.model.BlockerProjection;
+import com.devblocker.notification.repository.BlockerProjectionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Resolves blocker recipients from the local projection
+ * blocker-service is only called on a miss (e.g. blockers created before the projection existed),
+ * and the fetched state is stored so the next event for that blocker stays local
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlockerProjectionService {
+    
+    private final BlockerProjectionRepository blockerProjectionRepository;
+    private final BlockerServiceClient blockerServiceClient;
+    
+    /**
+     * Upsert the projection from a blocker event
+     * Events older than the stored state are ignored, so redeliveries and reordering are harmless
+     */
+    @Transactional
+    public void apply(UUID blockerId, String title, UUID createdBy, UUID assignedTo, LocalDateTime sourceUpdatedAt) {
+        BlockerProjection projection = blockerProjectionRepository.findById(blockerId).orElse(null);
+        if (projection != null && isStale(projection, sourceUpdatedAt)) {
+            log.debug("Ignoring stale blocker state for {} ({} < {})",
+                    blockerId, sourceUpdatedAt, projection.getSourceUpdatedAt());
+            return;
+        }
+        if (projection == null) {
+            projection = BlockerProjection.builder().blockerId(blockerId).build();
+        }
+        projection.setTitle(title);
+        projection.setCreatedBy(createdBy);
+        projection.setAssignedTo(assignedTo);
+        projection.setSourceUpdatedAt(sourceUpdatedAt);
+        blockerProjectionRepository.save(projection);
+    }
+    
+    /**
+     * Get blocker recipients, falling back to blocker-service on a projection miss
+     * 
+     * @return Projection or null if the blocker does not exist
+     */
+    public BlockerProjection findBlocker(UUID blockerId) {
+        BlockerProjection projection = blockerProjectionRepository.findById(blockerId).orElse(null);
+        if (projection != null) {
+            return projection;
+        }
+        
+        log.debug("Blocker projection miss for {}, fetching from blocker-service", blockerId);
+        BlockerServiceClient.BlockerResponse blocker = blockerServiceClient.getBlocker(blockerId, null);
+        if (blocker == null || blocker.getCreatedBy() == null) {
+            return null;
+        }
+        
+        projection = BlockerProjection.builder()
+                .blockerId(blockerId)
+                .title(blocker.getTitle())
+                .createdBy(blocker.getCreatedBy())
+                .assignedTo(blocker.getAssignedTo())
+                .sourceUpdatedAt(blocker.getUpdatedAt())
+                .build();
+        try {
+            blockerProjectionRepository.save(projection);
+        } catch (DataIntegrityViolationException e) {
+            // A blocker event inserted the row concurrently; its state wins
+            log.debug("Blocker projection for {} was inserted concurrently", blockerId);
+        }
+        return projection;
+    }
+    
+    private static boolean isStale(BlockerProjection projection, LocalDateTime sourceUpdatedAt) {
+        return sourceUpdatedAt != null
+                && projection.getSourceUpdatedAt() != null
+                && sourceUpdatedAt.isBefore(projection.getSourceUpdatedAt());
+    }
+}
@@ -0,0 +1,190 @@
+package com.devblocker.notification.service.push;
+
+import com.devblocker.notification.config.RabbitMQConfig;
+import com.devblocker.notification.dto.NotificationPushMessage;
+import com.devblocker.notification.dto.NotificationResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes newly committed notifications to connected users over Server-Sent Events
+ * Each connection owns a small bounded buffer; a client that falls behind is disconnected and
+ * catches up through Last-Event-ID replay on reconnect. Heartbeats share one timer across all
+ * connections, so idle streams cost no threads and almost no memory.
+ * 
+ * Connections live in a per-instance registry, so committed notifications are broadcast through the
+ * notification.push fanout exchange and every instance delivers them to the streams it holds.
+ * Each stream is closed after max-stream-minutes; the client reconnects and resumes with Last-Event-ID.
+ */
+@Slf4j
+@Service
+public class NotificationPushService {
+    
+    private final Map<UUID, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final RabbitTemplate rabbitTemplate;
+    private final Flux<Long> heartbeatTicks;
+    private final int connectionBufferSize;
+    private final Duration maxStreamDuration;
+    
+    public NotificationPushService(
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${notification.push.heartbeat-interval-seconds:15}") long heartbeatIntervalSeconds,
+            @Value("${notification.push.connection-buffer-size:64}") int connectionBufferSize,
+            @Value("${notification.push.max-stream-minutes:30}") long maxStreamMinutes) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.connectionBufferSize = connectionBufferSize;
+        this.maxStreamDuration = Duration.ofMinutes(maxStreamMinutes);
+        this.heartbeatTicks = Flux.interval(Duration.ofSeconds(heartbeatIntervalSeconds))
+                .onBackpressureDrop()
+                .share();
+        Gauge.builder("notification.push.connections", connectionCount, AtomicInteger::get)
+                .description("Open notification SSE connections")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Open a stream for a user
+     * The live connection is registered before the replay is loaded, so notifications committed
+     * while the replay query runs are delivered exactly once
+     *
+     * @param replay notifications the client missed since its Last-Event-ID, oldest first
+     */
+    public Flux<ServerSentEvent<NotificationResponse>> stream(UUID userId,
+                                                             Supplier<List<NotificationResponse>> replay) {
+        return Flux.defer(() -> {
+            Connection connection = register(userId);
+            
+            Flux<NotificationResponse> events = Mono.fromCallable(replay::get)
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapMany(missed -> {
+                        Set<UUID> replayed = missed.stream()
+                                .map(NotificationResponse::getNotificationId)
+                                .collect(Collectors.toSet());
+                        return Flux.fromIterable(missed)
+                                .concatWith(connection.sink.asFlux()
+                                        .filter(notification -> !replayed.contains(notification.getNotificationId())));
+                    });
+            
+            Flux<ServerSentEvent<NotificationResponse>> heartbeats = heartbeatTicks
+                    .onBackpressureDrop()
+                    .map(tick -> ServerSentEvent.<NotificationResponse>builder().comment("heartbeat").build());
+            
+            return events.map(this::toEvent)
+                    .mergeWith(heartbeats)
+                    .takeUntilOther(connection.closed.asMono())
+                    .take(maxStreamDuration)
+                    .doFinally(signal -> unregister(userId, connection));
+        });
+    }
+    
+    /**
+     * Deliver committed notifications to their recipients' open streams on every instance
+     * If the broker is unreachable, only streams on this instance get them; the others catch up on reconnect
+     */
+    public void broadcast(List<NotificationResponse> notifications) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.NOTIFICATION_PUSH_EXCHANGE, "",
+                    new NotificationPushMessage(notifications));
+        } catch (AmqpException e) {
+            log.warn("Failed to broadcast {} notifications, delivering to local streams only: {}",
+                    notifications.size(), e.getMessage());
+            publish(notifications);
+        }
+    }
+    
+    @RabbitListener(queues = "#{notificationPushQueue.name}")
+    public void onBroadcast(NotificationPushMessage message) {
+        publish(message.getNotifications());
+    }
+    
+    /**
+     * Deliver committed notifications to any open streams of their recipients on this instance
+     */
+    public void publish(List<NotificationResponse> notifications) {
+        for (NotificationResponse notification : notifications) {
+            Set<Connection> userConnections = connections.get(notification.getUserId());
+            if (userConnections == null) {
+                continue;
+            }
+            for (Connection connection : userConnections) {
+                if (!connection.push(notification)) {
+                    log.debug("Closed lagging notification stream for user {}", notification.getUserId());
+                }
+            }
+        }
+    }
+    
+    private ServerSentEvent<NotificationResponse> toEvent(NotificationResponse notification) {
+        return ServerSentEvent.<NotificationResponse>builder()
+                .id(notification.getNotificationId().toString())
+                .event("notification")
+                .data(notification)
+                .build();
+    }
+    
+    private Connection register(UUID userId) {
+        Connection connection = new Connection(connectionBufferSize);
+        connections.compute(userId, (id, existing) -> {
+            Set<Connection> userConnections = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            userConnections.add(connection);
+            return userConnections;
+        });
+        connectionCount.incrementAndGet();
+        return connection;
+    }
+    
+    private void unregister(UUID userId, Connection connection) {
+        connections.computeIfPresent(userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+        connectionCount.decrementAndGet();
+    }
+    
+    private static final class Connection {
+        
+        private final Sinks.Many<NotificationResponse> sink;
+        private final Sinks.One<Boolean> closed = Sinks.one();
+        
+        private Connection(int bufferSize) {
+            this.sink = Sinks.many().unicast()
+                    .onBackpressureBuffer(Queues.<NotificationResponse>get(bufferSize).get());
+        }
+        
+        /**
+         * Emissions are serialized per connection; returns false if the buffer overflowed and the stream was closed
+         */
+        private synchronized boolean push(NotificationResponse notification) {
+            Sinks.EmitResult result = sink.tryEmitNext(notification);
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                closed.tryEmitValue(Boolean.TRUE);
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.devblocker.notification.service.retention;
+
+import com.devblocker.notification.repository.ArchivedNotificationRepository;
+import com.devblocker.notification.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves read notifications older than the retention window from the hot table into notifications_archive
+ * Work is done in small batches, each in its own short transaction, with a pause between batches so
+ * row locks and I/O never stall the live insert path
+ * The paced loop runs on its own single-thread executor; the scheduled trigger only hands it off, so the
+ * shared scheduler thread (email flush, unread reconcile) is never held for the length of a run
+ */
+@Slf4j
+@Service
+public class NotificationRetentionService {
+    
+    private final NotificationRepository notificationRepository;
+    private final ArchivedNotificationRepository archivedNotificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor archiveExecutor;
+    
+    @Value("${notification.retention.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${notification.retention.read-days:90}")
+    private int readRetentionDays;
+    
+    @Value("${notification.retention.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${notification.retention.batch-pause-ms:200}")
+    private long batchPauseMs;
+    
+    @Value("${notification.retention.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+    
+    public NotificationRetentionService(NotificationRepository notificationRepository,
+                                        ArchivedNotificationRepository archivedNotificationRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.archivedNotificationRepository = archivedNotificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveExecutor = new ThreadPoolTaskExecutor();
+        this.archiveExecutor.setCorePoolSize(1);
+        this.archiveExecutor.setMaxPoolSize(1);
+        this.archiveExecutor.setQueueCapacity(0);
+        this.archiveExecutor.setThreadNamePrefix("retention-");
+        this.archiveExecutor.initialize();
+    }
+    
+    /**
+     * Start an archive run on the retention thread; a trigger that fires while a run is still going is skipped
+     */
+    @Scheduled(cron = "${notification.retention.cron:0 30 3 * * *}")
+    public void scheduleArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archiveExecutor.execute(this::archiveReadNotifications);
+        } catch (TaskRejectedException e) {
+            log.info("Previous notification archive run still in progress, skipping this trigger");
+        }
+    }
+    
+    /**
+     * Archive read notifications past the retention window in paced batches
+     */
+    void archiveReadNotifications() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(readRetentionDays);
+        int archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int moved = archiveBatch(cutoff);
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(batchPauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} read notifications created before {}", archived, cutoff);
+        }
+    }
+    
+    /**
+     * Copy one batch into the archive and delete it from the hot table atomically
+     *
+     * @return number of notifications moved
+     */
+    int archiveBatch(LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<UUID> ids = notificationRepository.findReadIdsCreatedBefore(cutoff, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            archivedNotificationRepository.copyFromNotifications(ids);
+            return notificationRepository.deleteReadByIds(ids);
+        });
+        return moved != null ? moved : 0;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        archiveExecutor.shutdown();
+    }
+}
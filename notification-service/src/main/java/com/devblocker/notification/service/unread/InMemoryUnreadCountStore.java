@@ -0,0 +1,47 @@
+package com.devblocker.notification.service.unread;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-local unread counter for tests and single-instance runs without Redis
+ * Enabled with notification.unread-cache.store=memory
+ */
+@Component
+@ConditionalOnProperty(name = "notification.unread-cache.store", havingValue = "memory")
+public class InMemoryUnreadCountStore implements UnreadCountStore {
+    
+    private final Map<UUID, Long> counts = new ConcurrentHashMap<>();
+    
+    @Override
+    public Long get(UUID userId) {
+        return counts.get(userId);
+    }
+    
+    @Override
+    public Long putIfAbsent(UUID userId, long count) {
+        long value = Math.max(0, count);
+        Long existing = counts.putIfAbsent(userId, value);
+        return existing != null ? existing : value;
+    }
+    
+    @Override
+    public boolean compareAndSet(UUID userId, long expected, long count) {
+        return counts.replace(userId, expected, Math.max(0, count));
+    }
+    
+    @Override
+    public void add(UUID userId, long delta) {
+        counts.computeIfPresent(userId, (id, count) -> Math.max(0, count + delta));
+    }
+    
+    @Override
+    public Set<UUID> cachedUserIds() {
+        return Set.copyOf(counts.keySet());
+    }
+}
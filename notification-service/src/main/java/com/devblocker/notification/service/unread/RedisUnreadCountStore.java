@@ -0,0 +1,131 @@
+package com.devblocker.notification.service.unread;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Redis-backed unread counter, one string key per user with a TTL
+ * Adjustments only touch existing keys (Lua script) so a missing key is never mistaken for zero;
+ * database counts are written with SET NX or compare-and-set so they never overwrite a concurrent adjustment.
+ * Redis errors are logged and treated as cache misses
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.unread-cache.store", havingValue = "redis", matchIfMissing = true)
+public class RedisUnreadCountStore implements UnreadCountStore {
+    
+    private static final String KEY_PREFIX = "notification:unread:";
+    
+    private static final RedisScript<Long> ADD_IF_PRESENT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end "
+                    + "local count = redis.call('INCRBY', KEYS[1], ARGV[1]) "
+                    + "if count < 0 then redis.call('SET', KEYS[1], 0, 'KEEPTTL') count = 0 end "
+                    + "return count",
+            Long.class);
+    
+    private static final RedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end "
+                    + "redis.call('SET', KEYS[1], ARGV[2], 'KEEPTTL') "
+                    + "return 1",
+            Long.class);
+    
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    
+    public RedisUnreadCountStore(StringRedisTemplate redisTemplate,
+                                 @Value("${notification.unread-cache.ttl-seconds:3600}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+    
+    @Override
+    public Long get(UUID userId) {
+        try {
+            String value = redisTemplate.opsForValue().get(key(userId));
+            return value != null ? Long.valueOf(value) : null;
+        } catch (DataAccessException | NumberFormatException e) {
+            log.warn("Failed to read unread count for user {} from Redis: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+    
+    @Override
+    public Long putIfAbsent(UUID userId, long count) {
+        long value = Math.max(0, count);
+        try {
+            Boolean stored = redisTemplate.opsForValue().setIfAbsent(key(userId), Long.toString(value), ttl);
+            return Boolean.TRUE.equals(stored) ? Long.valueOf(value) : get(userId);
+        } catch (DataAccessException e) {
+            log.warn("Failed to store unread count for user {} in Redis: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+    
+    @Override
+    public boolean compareAndSet(UUID userId, long expected, long count) {
+        try {
+            Long replaced = redisTemplate.execute(COMPARE_AND_SET, List.of(key(userId)),
+                    Long.toString(expected), Long.toString(Math.max(0, count)));
+            return replaced != null && replaced == 1L;
+        } catch (DataAccessException e) {
+            log.warn("Failed to reconcile unread count for user {} in Redis: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public void add(UUID userId, long delta) {
+        try {
+            redisTemplate.execute(ADD_IF_PRESENT, List.of(key(userId)), Long.toString(delta));
+        } catch (DataAccessException e) {
+            log.warn("Failed to adjust unread count for user {} in Redis: {}", userId, e.getMessage());
+        }
+    }
+    
+    @Override
+    public Set<UUID> cachedUserIds() {
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        try {
+            return redisTemplate.execute((RedisCallback<Set<UUID>>) connection -> scanUserIds(connection, options));
+        } catch (DataAccessException e) {
+            log.warn("Failed to scan unread count keys in Redis: {}", e.getMessage());
+            return Set.of();
+        }
+    }
+    
+    private Set<UUID> scanUserIds(RedisConnection connection, ScanOptions options) {
+        Set<UUID> userIds = new HashSet<>();
+        try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+            while (cursor.hasNext()) {
+                String key = new String(cursor.next(), StandardCharsets.UTF_8);
+                try {
+                    userIds.add(UUID.fromString(key.substring(KEY_PREFIX.length())));
+                } catch (IllegalArgumentException e) {
+                    log.debug("Ignoring unexpected unread count key: {}", key);
+                }
+            }
+        }
+        return userIds;
+    }
+    
+    private static String key(UUID userId) {
+        return KEY_PREFIX + userId;
+    }
+}
@@ -0,0 +1,103 @@
+package com.devblocker.notification.service.unread;
+
+import com.devblocker.notification.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Write-through unread counters in front of the notifications table
+ * Reads are served from the store and only hit MySQL on a miss; writes adjust the counter after
+ * the notification transaction commits, and a periodic job corrects any drift
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UnreadCountService {
+    
+    private final UnreadCountStore unreadCountStore;
+    private final NotificationRepository notificationRepository;
+    
+    @Value("${notification.unread-cache.reconcile-batch-size:500}")
+    private int reconcileBatchSize;
+    
+    public long getUnreadCount(UUID userId) {
+        Long cached = unreadCountStore.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long count = notificationRepository.countByUserIdAndReadFalse(userId);
+        // Never overwrite a value another reader cached and commits have since adjusted
+        Long stored = unreadCountStore.putIfAbsent(userId, count);
+        return stored != null ? stored : count;
+    }
+    
+    /**
+     * Apply per-user deltas once the surrounding transaction commits (immediately if there is none)
+     */
+    public void adjustAfterCommit(Map<UUID, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deltas.forEach(unreadCountStore::add);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        deltas.forEach(unreadCountStore::add);
+                    }
+                }
+        );
+    }
+    
+    public void adjustAfterCommit(UUID userId, long delta) {
+        adjustAfterCommit(Map.of(userId, delta));
+    }
+    
+    /**
+     * Replace cached counters with the database value to correct missed or failed adjustments
+     * Each counter is compare-and-set against the value read before counting; one that an adjustment
+     * changed in the meantime is left alone and corrected on a later run
+     */
+    @Scheduled(fixedDelayString = "${notification.unread-cache.reconcile-interval-ms:300000}",
+               initialDelayString = "${notification.unread-cache.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        List<UUID> userIds = new ArrayList<>(unreadCountStore.cachedUserIds());
+        for (int from = 0; from < userIds.size(); from += reconcileBatchSize) {
+            List<UUID> batch = userIds.subList(from, Math.min(from + reconcileBatchSize, userIds.size()));
+            Map<UUID, Long> cached = new HashMap<>();
+            for (UUID userId : batch) {
+                Long value = unreadCountStore.get(userId);
+                if (value != null) {
+                    cached.put(userId, value);
+                }
+            }
+            if (cached.isEmpty()) {
+                continue;
+            }
+            Map<UUID, Long> counts = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadByUserIdIn(cached.keySet())) {
+                counts.put((UUID) row[0], (Long) row[1]);
+            }
+            cached.forEach((userId, value) ->
+                    unreadCountStore.compareAndSet(userId, value, counts.getOrDefault(userId, 0L)));
+        }
+        if (!userIds.isEmpty()) {
+            log.debug("Reconciled unread counts for {} users", userIds.size());
+        }
+    }
+}
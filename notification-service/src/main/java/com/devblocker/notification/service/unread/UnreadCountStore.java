@@ -0,0 +1,41 @@
+package com.devblocker.notification.service.unread;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-user cache of unread notification counts
+ * Implementations never throw on cache failures; a null read simply falls back to the database
+ */
+public interface UnreadCountStore {
+    
+    /**
+     * Cached count, or null if the user has no cached value (or the store is unavailable)
+     */
+    Long get(UUID userId);
+    
+    /**
+     * Cache a count loaded from the database unless a value is already cached (SET NX)
+     * A value that is already there may include adjustments committed after the count was taken, so it wins
+     *
+     * @return the value now cached, or null if the store is unavailable
+     */
+    Long putIfAbsent(UUID userId, long count);
+    
+    /**
+     * Replace the cached count only if it still equals expected, so adjustments applied meanwhile are not lost
+     *
+     * @return true if the value was replaced
+     */
+    boolean compareAndSet(UUID userId, long expected, long count);
+    
+    /**
+     * Adjust a cached count by delta (never below zero); no-op if the user has no cached value
+     */
+    void add(UUID userId, long delta);
+    
+    /**
+     * Users that currently have a cached count, used for reconciliation
+     */
+    Set<UUID> cachedUserIds();
+}
@@ -0,0 +1,33 @@
+-- Optional monthly RANGE partitioning for notification tables (MySQL 8)
+-- Not applied automatically. MySQL requires the partitioning column in every unique key, so the
+-- primary key is widened to (notification_id, created_at); the JPA mapping keeps notification_id as id.
+-- Old archive months can then be dropped instantly with ALTER TABLE ... DROP PARTITION.
+
+-- Archive table (append-only, written by NotificationRetentionService)
+ALTER TABLE notifications_archive DROP PRIMARY KEY, ADD PRIMARY KEY (notification_id, created_at);
+ALTER TABLE notifications_archive PARTITION BY RANGE COLUMNS (created_at) (
+    PARTITION p2026_07 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p2026_08 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p2026_09 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p2026_10 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p2026_11 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p2026_12 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+-- Hot table (only worth it for very large installations; retention already keeps it small)
+-- uk_notification_event_recipient has to be dropped first; NotificationService still skips redelivered events
+-- ALTER TABLE notifications DROP INDEX uk_notification_event_recipient;
+-- ALTER TABLE notifications DROP PRIMARY KEY, ADD PRIMARY KEY (notification_id, created_at);
+-- ALTER TABLE notifications PARTITION BY RANGE COLUMNS (created_at) (
+--     PARTITION p2026_10 VALUES LESS THAN ('2026-11-01'),
+--     PARTITION p2026_11 VALUES LESS THAN ('2026-12-01'),
+--     PARTITION p2026_12 VALUES LESS THAN ('2027-01-01'),
+--     PARTITION pmax VALUES LESS THAN (MAXVALUE)
+-- );
+
+-- Monthly maintenance: split the catch-all partition before the next month starts
+-- ALTER TABLE notifications_archive REORGANIZE PARTITION pmax INTO (
+--     PARTITION p2027_01 VALUES LESS THAN ('2027-02-01'),
+--     PARTITION pmax VALUES LESS THAN (MAXVALUE)
+-- );
@@ -0,0 +1,42 @@
+package com.devblocker.notification.controller;
+
+import com.devblocker.notification.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(NotificationController.class)
+class NotificationControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockitoBean
+    private NotificationService notificationService;
+    
+    @Test
+    void streamHasNoAsyncTimeoutWhileOtherRequestsKeepTheDefault() throws Exception {
+        UUID userId = UUID.randomUUID();
+        when(notificationService.streamNotifications(eq(userId), any())).thenReturn(Flux.never());
+        
+        MvcResult result = mockMvc.perform(get("/api/v1/notifications/stream").param("userId", userId.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // The stream's own emitter disables the timeout; spring.mvc.async.request-timeout stays finite
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isLessThanOrEqualTo(0);
+    }
+}
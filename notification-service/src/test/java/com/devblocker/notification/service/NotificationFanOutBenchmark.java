@@ -0,0 +1,162 @@
+package com.devblocker.notification.service;
+
+import com.devblocker.notification.model.Notification;
+import com.devblocker.notification.repository.NotificationRepository;
+import com.devblocker.notification.service.email.EmailDigestService;
+import com.devblocker.notification.service.push.NotificationPushService;
+import com.devblocker.notification.service.unread.UnreadCountService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.data.jpa.autoconfigure.DataJpaRepositoriesAutoConfiguration;
+import org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.transaction.autoconfigure.TransactionAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Notifications/sec of a team fan-out into H2 (test profile): createNotifications, one transaction with
+ * JDBC batch inserts, against the old path of one createNotification transaction per member
+ * The "notifications" counter is the rate to read; H2 in-process hides the network round trip each
+ * per-member transaction costs against MySQL, so the real gap is wider
+ * 
+ * Run (see README, Benchmarks): java -cp ... org.openjdk.jmh.Main NotificationFanOutBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotificationFanOutBenchmark {
+    
+    @Param({"10", "100", "1000"})
+    private int members;
+    
+    private ConfigurableApplicationContext context;
+    private NotificationService notificationService;
+    private NotificationRepository notificationRepository;
+    private List<UUID> team;
+    
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Inserted {
+        public long notifications;
+    }
+    
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(JpaOnly.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.com.devblocker=WARN", "spring.main.banner-mode=off")
+                .run();
+        notificationService = context.getBean(NotificationService.class);
+        notificationRepository = context.getBean(NotificationRepository.class);
+        team = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            team.add(UUID.randomUUID());
+        }
+    }
+    
+    @TearDown(Level.Iteration)
+    public void clear() {
+        notificationRepository.deleteAllInBatch();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<Notification> batchedFanOut(Inserted inserted) {
+        String blockerId = UUID.randomUUID().toString();
+        List<Notification> notifications = new ArrayList<>(members);
+        for (UUID userId : team) {
+            notifications.add(Notification.builder()
+                    .userId(userId)
+                    .type(Notification.NotificationType.BLOCKER_CREATED)
+                    .title("New Blocker in Your Team")
+                    .message("A new blocker 'Build fails' was created in your team")
+                    .relatedEntityId(blockerId)
+                    .relatedEntityType("blocker")
+                    .eventKey("blocker.created:" + blockerId)
+                    .build());
+        }
+        List<Notification> saved = notificationService.createNotifications(notifications);
+        inserted.notifications += saved.size();
+        return saved;
+    }
+    
+    @Benchmark
+    public int perMemberFanOut(Inserted inserted) {
+        String blockerId = UUID.randomUUID().toString();
+        for (UUID userId : team) {
+            notificationService.createNotification(userId, Notification.NotificationType.BLOCKER_CREATED,
+                    "New Blocker in Your Team", "A new blocker 'Build fails' was created in your team",
+                    blockerId, "blocker");
+        }
+        inserted.notifications += members;
+        return members;
+    }
+    
+    /**
+     * DataSource, JPA and transactions only, with NotificationService's other collaborators mocked
+     * (stub-only: a recording mock keeps every per-member call and would penalise the per-member path)
+     */
+    @Configuration(proxyBeanMethods = false)
+    @AutoConfigurationPackage(basePackages = "com.devblocker.notification")
+    @ImportAutoConfiguration({
+            DataSourceAutoConfiguration.class,
+            DataSourceTransactionManagerAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            DataJpaRepositoriesAutoConfiguration.class,
+            TransactionAutoConfiguration.class
+    })
+    @Import(NotificationService.class)
+    static class JpaOnly {
+        
+        @Bean
+        EmailDigestService emailDigestService() {
+            return mock(EmailDigestService.class, withSettings().stubOnly());
+        }
+        
+        @Bean
+        UnreadCountService unreadCountService() {
+            return mock(UnreadCountService.class, withSettings().stubOnly());
+        }
+        
+        @Bean
+        NotificationPushService notificationPushService() {
+            return mock(NotificationPushService.class, withSettings().stubOnly());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.devblocker.notification.service;
+
+import com.devblocker.notification.model.Notification;
+import com.devblocker.notification.repository.NotificationRepository;
+import com.devblocker.notification.service.email.EmailDigestService;
+import com.devblocker.notification.service.push.NotificationPushService;
+import com.devblocker.notification.service.unread.UnreadCountService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A team fan-out is one recipient lookup plus one batched INSERT statement in a single transaction,
+ * whatever the team size; without JDBC batching Hibernate prepares one INSERT per member
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=100",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(NotificationService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationFanOutQueryCountTest {
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @MockitoBean
+    private EmailDigestService emailDigestService;
+    
+    @MockitoBean
+    private UnreadCountService unreadCountService;
+    
+    @MockitoBean
+    private NotificationPushService notificationPushService;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    @Test
+    void fanOutInsertsInJdbcBatches() {
+        for (int members : new int[] {10, 100, 1000}) {
+            String eventKey = "blocker.created:" + UUID.randomUUID();
+            statistics.clear();
+            
+            assertThat(notificationService.createNotifications(team(members, eventKey))).hasSize(members);
+            
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(members);
+            // Recipient lookup for the event key, then one INSERT reused by every batch of 100
+            assertThat(statistics.getPrepareStatementCount())
+                    .as("statements for %d members", members)
+                    .isEqualTo(2);
+            assertThat(statistics.getTransactionCount()).isEqualTo(1);
+        }
+        assertThat(notificationRepository.count()).isEqualTo(1110);
+    }
+    
+    @Test
+    void redeliveredFanOutIsOneLookupAndNoInserts() {
+        String eventKey = "blocker.created:" + UUID.randomUUID();
+        List<Notification> team = team(1000, eventKey);
+        notificationService.createNotifications(team);
+        statistics.clear();
+        
+        assertThat(notificationService.createNotifications(copies(team))).isEmpty();
+        
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+    
+    private static List<Notification> team(int members, String eventKey) {
+        List<Notification> notifications = new ArrayList<>(members);
+        String blockerId = UUID.randomUUID().toString();
+        for (int i = 0; i < members; i++) {
+            notifications.add(notification(UUID.randomUUID(), blockerId, eventKey));
+        }
+        return notifications;
+    }
+    
+    private static List<Notification> copies(List<Notification> notifications) {
+        return notifications.stream()
+                .map(n -> notification(n.getUserId(), n.getRelatedEntityId(), n.getEventKey()))
+                .toList();
+    }
+    
+    private static Notification notification(UUID userId, String blockerId, String eventKey) {
+        return Notification.builder()
+                .userId(userId)
+                .type(Notification.NotificationType.BLOCKER_CREATED)
+                .title("New Blocker in Your Team")
+                .message("A new blocker 'Build fails' was created in your team")
+                .relatedEntityId(blockerId)
+                .relatedEntityType("blocker")
+                .eventKey(eventKey)
+                .build();
+    }
+}
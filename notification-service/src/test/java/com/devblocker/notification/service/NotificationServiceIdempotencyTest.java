@@ -0,0 +1,113 @@
+package com.devblocker.notification.service;
+
+import com.devblocker.notification.model.Notification;
+import com.devblocker.notification.repository.NotificationRepository;
+import com.devblocker.notification.service.email.EmailDigestService;
+import com.devblocker.notification.service.push.NotificationPushService;
+import com.devblocker.notification.service.unread.UnreadCountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(NotificationService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationServiceIdempotencyTest {
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @MockitoBean
+    private EmailDigestService emailDigestService;
+    
+    @MockitoBean
+    private UnreadCountService unreadCountService;
+    
+    @MockitoBean
+    private NotificationPushService notificationPushService;
+    
+    private final UUID creator = UUID.randomUUID();
+    private final UUID assignee = UUID.randomUUID();
+    
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+    }
+    
+    @Test
+    void redeliveredEventDoesNotNotifyTwice() {
+        String eventKey = "comment.added:" + UUID.randomUUID();
+        
+        assertThat(notificationService.createNotifications(List.of(
+                notification(creator, eventKey), notification(assignee, eventKey)))).hasSize(2);
+        // Redelivery, e.g. after the broker lost the ack
+        assertThat(notificationService.createNotifications(List.of(
+                notification(creator, eventKey), notification(assignee, eventKey)))).isEmpty();
+        
+        assertThat(notificationRepository.findAll())
+                .extracting(Notification::getUserId)
+                .containsExactlyInAnyOrder(creator, assignee);
+    }
+    
+    @Test
+    void retryAfterPartialRecipientsOnlyAddsTheMissingOnes() {
+        String eventKey = "solution.added:" + UUID.randomUUID();
+        notificationService.createNotifications(List.of(notification(creator, eventKey)));
+        
+        assertThat(notificationService.createNotifications(List.of(
+                notification(creator, eventKey), notification(assignee, eventKey))))
+                .extracting(Notification::getUserId)
+                .containsExactly(assignee);
+        assertThat(notificationRepository.count()).isEqualTo(2);
+    }
+    
+    @Test
+    void otherEventsForTheSameRecipientAreKept() {
+        notificationService.createNotifications(List.of(notification(creator, "comment.added:" + UUID.randomUUID())));
+        notificationService.createNotifications(List.of(notification(creator, "comment.added:" + UUID.randomUUID())));
+        notificationService.createNotifications(List.of(notification(creator, null)));
+        notificationService.createNotifications(List.of(notification(creator, null)));
+        
+        assertThat(notificationRepository.count()).isEqualTo(4);
+    }
+    
+    @Test
+    void uniqueKeyRejectsAConcurrentDuplicate() {
+        String eventKey = "blocker.created:" + UUID.randomUUID();
+        notificationRepository.saveAndFlush(notification(creator, eventKey));
+        
+        assertThatThrownBy(() -> notificationRepository.saveAndFlush(notification(creator, eventKey)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+    
+    private static Notification notification(UUID userId, String eventKey) {
+        return Notification.builder()
+                .userId(userId)
+                .type(Notification.NotificationType.COMMENT_ADDED)
+                .title("New Comment on Blocker")
+                .message("A new comment was added to blocker 'Build fails'")
+                .relatedEntityId(UUID.randomUUID().toString())
+                .relatedEntityType("blocker")
+                .eventKey(eventKey)
+                .build();
+    }
+}
@@ -0,0 +1,202 @@
+package com.devblocker.notification.service.email;
+
+import com.devblocker.notification.client.UserServiceClient;
+import com.devblocker.notification.model.Notification;
+import com.devblocker.notification.repository.NotificationRepository;
+import com.devblocker.notification.service.EmailService;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailDigestServiceTest {
+    
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+    
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final List<UUID> markedSent = new CopyOnWriteArrayList<>();
+    
+    private JavaMailSenderImpl mailSender;
+    private UserServiceClient userServiceClient;
+    private NotificationRepository notificationRepository;
+    private EmailDigestService service;
+    
+    @BeforeEach
+    void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        
+        EmailService emailService = new EmailService(mailSender);
+        ReflectionTestUtils.setField(emailService, "emailEnabled", true);
+        ReflectionTestUtils.setField(emailService, "criticalEventsConfig", "BLOCKER_CREATED,SOLUTION_ACCEPTED");
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@devblocker.io");
+        
+        userServiceClient = mock(UserServiceClient.class);
+        when(userServiceClient.getUserEmail(eq(alice), isNull())).thenReturn("alice@devblocker.io");
+        when(userServiceClient.getUserEmail(eq(bob), isNull())).thenReturn("bob@devblocker.io");
+        notificationRepository = mock(NotificationRepository.class);
+        when(notificationRepository.markEmailSent(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            markedSent.addAll(ids);
+            return ids.size();
+        });
+        
+        service = new EmailDigestService(emailService, userServiceClient, notificationRepository, 2, 10);
+        ReflectionTestUtils.setField(service, "digestWindowMs", 0L);
+        ReflectionTestUtils.setField(service, "maxPerDigest", 20);
+        ReflectionTestUtils.setField(service, "digestsPerBatch", 50);
+        ReflectionTestUtils.setField(service, "maxPending", 10000);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+    
+    @Test
+    void notificationsOfOneUserGoOutAsOneDigest() throws Exception {
+        List<Notification> forAlice = List.of(notification(alice), notification(alice), notification(alice));
+        Notification forBob = notification(bob);
+        List<Notification> all = new ArrayList<>(forAlice);
+        all.add(forBob);
+        all.add(Notification.builder().notificationId(UUID.randomUUID()).userId(bob)
+                .type(Notification.NotificationType.COMMENT_ADDED).title("New Comment").message("Not emailed").build());
+        
+        service.enqueue(all);
+        service.flush();
+        
+        assertThat(greenMail.waitForIncomingEmail(5000, 2)).isTrue();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(subjectFor(received, "alice@devblocker.io")).isEqualTo("You have 3 new DevBlocker notifications");
+        assertThat(subjectFor(received, "bob@devblocker.io")).isEqualTo("Blocker Created");
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(markedSent)
+                .containsExactlyInAnyOrderElementsOf(ids(all.subList(0, 4))));
+    }
+    
+    @Test
+    void digestsAreRequeuedWhenTheMailServerIsUnreachable() throws Exception {
+        mailSender.setPort(unusedPort());
+        List<Notification> notifications = List.of(notification(alice), notification(bob));
+        
+        service.enqueue(notifications);
+        service.flush();
+        
+        // Both digests fail with a MailException and wait for the next flush; nothing is marked sent
+        await().pollDelay(500, TimeUnit.MILLISECONDS).atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(pendingCount()).isEqualTo(2));
+        verify(notificationRepository, never()).markEmailSent(anyCollection());
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        service.flush();
+        
+        assertThat(greenMail.waitForIncomingEmail(5000, 2)).isTrue();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(markedSent)
+                .containsExactlyInAnyOrderElementsOf(ids(notifications)));
+    }
+    
+    @Test
+    void failedAddressLookupOnlyRequeuesThatDigest() throws Exception {
+        when(userServiceClient.getUserEmail(eq(alice), isNull()))
+                .thenThrow(new IllegalStateException("user-service unavailable"))
+                .thenReturn("alice@devblocker.io");
+        Notification forAlice = notification(alice);
+        Notification forBob = notification(bob);
+        
+        service.enqueue(List.of(forAlice, forBob));
+        service.flush();
+        
+        // Bob's digest is not lost with Alice's
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+        assertThat(greenMail.getReceivedMessages()[0].getAllRecipients()[0].toString()).isEqualTo("bob@devblocker.io");
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            assertThat(markedSent).containsExactly(forBob.getNotificationId());
+            assertThat(pendingCount()).isEqualTo(1);
+        });
+        
+        service.flush();
+        
+        assertThat(greenMail.waitForIncomingEmail(5000, 2)).isTrue();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(markedSent)
+                .containsExactlyInAnyOrder(forBob.getNotificationId(), forAlice.getNotificationId()));
+    }
+    
+    @Test
+    void digestIsDroppedAfterMaxAttempts() throws Exception {
+        ReflectionTestUtils.setField(service, "maxAttempts", 2);
+        when(userServiceClient.getUserEmail(eq(alice), isNull())).thenThrow(new IllegalStateException("down"));
+        
+        service.enqueue(List.of(notification(alice)));
+        service.flush();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(pendingCount()).isEqualTo(1));
+        service.flush();
+        
+        await().pollDelay(500, TimeUnit.MILLISECONDS).atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(pendingCount()).isZero());
+        verify(notificationRepository, never()).markEmailSent(any());
+    }
+    
+    private int pendingCount() {
+        return ((AtomicInteger) ReflectionTestUtils.getField(service, "pendingCount")).get();
+    }
+    
+    private static String subjectFor(MimeMessage[] messages, String recipient) throws Exception {
+        for (MimeMessage message : messages) {
+            if (message.getAllRecipients()[0].toString().equals(recipient)) {
+                return message.getSubject();
+            }
+        }
+        throw new AssertionError("No email for " + recipient);
+    }
+    
+    private static List<UUID> ids(List<Notification> notifications) {
+        return notifications.stream().map(Notification::getNotificationId).toList();
+    }
+    
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+    
+    private static Notification notification(UUID userId) {
+        return Notification.builder()
+                .notificationId(UUID.randomUUID())
+                .userId(userId)
+                .type(Notification.NotificationType.BLOCKER_CREATED)
+                .title("Blocker Created")
+                .message("You created a new blocker 'Build fails'")
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.devblocker.notification.service.push;
+
+import com.devblocker.notification.config.RabbitMQConfig;
+import com.devblocker.notification.dto.NotificationPushMessage;
+import com.devblocker.notification.dto.NotificationResponse;
+import com.devblocker.notification.model.Notification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class NotificationPushServiceTest {
+    
+    private final JacksonJsonMessageConverter converter = new JacksonJsonMessageConverter();
+    
+    @Test
+    void broadcastReachesStreamsOnOtherInstances() {
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        NotificationPushService sender = pushService(rabbitTemplate);
+        NotificationPushService receiver = pushService(mock(RabbitTemplate.class));
+        // Fanout: every instance's queue gets the message, converted the way the listener adapter does
+        doAnswer(invocation -> {
+            Message message = converter.toMessage(invocation.getArgument(2), new MessageProperties());
+            message.getMessageProperties().setInferredArgumentType(NotificationPushMessage.class);
+            NotificationPushMessage received = (NotificationPushMessage) converter.fromMessage(message);
+            sender.onBroadcast(received);
+            receiver.onBroadcast(received);
+            return null;
+        }).when(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.NOTIFICATION_PUSH_EXCHANGE), eq(""), any(Object.class));
+        
+        NotificationResponse notification = notification(UUID.randomUUID());
+        List<ServerSentEvent<NotificationResponse>> events = new CopyOnWriteArrayList<>();
+        Disposable stream = receiver.stream(notification.getUserId(), List::of).subscribe(events::add);
+        try {
+            sender.broadcast(List.of(notification));
+            
+            await().atMost(Duration.ofSeconds(5)).until(() -> !events.isEmpty());
+            assertThat(events.get(0).id()).isEqualTo(notification.getNotificationId().toString());
+            assertThat(events.get(0).data()).isEqualTo(notification);
+        } finally {
+            stream.dispose();
+        }
+    }
+    
+    @Test
+    void brokerFailureStillDeliversToLocalStreams() {
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        doThrow(new AmqpConnectException(new ConnectException("Connection refused")))
+                .when(rabbitTemplate).convertAndSend(any(String.class), any(String.class), any(Object.class));
+        NotificationPushService pushService = pushService(rabbitTemplate);
+        
+        NotificationResponse notification = notification(UUID.randomUUID());
+        List<ServerSentEvent<NotificationResponse>> events = new CopyOnWriteArrayList<>();
+        Disposable stream = pushService.stream(notification.getUserId(), List::of).subscribe(events::add);
+        try {
+            pushService.broadcast(List.of(notification));
+            
+            await().atMost(Duration.ofSeconds(5)).until(() -> !events.isEmpty());
+            assertThat(events.get(0).data()).isEqualTo(notification);
+        } finally {
+            stream.dispose();
+        }
+    }
+    
+    private static NotificationPushService pushService(RabbitTemplate rabbitTemplate) {
+        return new NotificationPushService(rabbitTemplate, new SimpleMeterRegistry(), 15, 64, 30);
+    }
+    
+    private static NotificationResponse notification(UUID userId) {
+        return NotificationResponse.builder()
+                .notificationId(UUID.randomUUID())
+                .userId(userId)
+                .type(Notification.NotificationType.COMMENT_ADDED)
+                .title("New Comment on Blocker")
+                .message("A new comment was added to blocker 'Build fails'")
+                .relatedEntityId(UUID.randomUUID().toString())
+                .relatedEntityType("blocker")
+                .read(false)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_000_000))
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.devblocker.notification.service.retention;
+
+import com.devblocker.notification.repository.ArchivedNotificationRepository;
+import com.devblocker.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationRetentionServiceTest {
+    
+    private NotificationRepository notificationRepository;
+    private NotificationRetentionService service;
+    
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        
+        service = new NotificationRetentionService(notificationRepository,
+                mock(ArchivedNotificationRepository.class), transactionManager);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "readRetentionDays", 90);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "batchPauseMs", 200L);
+        ReflectionTestUtils.setField(service, "maxBatchesPerRun", 10);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+    
+    @Test
+    void pacedRunDoesNotHoldTheSchedulerThread() {
+        List<UUID> fullBatch = List.of(UUID.randomUUID(), UUID.randomUUID());
+        AtomicReference<String> workerThread = new AtomicReference<>();
+        when(notificationRepository.findReadIdsCreatedBefore(any(), any())).thenAnswer(invocation -> {
+            workerThread.set(Thread.currentThread().getName());
+            return fullBatch;
+        });
+        when(notificationRepository.deleteReadByIds(anyList())).thenReturn(2, 2, 0);
+        
+        long start = System.nanoTime();
+        service.scheduleArchive();
+        long triggerMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        // Two full batches mean at least two 200 ms pauses; the trigger must not wait for them
+        assertThat(triggerMillis).isLessThan(200);
+        verify(notificationRepository, timeout(5000).times(3)).deleteReadByIds(anyList());
+        assertThat(workerThread.get()).startsWith("retention-");
+    }
+    
+    @Test
+    void overlappingTriggerIsSkipped() {
+        when(notificationRepository.findReadIdsCreatedBefore(any(), any()))
+                .thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID()));
+        when(notificationRepository.deleteReadByIds(anyList())).thenReturn(2, 0);
+        
+        service.scheduleArchive();
+        service.scheduleArchive();
+        
+        verify(notificationRepository, timeout(5000).times(2)).deleteReadByIds(anyList());
+        verify(notificationRepository, times(2)).findReadIdsCreatedBefore(any(), any());
+    }
+}
@@ -0,0 +1,82 @@
+package com.devblocker.notification.service.unread;
+
+import com.devblocker.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UnreadCountServiceTest {
+    
+    private final UUID userId = UUID.randomUUID();
+    
+    private InMemoryUnreadCountStore store;
+    private NotificationRepository notificationRepository;
+    private UnreadCountService unreadCountService;
+    
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryUnreadCountStore();
+        notificationRepository = mock(NotificationRepository.class);
+        unreadCountService = new UnreadCountService(store, notificationRepository);
+        ReflectionTestUtils.setField(unreadCountService, "reconcileBatchSize", 500);
+    }
+    
+    @Test
+    void missDoesNotOverwriteACounterAdjustedWhileCounting() {
+        when(notificationRepository.countByUserIdAndReadFalse(userId)).thenAnswer(invocation -> {
+            // Another reader caches 5, then a notification commits and increments it
+            store.putIfAbsent(userId, 5);
+            unreadCountService.adjustAfterCommit(userId, 1);
+            return 5L;
+        });
+        
+        assertThat(unreadCountService.getUnreadCount(userId)).isEqualTo(6);
+        assertThat(store.get(userId)).isEqualTo(6);
+    }
+    
+    @Test
+    void missCachesTheDatabaseCount() {
+        when(notificationRepository.countByUserIdAndReadFalse(userId)).thenReturn(3L);
+        
+        assertThat(unreadCountService.getUnreadCount(userId)).isEqualTo(3);
+        unreadCountService.adjustAfterCommit(userId, 2);
+        assertThat(unreadCountService.getUnreadCount(userId)).isEqualTo(5);
+    }
+    
+    @Test
+    void reconcileCorrectsDrift() {
+        store.putIfAbsent(userId, 9);
+        when(notificationRepository.countUnreadByUserIdIn(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[] {userId, 4L}));
+        
+        unreadCountService.reconcile();
+        
+        assertThat(store.get(userId)).isEqualTo(4);
+    }
+    
+    @Test
+    void reconcileLeavesACounterAdjustedWhileCounting() {
+        UUID idle = UUID.randomUUID();
+        store.putIfAbsent(userId, 5);
+        store.putIfAbsent(idle, 2);
+        when(notificationRepository.countUnreadByUserIdIn(anyCollection())).thenAnswer(invocation -> {
+            // A read-all commits after the count: the database no longer has these 5 unread
+            unreadCountService.adjustAfterCommit(userId, -5);
+            return List.<Object[]>of(new Object[] {userId, 5L});
+        });
+        
+        unreadCountService.reconcile();
+        
+        assertThat(store.get(userId)).isZero();
+        // No unread rows at all: reset to zero
+        assertThat(store.get(idle)).isZero();
+    }
+}
@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Copies the transactional outbox (shared/outbox) into every service that publishes events.
+# Each service is built on its own (Docker build context = service directory), so the classes
+# are vendored per service; shared/outbox is the only copy that should be edited.
+#
+# Usage: scripts/sync-outbox.sh          rewrite the service copies
+#        scripts/sync-outbox.sh --check  fail if any service copy has drifted from shared/outbox
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+SOURCE="$ROOT/shared/outbox"
+FILES="model/OutboxEvent.java repository/OutboxEventRepository.java service/outbox/OutboxRelay.java service/outbox/OutboxService.java"
+# <service directory>:<base package segment>
+SERVICES="auth:auth user-service:user blocker-service:blocker comment-service:comment solution-service:solution"
+HEADER="// Generated from shared/outbox by scripts/sync-outbox.sh - edit the shared copy, not this file"
+
+check=false
+if [ "${1:-}" = "--check" ]; then
+    check=true
+fi
+
+drifted=0
+for service in $SERVICES; do
+    dir="${service%%:*}"
+    package="${service##*:}"
+    for file in $FILES; do
+        target="$ROOT/$dir/src/main/java/com/devblocker/$package/$file"
+        expected="$( { echo "$HEADER"; sed "s/com\.devblocker\.shared\b/com.devblocker.$package/g" "$SOURCE/$file"; } )"
+        if $check; then
+            if [ ! -f "$target" ] || [ "$(cat "$target")" != "$expected" ]; then
+                echo "Out of sync: ${target#$ROOT/}"
+                drifted=1
+            fi
+        else
+            mkdir -p "$(dirname "$target")"
+            printf '%s\n' "$expected" > "$target"
+        fi
+    done
+done
+
+if $check && [ "$drifted" -ne 0 ]; then
+    echo "Run scripts/sync-outbox.sh to regenerate the service copies from shared/outbox"
+    exit 1
+fi
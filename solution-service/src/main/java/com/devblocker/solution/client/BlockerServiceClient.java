@@ -11,6 +11,7 @@ import reactor.util.retry.Retry;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -131,6 +132,34 @@ public class BlockerServiceClient {
         }
     }
     
+    /**
+     * Fetch blocker details, distinguishing "not found" from failures (used by BlockerCache)
+     * 
+     * @param blockerId Blocker ID
+     * @param authToken JWT token for authentication (optional)
+     * @return Blocker details, or empty if blocker-service answered 404
+     * @throws IllegalStateException if blocker-service could not be reached or failed
+     */
+    public Optional<BlockerResponse> findBlocker(UUID blockerId, String authToken) {
+        try {
+            return Optional.ofNullable(webClient.get()
+                    .uri(blockerServiceUrl + "/api/v1/blockers/{id}", blockerId)
+                    .headers(headers -> {
+                        if (authToken != null && !authToken.isEmpty()) {
+                            headers.setBearerAuth(authToken);
+                        }
+                    })
+                    .retrieve()
+                    .bodyToMono(BlockerResponse.class)
+                    .timeout(Duration.ofSeconds(5))
+                    .block());
+        } catch (WebClientResponseException.NotFound e) {
+            return Optional.empty();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to get blocker: " + blockerId, e);
+        }
+    }
+    
     @lombok.Data
     @lombok.NoArgsConstructor
     @lombok.AllArgsConstructor
@@ -1,5 +1,6 @@
 package com.devblocker.solution.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -8,6 +9,7 @@ import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+@Slf4j
 @Configuration
 public class RabbitMQConfig {
     
@@ -20,6 +22,14 @@ public class RabbitMQConfig {
     public static final String SOLUTION_UPVOTED_ROUTING_KEY = "solution.upvoted";
     public static final String SOLUTION_ACCEPTED_ROUTING_KEY = "solution.accepted";
     
+    // Blocker changes consumed to invalidate BlockerCache
+    public static final String BLOCKER_EVENTS_EXCHANGE = "blocker.events";
+    public static final String BLOCKER_UPDATED_ROUTING_KEY = "blocker.updated";
+    public static final String BLOCKER_RESOLVED_ROUTING_KEY = "blocker.resolved";
+    
+    // Consumers (blocker-service) dead-letter these queues; arguments must match their declaration
+    public static final String DEAD_LETTER_EXCHANGE = "devblocker.dlx";
+    
     @Bean
     public TopicExchange solutionEventsExchange() {
         return new TopicExchange(EXCHANGE_NAME);
@@ -27,7 +37,10 @@ public class RabbitMQConfig {
     
     @Bean
     public Queue solutionAddedQueue() {
-        return QueueBuilder.durable(SOLUTION_ADDED_QUEUE).build();
+        return QueueBuilder.durable(SOLUTION_ADDED_QUEUE)
+                .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(SOLUTION_ADDED_QUEUE)
+                .build();
     }
     
     @Bean
@@ -37,7 +50,10 @@ public class RabbitMQConfig {
     
     @Bean
     public Queue solutionAcceptedQueue() {
-        return QueueBuilder.durable(SOLUTION_ACCEPTED_QUEUE).build();
+        return QueueBuilder.durable(SOLUTION_ACCEPTED_QUEUE)
+                .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(SOLUTION_ACCEPTED_QUEUE)
+                .build();
     }
     
     @Bean
@@ -64,6 +80,35 @@ public class RabbitMQConfig {
                 .with(SOLUTION_ACCEPTED_ROUTING_KEY);
     }
     
+    @Bean
+    public TopicExchange blockerEventsExchange() {
+        return new TopicExchange(BLOCKER_EVENTS_EXCHANGE);
+    }
+    
+    /**
+     * Server-named, exclusive, auto-delete queue: each instance gets its own copy of blocker changes
+     */
+    @Bean
+    public Queue blockerChangesQueue() {
+        return new AnonymousQueue();
+    }
+    
+    @Bean
+    public Binding blockerUpdatedBinding() {
+        return BindingBuilder
+                .bind(blockerChangesQueue())
+                .to(blockerEventsExchange())
+                .with(BLOCKER_UPDATED_ROUTING_KEY);
+    }
+    
+    @Bean
+    public Binding blockerResolvedBinding() {
+        return BindingBuilder
+                .bind(blockerChangesQueue())
+                .to(blockerEventsExchange())
+                .with(BLOCKER_RESOLVED_ROUTING_KEY);
+    }
+    
     @Bean
     public MessageConverter messageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -73,6 +118,11 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter());
+        // Publisher confirms are correlated (spring.rabbitmq.publisher-confirm-type); unroutable messages
+        // come back through the returns callback instead of being dropped silently
+        template.setMandatory(true);
+        template.setReturnsCallback(returned -> log.warn("Message returned by broker: exchange={}, routingKey={}, reply={}",
+                returned.getExchange(), returned.getRoutingKey(), returned.getReplyText()));
         return template;
     }
 }
@@ -3,6 +3,7 @@ package com.devblocker.solution.controller;
 import com.devblocker.solution.dto.AcceptSolutionRequest;
 import com.devblocker.solution.dto.CreateSolutionRequest;
 import com.devblocker.solution.dto.SolutionResponse;
+import com.devblocker.solution.dto.SolutionStatsBatchRequest;
 import com.devblocker.solution.dto.SolutionStatsResponse;
 import com.devblocker.solution.dto.UpvoteRequest;
 import com.devblocker.solution.service.SolutionService;
@@ -13,15 +14,18 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import com.devblocker.solution.model.StoredFile;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +38,9 @@ import java.util.UUID;
 @Tag(name = "Solutions", description = "Solution management endpoints for blockers")
 public class SolutionController {
     
+    // Files are immutable once uploaded; clients may cache and revalidate by ETag
+    private static final CacheControl FILE_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(30)).cachePublic();
+    
     private final SolutionService solutionService;
     private final FileStorageService fileStorageService;
     
@@ -107,15 +114,17 @@ public class SolutionController {
     public ResponseEntity<SolutionStatsResponse> getSolutionStats(
             @PathVariable UUID userId) {
         
-        long totalSolutions = solutionService.getSolutionCountByUser(userId);
-        long acceptedSolutions = solutionService.getAcceptedSolutionCountByUser(userId);
-        
-        SolutionStatsResponse response = SolutionStatsResponse.builder()
-                .totalSolutions(totalSolutions)
-                .acceptedSolutions(acceptedSolutions)
-                .build();
+        return ResponseEntity.ok(solutionService.getSolutionStats(userId));
+    }
+    
+    @PostMapping("/users/solutions/stats")
+    @Operation(summary = "Get solution statistics for several users", 
+               description = "Retrieves solution and accepted solution counts for up to solution.stats.max-batch-size users " +
+                             "in one query, keyed by user ID. Users without solutions are returned with zero counts")
+    public ResponseEntity<Map<UUID, SolutionStatsResponse>> getSolutionStatsBatch(
+            @Valid @RequestBody SolutionStatsBatchRequest request) {
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(solutionService.getSolutionStats(request.getUserIds()));
     }
     
     @PostMapping("/solutions/upload")
@@ -134,16 +143,30 @@ public class SolutionController {
     }
     
     @GetMapping("/solutions/files/{fileId}")
-    @Operation(summary = "Get file", description = "Retrieves an uploaded file from database")
-    public ResponseEntity<Resource> getFile(@PathVariable UUID fileId) {
+    @Operation(summary = "Get file", description = "Streams an uploaded file from the blob store. Supports Range, ETag and conditional GET (304).")
+    public ResponseEntity<Resource> getFile(@PathVariable UUID fileId, WebRequest webRequest) {
         try {
             StoredFile storedFile = fileStorageService.loadFile(fileId);
             
-            ByteArrayResource resource = new ByteArrayResource(storedFile.getFileData());
+            // Strong ETag is the content hash computed at upload; revalidation is answered from metadata
+            // alone, so a 304 never opens the blob
+            String etag = storedFile.getContentHash() != null ? "\"" + storedFile.getContentHash() + "\"" : null;
+            long lastModified = storedFile.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            if (etag != null && webRequest.checkNotModified(etag, lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .cacheControl(FILE_CACHE_CONTROL)
+                        .build();
+            }
+            
+            // File-backed resource: streamed from disk, Range requests are served as 206 resource regions
+            Resource resource = fileStorageService.loadContent(storedFile);
             
             return ResponseEntity.ok()
                     .contentType(MediaType.parseMediaType(storedFile.getContentType()))
-                    .contentLength(storedFile.getFileSize())
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .cacheControl(FILE_CACHE_CONTROL)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
                     .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + storedFile.getOriginalFilename() + "\"")
                     .header(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*")
                     .header(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, "GET, OPTIONS")
@@ -0,0 +1,14 @@
+package com.devblocker.solution.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class SolutionStatsBatchRequest {
+    
+    @NotEmpty(message = "At least one user ID is required")
+    private List<UUID> userIds;
+}
@@ -0,0 +1,33 @@
+package com.devblocker.solution.listener;
+
+import com.devblocker.solution.listener.event.BlockerChangedEvent;
+import com.devblocker.solution.service.cache.BlockerCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Evicts changed blockers from this instance's BlockerCache
+ * Consumes from an instance-local anonymous queue, so every instance sees every change
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlockerChangeListener {
+    
+    private final BlockerCache blockerCache;
+    
+    @RabbitListener(queues = "#{blockerChangesQueue.name}")
+    public void handleBlockerChanged(BlockerChangedEvent event) {
+        try {
+            blockerCache.invalidate(UUID.fromString(event.getBlockerId()));
+            log.debug("Invalidated cached blocker {}", event.getBlockerId());
+        } catch (IllegalArgumentException e) {
+            // Malformed id: nothing cached under it, and a redelivery would not help
+            log.warn("Ignoring blocker change event with invalid id: {}", event);
+        }
+    }
+}
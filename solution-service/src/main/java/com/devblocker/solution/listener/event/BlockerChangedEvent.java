@@ -0,0 +1,11 @@
+package com.devblocker.solution.listener.event;
+
+import lombok.Data;
+
+/**
+ * Common part of blocker.updated / blocker.resolved events; only the id is needed to invalidate the cache
+ */
+@Data
+public class BlockerChangedEvent {
+    private String blockerId;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -14,13 +15,15 @@ import java.util.UUID;
 @Entity
 @Table(name = "solutions", indexes = {
     @Index(name = "idx_blocker_id", columnList = "blocker_id"),
-    @Index(name = "idx_user_id", columnList = "user_id"),
-    @Index(name = "idx_accepted", columnList = "accepted")
+    @Index(name = "idx_user_accepted", columnList = "user_id, accepted"),
+    @Index(name = "idx_accepted", columnList = "accepted"),
+    @Index(name = "idx_blocker_rank", columnList = "blocker_id, rank_score")
 })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@DynamicUpdate // Entity updates must not rewrite upvotes, which is maintained by atomic increments
 public class Solution {
     
     @Id
@@ -37,7 +40,7 @@ public class Solution {
     @Column(name = "content", nullable = false, columnDefinition = "TEXT")
     private String content;
     
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY) // Listings batch-load media with SolutionRepository.findMediaUrls
     @CollectionTable(name = "solution_media", joinColumns = @JoinColumn(name = "solution_id"))
     @Column(name = "media_url")
     @Builder.Default
@@ -51,6 +54,9 @@ public class Solution {
     @Builder.Default
     private Boolean accepted = false;
     
+    @Column(name = "rank_score")
+    private Double rankScore; // Maintained by SolutionRankingService; listing order within a blocker
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -10,7 +10,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "stored_files")
+@Table(name = "stored_files", indexes = {
+    @Index(name = "idx_stored_file_hash", columnList = "content_hash")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -34,9 +36,9 @@ public class StoredFile {
     @Column(name = "file_size", nullable = false)
     private Long fileSize;
     
-    @Lob
-    @Column(name = "file_data", nullable = false, columnDefinition = "LONGBLOB")
-    private byte[] fileData;
+    // SHA-256 of the content, also the key of the body in the BlobStore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
     
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -1,9 +1,15 @@
 package com.devblocker.solution.repository;
 
 import com.devblocker.solution.model.Solution;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,7 +17,19 @@ import java.util.UUID;
 @Repository
 public interface SolutionRepository extends JpaRepository<Solution, UUID> {
     
-    List<Solution> findByBlockerIdOrderByUpvotesDescCreatedAtAsc(UUID blockerId);
+    /**
+     * A blocker's solutions best first as (solutionId, userId, content, upvotes, accepted, createdAt) rows,
+     * read in index order from idx_blocker_rank; media is fetched separately with findMediaUrls
+     */
+    @Query("SELECT s.solutionId, s.userId, s.content, s.upvotes, s.accepted, s.createdAt FROM Solution s " +
+           "WHERE s.blockerId = :blockerId ORDER BY s.rankScore DESC")
+    List<Object[]> findListRowsByBlockerId(@Param("blockerId") UUID blockerId);
+    
+    /**
+     * Media of several solutions in one query as (solutionId, mediaUrl) rows
+     */
+    @Query("SELECT s.solutionId, m FROM Solution s JOIN s.mediaUrls m WHERE s.solutionId IN :solutionIds")
+    List<Object[]> findMediaUrls(@Param("solutionIds") Collection<UUID> solutionIds);
     
     List<Solution> findByBlockerIdAndAcceptedTrue(UUID blockerId);
     
@@ -23,8 +41,43 @@ public interface SolutionRepository extends JpaRepository<Solution, UUID> {
     
     List<Solution> findByUserId(UUID userId);
     
-    long countByUserId(UUID userId);
+    /**
+     * Solution counts for several users in one grouped query as (userId, total, accepted) rows,
+     * answered from idx_user_accepted; users without solutions have no row
+     */
+    @Query("SELECT s.userId, COUNT(s), SUM(CASE WHEN s.accepted = true THEN 1 ELSE 0 END) FROM Solution s " +
+           "WHERE s.userId IN :userIds GROUP BY s.userId")
+    List<Object[]> countStatsByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+    
+    /**
+     * Atomically add the same number of votes to several solutions (write-behind flush)
+     */
+    @Modifying
+    @Query("UPDATE Solution s SET s.upvotes = s.upvotes + :delta WHERE s.solutionId IN :solutionIds")
+    int addUpvotes(@Param("delta") int delta, @Param("solutionIds") Collection<UUID> solutionIds);
+    
+    /**
+     * Reset drifted upvote counts to the number of recorded votes
+     * Solutions voted on after settledBefore are skipped: those votes may still be pending in some
+     * instance's write-behind counter, and recounting them would count them twice
+     */
+    @Modifying
+    @Query("UPDATE Solution s SET s.upvotes = " +
+           "(SELECT COUNT(u) FROM SolutionUpvote u WHERE u.solutionId = s.solutionId) " +
+           "WHERE s.upvotes <> (SELECT COUNT(u) FROM SolutionUpvote u WHERE u.solutionId = s.solutionId) " +
+           "AND NOT EXISTS (SELECT 1 FROM SolutionUpvote r WHERE r.solutionId = s.solutionId AND r.createdAt > :settledBefore)")
+    int recountUpvotes(@Param("settledBefore") LocalDateTime settledBefore);
     
-    long countByUserIdAndAcceptedTrue(UUID userId);
+    /**
+     * Ranking inputs as (solutionId, upvotes, accepted, createdAt) rows
+     */
+    @Query("SELECT s.solutionId, s.upvotes, s.accepted, s.createdAt FROM Solution s WHERE s.solutionId IN :solutionIds")
+    List<Object[]> findRankInputs(@Param("solutionIds") Collection<UUID> solutionIds);
+    
+    @Modifying
+    @Query("UPDATE Solution s SET s.rankScore = :rankScore WHERE s.solutionId = :solutionId")
+    int updateRankScore(@Param("solutionId") UUID solutionId, @Param("rankScore") double rankScore);
+    
+    @Query("SELECT s.solutionId FROM Solution s WHERE s.rankScore IS NULL")
+    List<UUID> findIdsWithoutRankScore(Pageable pageable);
 }
-
@@ -2,8 +2,12 @@ package com.devblocker.solution.repository;
 
 import com.devblocker.solution.model.SolutionUpvote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,5 +19,17 @@ public interface SolutionUpvoteRepository extends JpaRepository<SolutionUpvote,
     boolean existsBySolutionIdAndUserId(UUID solutionId, UUID userId);
     
     long countBySolutionId(UUID solutionId);
+    
+    /**
+     * Record a vote unless the user already voted; the unique (solution_id, user_id) constraint decides
+     * 
+     * @return 1 if the vote was recorded, 0 for a duplicate
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO solution_upvotes (upvote_id, solution_id, user_id, created_at) " +
+                   "VALUES (:upvoteId, :solutionId, :userId, :createdAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("upvoteId") UUID upvoteId,
+                       @Param("solutionId") UUID solutionId,
+                       @Param("userId") UUID userId,
+                       @Param("createdAt") LocalDateTime createdAt);
 }
-
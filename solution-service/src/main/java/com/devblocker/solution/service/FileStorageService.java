@@ -2,12 +2,16 @@ package com.devblocker.solution.service;
 
 import com.devblocker.solution.model.StoredFile;
 import com.devblocker.solution.repository.StoredFileRepository;
+import com.devblocker.solution.service.storage.BlobStore;
+import com.devblocker.solution.service.storage.StoredBlob;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -18,6 +22,7 @@ import java.util.UUID;
 public class FileStorageService {
     
     private final StoredFileRepository storedFileRepository;
+    private final BlobStore blobStore;
     
     private static final long MAX_FILE_SIZE = 50 * 1024 * 1024; // 50MB
     private static final List<String> ALLOWED_IMAGE_TYPES = List.of(
@@ -72,23 +77,25 @@ public class FileStorageService {
             }
             String filename = UUID.randomUUID().toString() + extension;
             
-            // Read file data into byte array
-            byte[] fileData = file.getBytes();
+            // Stream file body into the blob store; only metadata goes to the database
+            StoredBlob blob;
+            try (InputStream content = file.getInputStream()) {
+                blob = blobStore.store(content);
+            }
             
-            // Store file in database
             StoredFile storedFile = StoredFile.builder()
                     .filename(filename)
                     .originalFilename(originalFilename)
                     .contentType(contentType)
-                    .fileSize(file.getSize())
-                    .fileData(fileData)
+                    .fileSize(blob.size())
+                    .contentHash(blob.contentHash())
                     .build();
             
             storedFile = storedFileRepository.save(storedFile);
             
             // Return URL path using file ID
             String fileUrl = "/api/v1/solutions/files/" + storedFile.getFileId();
-            log.info("File stored successfully in database: {} (ID: {})", fileUrl, storedFile.getFileId());
+            log.info("File stored successfully: {} (ID: {}, hash: {})", fileUrl, storedFile.getFileId(), blob.contentHash());
             
             return fileUrl;
         } catch (IOException e) {
@@ -102,6 +109,13 @@ public class FileStorageService {
                 .orElseThrow(() -> new RuntimeException("File not found with ID: " + fileId));
     }
     
+    public Resource loadContent(StoredFile storedFile) {
+        if (storedFile.getContentHash() == null) {
+            throw new RuntimeException("File content not migrated yet: " + storedFile.getFileId());
+        }
+        return blobStore.load(storedFile.getContentHash());
+    }
+    
     public StoredFile loadFileByFilename(String filename) {
         return storedFileRepository.findByFilename(filename)
                 .orElseThrow(() -> new RuntimeException("File not found with filename: " + filename));
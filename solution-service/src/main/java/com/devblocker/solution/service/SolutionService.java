@@ -5,21 +5,29 @@ import com.devblocker.solution.client.UserServiceClient;
 import com.devblocker.solution.dto.AcceptSolutionRequest;
 import com.devblocker.solution.dto.CreateSolutionRequest;
 import com.devblocker.solution.dto.SolutionResponse;
+import com.devblocker.solution.dto.SolutionStatsResponse;
 import com.devblocker.solution.dto.UpvoteRequest;
 import com.devblocker.solution.model.Solution;
-import com.devblocker.solution.model.SolutionUpvote;
 import com.devblocker.solution.repository.SolutionRepository;
 import com.devblocker.solution.repository.SolutionUpvoteRepository;
+import com.devblocker.solution.service.cache.BlockerCache;
+import com.devblocker.solution.service.ranking.SolutionRankingService;
+import com.devblocker.solution.service.upvote.UpvoteCounterService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -31,11 +39,17 @@ public class SolutionService {
     private final EventPublisher eventPublisher;
     private final BlockerServiceClient blockerServiceClient;
     private final UserServiceClient userServiceClient;
+    private final UpvoteCounterService upvoteCounterService;
+    private final BlockerCache blockerCache;
+    private final SolutionRankingService solutionRankingService;
+    
+    @Value("${solution.stats.max-batch-size:200}")
+    private int statsMaxBatchSize;
     
     @Transactional
     public SolutionResponse addSolution(UUID blockerId, CreateSolutionRequest request, String authToken) {
-        // Validate blocker exists
-        if (!blockerServiceClient.blockerExists(blockerId, authToken)) {
+        // Validate blocker exists (served from BlockerCache, blocker-service is only called on a miss)
+        if (!blockerExists(blockerId, authToken)) {
             throw new IllegalArgumentException("Blocker not found: " + blockerId);
         }
         
@@ -49,6 +63,7 @@ public class SolutionService {
         
         log.info("Creating solution with mediaUrls: {} (size: {})", mediaUrlsList, mediaUrlsList.size());
         
+        LocalDateTime now = LocalDateTime.now();
         Solution solution = Solution.builder()
                 .blockerId(blockerId)
                 .userId(request.getUserId())
@@ -56,6 +71,8 @@ public class SolutionService {
                 .mediaUrls(mediaUrlsList)
                 .upvotes(0)
                 .accepted(false)
+                .rankScore(solutionRankingService.score(0, false, now))
+                .createdAt(now)
                 .build();
         
         // Ensure mediaUrls list is properly initialized (defensive check for JPA @ElementCollection with Lombok Builder)
@@ -72,71 +89,77 @@ public class SolutionService {
                 savedSolution.getSolutionId(), savedSolution.getMediaUrls(), 
                 savedSolution.getMediaUrls() != null ? savedSolution.getMediaUrls().size() : 0);
         
-        // Publish event after transaction commit
-        TransactionSynchronizationManager.registerSynchronization(
-                new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        eventPublisher.publishSolutionAdded(savedSolution);
-                    }
-                }
-        );
+        // Queued in the outbox within this transaction; relayed after commit
+        eventPublisher.publishSolutionAdded(savedSolution);
         
         log.info("Solution created: {} for blocker: {}", savedSolution.getSolutionId(), blockerId);
         
         return mapToResponse(savedSolution);
     }
     
+    /**
+     * List a blocker's solutions best first
+     * Two queries regardless of the number of solutions: the rows in rank order, then all their media
+     */
+    @Transactional(readOnly = true)
     public List<SolutionResponse> getSolutionsByBlocker(UUID blockerId) {
-        List<Solution> solutions = solutionRepository.findByBlockerIdOrderByUpvotesDescCreatedAtAsc(blockerId);
-        log.info("Retrieved {} solutions for blocker: {}", solutions.size(), blockerId);
-        solutions.forEach(sol -> {
-            log.info("Solution ID: {}, mediaUrls: {} (size: {})", 
-                    sol.getSolutionId(), sol.getMediaUrls(), 
-                    sol.getMediaUrls() != null ? sol.getMediaUrls().size() : 0);
-        });
-        return solutions.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<Object[]> rows = solutionRepository.findListRowsByBlockerId(blockerId);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<UUID, SolutionResponse> responses = new LinkedHashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            UUID solutionId = (UUID) row[0];
+            responses.put(solutionId, SolutionResponse.builder()
+                    .solutionId(solutionId)
+                    .blockerId(blockerId)
+                    .userId((UUID) row[1])
+                    .content((String) row[2])
+                    .mediaUrls(new ArrayList<>())
+                    .upvotes((Integer) row[3] + (int) upvoteCounterService.pendingVotes(solutionId))
+                    .accepted((Boolean) row[4])
+                    .createdAt((LocalDateTime) row[5])
+                    .build());
+        }
+        for (Object[] media : solutionRepository.findMediaUrls(responses.keySet())) {
+            responses.get((UUID) media[0]).getMediaUrls().add((String) media[1]);
+        }
+        
+        log.debug("Retrieved {} solutions for blocker: {}", responses.size(), blockerId);
+        return new ArrayList<>(responses.values());
     }
     
+    /**
+     * Record an upvote; idempotent per user
+     * Only the solution_upvotes row is written here; the solution's counter is updated write-behind by
+     * UpvoteCounterService, so concurrent votes on one solution do not serialize on its row lock
+     */
     @Transactional
     public SolutionResponse upvoteSolution(UUID solutionId, UpvoteRequest request) {
         Solution solution = solutionRepository.findBySolutionId(solutionId)
                 .orElseThrow(() -> new IllegalArgumentException("Solution not found: " + solutionId));
         
-        // Check if user already upvoted (idempotent)
-        if (upvoteRepository.existsBySolutionIdAndUserId(solutionId, request.getUserId())) {
+        // The unique (solution_id, user_id) constraint makes concurrent duplicates a no-op
+        int inserted = upvoteRepository.insertIfAbsent(
+                UUID.randomUUID(), solutionId, request.getUserId(), LocalDateTime.now());
+        if (inserted == 0) {
             log.debug("User {} already upvoted solution {}", request.getUserId(), solutionId);
             return mapToResponse(solution); // Return current state without error
         }
         
-        // Create upvote record
-        SolutionUpvote upvote = SolutionUpvote.builder()
-                .solutionId(solutionId)
-                .userId(request.getUserId())
-                .build();
-        upvoteRepository.save(upvote);
-        
-        // Increment upvote count
-        solution.setUpvotes(solution.getUpvotes() + 1);
-        final Solution savedSolution = solutionRepository.save(solution);
+        upvoteCounterService.recordAfterCommit(solutionId);
+        int upvotes = currentUpvotes(solution) + 1;
         final UUID finalUserId = request.getUserId();
         
-        // Publish event after transaction commit
-        TransactionSynchronizationManager.registerSynchronization(
-                new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        eventPublisher.publishSolutionUpvoted(savedSolution, finalUserId);
-                    }
-                }
-        );
+        // Queued in the outbox within this transaction; relayed after commit
+        eventPublisher.publishSolutionUpvoted(solution, finalUserId, upvotes);
         
-        log.info("Solution {} upvoted by user {}, total upvotes: {}", 
-                solutionId, finalUserId, savedSolution.getUpvotes());
+        log.info("Solution {} upvoted by user {}, total upvotes: {}", solutionId, finalUserId, upvotes);
         
-        return mapToResponse(solution);
+        SolutionResponse response = mapToResponse(solution);
+        response.setUpvotes(upvotes);
+        return response;
     }
     
     @Transactional
@@ -156,7 +179,7 @@ public class SolutionService {
         }
         
         // Authorization: Only team members can accept solutions
-        BlockerServiceClient.BlockerResponse blocker = blockerServiceClient.getBlocker(solution.getBlockerId(), authToken);
+        BlockerServiceClient.BlockerResponse blocker = findBlocker(solution.getBlockerId(), authToken);
         if (blocker != null && blocker.getTeamCode() != null && request.getUserId() != null) {
             List<String> userTeamCodes = userServiceClient.getUserTeamCodes(request.getUserId(), authToken);
             if (!userTeamCodes.contains(blocker.getTeamCode())) {
@@ -166,7 +189,8 @@ public class SolutionService {
         
         // Mark solution as accepted
         solution.setAccepted(true);
-        final Solution savedSolution = solutionRepository.save(solution);
+        final Solution savedSolution = solutionRepository.saveAndFlush(solution);
+        solutionRankingService.refresh(List.of(solutionId));
         final UUID finalAcceptedBy = request.getUserId();
         
         // Update blocker's best solution via REST call
@@ -180,33 +204,74 @@ public class SolutionService {
             log.warn("Failed to update blocker's best solution, but solution is marked as accepted");
         }
         
-        // Publish event after transaction commit
-        TransactionSynchronizationManager.registerSynchronization(
-                new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        eventPublisher.publishSolutionAccepted(savedSolution, finalAcceptedBy);
-                    }
-                }
-        );
+        // Queued in the outbox within this transaction; relayed after commit
+        eventPublisher.publishSolutionAccepted(savedSolution, finalAcceptedBy);
         
         log.info("Solution {} accepted for blocker: {}", solutionId, savedSolution.getBlockerId());
         
         return mapToResponse(savedSolution);
     }
     
+    @Transactional(readOnly = true)
     public SolutionResponse getSolution(UUID solutionId) {
         Solution solution = solutionRepository.findBySolutionId(solutionId)
                 .orElseThrow(() -> new IllegalArgumentException("Solution not found: " + solutionId));
         return mapToResponse(solution);
     }
     
-    public long getSolutionCountByUser(UUID userId) {
-        return solutionRepository.countByUserId(userId);
+    public SolutionStatsResponse getSolutionStats(UUID userId) {
+        return getSolutionStats(List.of(userId)).get(userId);
+    }
+    
+    /**
+     * Solution counts for several users with a single grouped query
+     * Every requested user is present in the result; users without solutions get zero counts
+     */
+    public Map<UUID, SolutionStatsResponse> getSolutionStats(Collection<UUID> userIds) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(userIds);
+        if (distinctIds.contains(null)) {
+            throw new IllegalArgumentException("User IDs must not be null");
+        }
+        if (distinctIds.size() > statsMaxBatchSize) {
+            throw new IllegalArgumentException("At most " + statsMaxBatchSize + " user IDs can be requested at once");
+        }
+        
+        Map<UUID, SolutionStatsResponse> stats = new LinkedHashMap<>(distinctIds.size() * 2);
+        distinctIds.forEach(userId -> stats.put(userId, new SolutionStatsResponse(0, 0)));
+        if (distinctIds.isEmpty()) {
+            return stats;
+        }
+        
+        for (Object[] row : solutionRepository.countStatsByUserIdIn(distinctIds)) {
+            stats.put((UUID) row[0], SolutionStatsResponse.builder()
+                    .totalSolutions(((Number) row[1]).longValue())
+                    .acceptedSolutions(((Number) row[2]).longValue())
+                    .build());
+        }
+        return stats;
+    }
+    
+    private boolean blockerExists(UUID blockerId, String authToken) {
+        return findBlocker(blockerId, authToken) != null;
+    }
+    
+    /**
+     * Cached blocker details, or null if the blocker does not exist or blocker-service is unavailable
+     */
+    private BlockerServiceClient.BlockerResponse findBlocker(UUID blockerId, String authToken) {
+        try {
+            return blockerCache.getBlocker(blockerId, authToken).orElse(null);
+        } catch (IllegalStateException e) {
+            log.error("Failed to get blocker: {}", blockerId, e);
+            return null;
+        }
     }
     
-    public long getAcceptedSolutionCountByUser(UUID userId) {
-        return solutionRepository.countByUserIdAndAcceptedTrue(userId);
+    /**
+     * Stored count plus votes this instance has not flushed yet
+     */
+    private int currentUpvotes(Solution solution) {
+        return solution.getUpvotes() + (int) upvoteCounterService.pendingVotes(solution.getSolutionId());
     }
     
     private SolutionResponse mapToResponse(Solution solution) {
@@ -215,8 +280,8 @@ public class SolutionService {
                 .blockerId(solution.getBlockerId())
                 .userId(solution.getUserId())
                 .content(solution.getContent())
-                .mediaUrls(solution.getMediaUrls())
-                .upvotes(solution.getUpvotes())
+                .mediaUrls(new ArrayList<>(solution.getMediaUrls()))
+                .upvotes(currentUpvotes(solution))
                 .accepted(solution.getAccepted())
                 .createdAt(solution.getCreatedAt())
                 .build();
@@ -0,0 +1,81 @@
+package com.devblocker.solution.service.cache;
+
+import com.devblocker.solution.client.BlockerServiceClient;
+import com.devblocker.solution.client.BlockerServiceClient.BlockerResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through cache of blocker metadata from blocker-service
+ * Bounded, with a TTL for found blockers and a shorter one for 404s (negative caching). Concurrent
+ * lookups of the same id share one in-flight HTTP call; failures are not cached. Entries are evicted
+ * early when blocker.updated / blocker.resolved events arrive (BlockerChangeListener)
+ */
+@Slf4j
+@Service
+public class BlockerCache {
+    
+    private final BlockerServiceClient blockerServiceClient;
+    private final Cache<UUID, Optional<BlockerResponse>> blockers;
+    
+    public BlockerCache(BlockerServiceClient blockerServiceClient,
+                        @Value("${solution.blocker-cache.max-size:10000}") long maxSize,
+                        @Value("${solution.blocker-cache.ttl-seconds:300}") long ttlSeconds,
+                        @Value("${solution.blocker-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.blockerServiceClient = blockerServiceClient;
+        this.blockers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new PresenceExpiry(Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(negativeTtlSeconds)))
+                .build();
+    }
+    
+    /**
+     * Get blocker details, loading from blocker-service on a miss
+     * 
+     * @return Blocker details, or empty if the blocker does not exist
+     * @throws IllegalStateException if blocker-service could not be reached (nothing is cached)
+     */
+    public Optional<BlockerResponse> getBlocker(UUID blockerId, String authToken) {
+        return blockers.get(blockerId, id -> {
+            log.debug("Blocker cache miss for {}", id);
+            return blockerServiceClient.findBlocker(id, authToken);
+        });
+    }
+    
+    public boolean blockerExists(UUID blockerId, String authToken) {
+        return getBlocker(blockerId, authToken).isPresent();
+    }
+    
+    public void invalidate(UUID blockerId) {
+        blockers.invalidate(blockerId);
+    }
+    
+    /**
+     * Found blockers live for the TTL, 404s for the (shorter) negative TTL
+     */
+    private record PresenceExpiry(Duration ttl, Duration negativeTtl) implements Expiry<UUID, Optional<BlockerResponse>> {
+        
+        @Override
+        public long expireAfterCreate(UUID key, Optional<BlockerResponse> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+        
+        @Override
+        public long expireAfterUpdate(UUID key, Optional<BlockerResponse> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(UUID key, Optional<BlockerResponse> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+// Generated from shared/outbox by scripts/sync-outbox.sh - edit the shared copy, not this file
+package com.devblocker.solution.service.outbox;
+
+import com.devblocker.solution.model.OutboxEvent;
+import com.devblocker.solution.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.batch.MessageBatch;
+import org.springframework.amqp.rabbit.batch.SimpleBatchingStrategy;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox to RabbitMQ in batches
+ * Each batch is sent with correlated publisher confirms; only acked events are marked published,
+ * everything else is retried with exponential backoff. Request threads never talk to the broker.
+ * High-volume routing keys listed in outbox.relay.batching.routing-keys are packed into batched messages.
+ * 
+ * No transaction or row lock is held while talking to the broker: a short transaction claims a batch
+ * by leasing it (next_attempt_at = now + outbox.relay.lease-ms), the batch is published and its confirms
+ * awaited outside any transaction, and a second short transaction records the outcome. A relay that
+ * dies mid-batch leaves its events to be re-sent once the lease runs out.
+ * 
+ * Delivery is at least once and not ordered: retries back off per event, so a later event for the same
+ * aggregate can overtake one that failed. Consumers must tolerate duplicates and reordering
+ * (e.g. by comparing the event's timestamp against the state they hold).
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer deliveryLatency;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+    
+    @Value("${outbox.relay.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+    
+    @Value("${outbox.relay.lease-ms:30000}")
+    private long leaseMs;
+    
+    @Value("${outbox.relay.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+    
+    @Value("${outbox.retention-hours:24}")
+    private long retentionHours;
+    
+    @Value("${outbox.relay.batching.routing-keys:}")
+    private Set<String> batchedRoutingKeys;
+    
+    @Value("${outbox.relay.batching.max-messages:100}")
+    private int batchMaxMessages;
+    
+    @Value("${outbox.relay.batching.buffer-limit:65536}")
+    private int batchBufferLimit;
+    
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deliveryLatency = Timer.builder("outbox.delivery.latency")
+                .description("Time from outbox write to broker confirm")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.published")
+                .description("Events confirmed by the broker")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.failed")
+                .description("Publish attempts that were nacked, timed out or failed")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Events written but not yet confirmed")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest unpublished event")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:250}")
+    public void relay() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = claim(now);
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        // Events whose routing key is configured for batching are packed into one AMQP message per
+        // chunk (consumers de-batch transparently); everything else is sent one message per event
+        Map<CorrelationData, List<OutboxEvent>> inFlight = new LinkedHashMap<>();
+        List<OutboxEvent> failed = new ArrayList<>();
+        Map<String, List<OutboxEvent>> batchable = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            if (batchedRoutingKeys.contains(event.getRoutingKey())) {
+                batchable.computeIfAbsent(event.getExchange() + '|' + event.getRoutingKey(), key -> new ArrayList<>())
+                        .add(event);
+            } else {
+                send(List.of(event), toMessage(event), inFlight, failed);
+            }
+        }
+        for (List<OutboxEvent> events : batchable.values()) {
+            sendBatched(events, inFlight, failed);
+        }
+        
+        // Wait for all confirms of the batch against one shared deadline
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        List<Long> publishedIds = new ArrayList<>();
+        for (Map.Entry<CorrelationData, List<OutboxEvent>> entry : inFlight.entrySet()) {
+            List<OutboxEvent> events = entry.getValue();
+            try {
+                CorrelationData.Confirm confirm = entry.getKey().getFuture()
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (confirm.ack()) {
+                    LocalDateTime ackedAt = LocalDateTime.now();
+                    for (OutboxEvent event : events) {
+                        publishedIds.add(event.getId());
+                        deliveryLatency.record(Duration.between(event.getCreatedAt(), ackedAt));
+                    }
+                } else {
+                    failed(events, "Nacked by broker: " + confirm.reason(), failed);
+                }
+            } catch (TimeoutException e) {
+                failed(events, "Publisher confirm timed out", failed);
+            } catch (ExecutionException e) {
+                failed(events, e.getCause() != null ? e.getCause().getMessage() : e.getMessage(), failed);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed(events, "Interrupted while waiting for confirm", failed);
+            }
+        }
+        
+        complete(publishedIds, failed);
+        log.debug("Outbox relay published {} of {} events", publishedIds.size(), batch.size());
+    }
+    
+    /**
+     * Select the next due events with SKIP LOCKED and lease them, in one short transaction
+     */
+    private List<OutboxEvent> claim(LocalDateTime now) {
+        return transactionTemplate.execute(status -> {
+            List<OutboxEvent> due = outboxEventRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+            if (!due.isEmpty()) {
+                outboxEventRepository.lease(due.stream().map(OutboxEvent::getId).toList(),
+                        now.plus(Duration.ofMillis(leaseMs)));
+            }
+            return due;
+        });
+    }
+    
+    /**
+     * Record the outcome of a batch: acked events are published, failed ones get their backoff
+     */
+    private void complete(List<Long> publishedIds, List<OutboxEvent> failed) {
+        if (publishedIds.isEmpty() && failed.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!publishedIds.isEmpty()) {
+                outboxEventRepository.markPublished(publishedIds, LocalDateTime.now());
+            }
+            for (OutboxEvent event : failed) {
+                outboxEventRepository.scheduleRetry(event.getId(), event.getAttempts(), event.getNextAttemptAt(),
+                        event.getLastError());
+            }
+        });
+        publishedCounter.increment(publishedIds.size());
+    }
+    
+    @Scheduled(fixedDelayString = "${outbox.metrics.interval-ms:10000}")
+    public void updateMetrics() {
+        try {
+            pendingEvents.set(outboxEventRepository.countByPublishedAtIsNull());
+            LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt();
+            lagMillis.set(oldest != null ? Duration.between(oldest, LocalDateTime.now()).toMillis() : 0);
+        } catch (Exception e) {
+            log.warn("Failed to update outbox metrics: {}", e.getMessage());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${outbox.cleanup.interval-ms:3600000}")
+    @Transactional
+    public void deletePublished() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.debug("Deleted {} published outbox events", deleted);
+        }
+    }
+    
+    private void send(List<OutboxEvent> events, Message message,
+                      Map<CorrelationData, List<OutboxEvent>> inFlight, List<OutboxEvent> failed) {
+        OutboxEvent first = events.get(0);
+        CorrelationData correlation = new CorrelationData(first.getId().toString());
+        try {
+            rabbitTemplate.send(first.getExchange(), first.getRoutingKey(), message, correlation);
+            inFlight.put(correlation, events);
+        } catch (Exception e) {
+            failed(events, e.getMessage(), failed);
+        }
+    }
+    
+    /**
+     * Packs events sharing an exchange and routing key into batches bounded by message count and bytes
+     * Uses the same wire format as BatchingRabbitTemplate, but keeps one correlated confirm per batch so
+     * every member can be marked published or retried together
+     */
+    private void sendBatched(List<OutboxEvent> events,
+                             Map<CorrelationData, List<OutboxEvent>> inFlight, List<OutboxEvent> failed) {
+        List<OutboxEvent> chunk = new ArrayList<>();
+        int chunkBytes = 0;
+        for (OutboxEvent event : events) {
+            // Each fragment carries a 4-byte length prefix
+            int eventBytes = event.getPayload().length + 4;
+            if (!chunk.isEmpty() && (chunk.size() >= batchMaxMessages || chunkBytes + eventBytes > batchBufferLimit)) {
+                sendChunk(chunk, inFlight, failed);
+                chunk = new ArrayList<>();
+                chunkBytes = 0;
+            }
+            chunk.add(event);
+            chunkBytes += eventBytes;
+        }
+        if (!chunk.isEmpty()) {
+            sendChunk(chunk, inFlight, failed);
+        }
+    }
+    
+    private void sendChunk(List<OutboxEvent> chunk,
+                           Map<CorrelationData, List<OutboxEvent>> inFlight, List<OutboxEvent> failed) {
+        if (chunk.size() == 1) {
+            send(chunk, toMessage(chunk.get(0)), inFlight, failed);
+            return;
+        }
+        OutboxEvent first = chunk.get(0);
+        SimpleBatchingStrategy strategy = new SimpleBatchingStrategy(chunk.size(), Integer.MAX_VALUE, Long.MAX_VALUE);
+        MessageBatch messageBatch = null;
+        for (OutboxEvent event : chunk) {
+            messageBatch = strategy.addToBatch(first.getExchange(), first.getRoutingKey(), toMessage(event));
+        }
+        send(chunk, messageBatch.message(), inFlight, failed);
+    }
+    
+    private Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(event.getContentType());
+        properties.setContentEncoding(event.getContentEncoding());
+        properties.setMessageId(event.getId().toString());
+        properties.setTimestamp(Date.from(event.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant()));
+        if (event.getTypeId() != null) {
+            properties.setHeader(OutboxService.TYPE_ID_HEADER, event.getTypeId());
+        }
+        return new Message(event.getPayload(), properties);
+    }
+    
+    private void failed(List<OutboxEvent> events, String error, List<OutboxEvent> failed) {
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : events) {
+            scheduleRetry(event, now, error);
+            failed.add(event);
+        }
+    }
+    
+    private void scheduleRetry(OutboxEvent event, LocalDateTime now, String error) {
+        int attempts = event.getAttempts() + 1;
+        long backoffMs = Math.min(maxBackoffMs, 1000L << Math.min(attempts - 1, 20));
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(now.plus(Duration.ofMillis(backoffMs)));
+        event.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        failedCounter.increment();
+        log.warn("Failed to publish outbox event {} ({}), attempt {}: {}",
+                event.getId(), event.getRoutingKey(), attempts, error);
+    }
+}
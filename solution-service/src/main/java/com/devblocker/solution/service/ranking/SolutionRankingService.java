@@ -0,0 +1,93 @@
+package com.devblocker.solution.service.ranking;
+
+import com.devblocker.solution.repository.SolutionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintains solutions.rank_score, the stored order of a blocker's solutions
+ * Hot score with time decay: log10(upvotes) plus creation time over the decay period, so a newer
+ * answer needs 10x fewer votes per decay period to rank level with an older one; accepted solutions
+ * get a boost that puts them first. Votes only ever arrive without downvotes, so a Wilson lower bound
+ * (which needs a negative count) does not apply. Scores are recomputed only when votes are flushed or
+ * a solution is accepted; since the decay is anchored at creation time, no periodic re-scoring is needed
+ */
+@Slf4j
+@Service
+public class SolutionRankingService {
+    
+    // Keeps the time term small; any fixed instant works since only differences matter
+    private static final long EPOCH_OFFSET_SECONDS = LocalDateTime.of(2024, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    
+    private final SolutionRepository solutionRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${solution.ranking.decay-seconds:604800}")
+    private double decaySeconds;
+    
+    @Value("${solution.ranking.accepted-boost:10000}")
+    private double acceptedBoost;
+    
+    @Value("${solution.ranking.backfill-batch-size:500}")
+    private int backfillBatchSize;
+    
+    public SolutionRankingService(SolutionRepository solutionRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.solutionRepository = solutionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    public double score(int upvotes, boolean accepted, LocalDateTime createdAt) {
+        double votes = Math.log10(Math.max(upvotes, 1));
+        double age = (createdAt.toEpochSecond(ZoneOffset.UTC) - EPOCH_OFFSET_SECONDS) / decaySeconds;
+        return votes + age + (accepted ? acceptedBoost : 0);
+    }
+    
+    /**
+     * Recompute the stored score of solutions from their current upvotes and accepted flag
+     * Must run in the transaction that changed them, after the change is written
+     */
+    public void refresh(Collection<UUID> solutionIds) {
+        if (solutionIds.isEmpty()) {
+            return;
+        }
+        for (Object[] row : solutionRepository.findRankInputs(solutionIds)) {
+            UUID solutionId = (UUID) row[0];
+            double score = score((Integer) row[1], (Boolean) row[2], (LocalDateTime) row[3]);
+            solutionRepository.updateRankScore(solutionId, score);
+        }
+    }
+    
+    /**
+     * Score solutions created before rank_score existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int scored = 0;
+        int batch;
+        do {
+            Integer updated = transactionTemplate.execute(status -> {
+                List<UUID> ids = solutionRepository.findIdsWithoutRankScore(PageRequest.of(0, backfillBatchSize));
+                refresh(ids);
+                return ids.size();
+            });
+            batch = updated != null ? updated : 0;
+            scored += batch;
+        } while (batch == backfillBatchSize);
+        if (scored > 0) {
+            log.info("Backfilled rank scores for {} solutions", scored);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.devblocker.solution.service.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Content-addressed storage for uploaded file bodies
+ * Blobs are keyed by the SHA-256 of their content; the database only keeps file metadata
+ */
+public interface BlobStore {
+    
+    /**
+     * Stream content into the store without buffering it in memory
+     * 
+     * @param content Upload stream, read to the end but not closed
+     * @return Content hash and size of the stored blob
+     */
+    StoredBlob store(InputStream content) throws IOException;
+    
+    /**
+     * Open a stored blob for reading
+     * 
+     * @param contentHash SHA-256 hex key returned by store
+     * @return Resource backed by the blob; file-backed resources support range reads
+     */
+    Resource load(String contentHash);
+    
+    boolean exists(String contentHash);
+}
@@ -0,0 +1,4 @@
+package com.devblocker.solution.service.storage;
+
+public record StoredBlob(String contentHash, long size) {
+}
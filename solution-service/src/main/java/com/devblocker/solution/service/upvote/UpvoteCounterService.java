@@ -0,0 +1,184 @@
+package com.devblocker.solution.service.upvote;
+
+import com.devblocker.solution.repository.SolutionRepository;
+import com.devblocker.solution.service.ranking.SolutionRankingService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind counter for solutions.upvotes
+ * Votes are recorded in solution_upvotes by the request transaction; after commit they only bump a
+ * striped in-memory counter, so concurrent upvotes on a hot solution never contend on its row. A
+ * scheduled flush moves the accumulated deltas to the database with atomic "upvotes = upvotes + ?"
+ * UPDATEs, one statement per distinct delta, in a single transaction that also re-scores the solutions
+ */
+@Slf4j
+@Service
+public class UpvoteCounterService {
+    
+    private final SolutionRepository solutionRepository;
+    private final SolutionRankingService solutionRankingService;
+    private final TransactionTemplate transactionTemplate;
+    
+    // Unflushed deltas; a counter left empty for a whole flush interval is evicted
+    private final Map<UUID, Counter> pending = new ConcurrentHashMap<>();
+    
+    // Deltas drained by a flush whose transaction has not committed yet, still counted by pendingVotes
+    private final Map<UUID, Long> flushing = new ConcurrentHashMap<>();
+    
+    // Votes newer than this may still be pending on some instance, so reconcile leaves their solutions alone
+    private final Duration reconcileSettle;
+    
+    public UpvoteCounterService(SolutionRepository solutionRepository,
+                                SolutionRankingService solutionRankingService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${solution.upvotes.reconcile-settle-seconds:300}") long reconcileSettleSeconds) {
+        this.solutionRepository = solutionRepository;
+        this.solutionRankingService = solutionRankingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileSettle = Duration.ofSeconds(reconcileSettleSeconds);
+    }
+    
+    /**
+     * Count a vote once the current transaction (which inserted the solution_upvotes row) commits
+     */
+    public void recordAfterCommit(UUID solutionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(solutionId, 1);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        increment(solutionId, 1);
+                    }
+                }
+        );
+    }
+    
+    /**
+     * Votes counted on this instance but not yet in solutions.upvotes
+     */
+    public long pendingVotes(UUID solutionId) {
+        Counter counter = pending.get(solutionId);
+        long unflushed = counter != null ? counter.votes.sum() : 0;
+        return unflushed + flushing.getOrDefault(solutionId, 0L);
+    }
+    
+    @Scheduled(fixedDelayString = "${solution.upvotes.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        flushPending();
+    }
+    
+    /**
+     * Recount solutions.upvotes from solution_upvotes, repairing deltas lost by a crash
+     * Holds the flush lock, so no local flush runs in between. Solutions with votes younger than
+     * solution.upvotes.reconcile-settle-seconds are skipped, as those votes may still be pending here or
+     * on another instance; they are repaired by a later run. Nothing is recounted if the flush failed
+     */
+    @Scheduled(cron = "${solution.upvotes.reconcile-cron:0 15 4 * * *}")
+    public synchronized void reconcile() {
+        if (!flushPending()) {
+            log.warn("Skipping upvote reconciliation, pending deltas could not be flushed");
+            return;
+        }
+        LocalDateTime settledBefore = LocalDateTime.now().minus(reconcileSettle);
+        Integer repaired = transactionTemplate.execute(status -> solutionRepository.recountUpvotes(settledBefore));
+        if (repaired != null && repaired > 0) {
+            log.info("Reconciled upvote counts for {} solutions", repaired);
+        }
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    /**
+     * @return false if the deltas could not be written (they are put back for the next flush)
+     */
+    private boolean flushPending() {
+        // sumThenReset drains each cell atomically, so votes added during the drain land in the next flush
+        Map<UUID, Long> deltas = new HashMap<>();
+        pending.forEach((solutionId, counter) -> {
+            long delta = counter.votes.sumThenReset();
+            if (delta != 0) {
+                deltas.put(solutionId, delta);
+            } else {
+                evict(solutionId, counter);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return true;
+        }
+        flushing.putAll(deltas);
+        
+        // Group by delta (under load most are small) and update in id order so concurrent instances lock alike
+        Map<Long, List<UUID>> idsByDelta = new TreeMap<>();
+        new TreeMap<>(deltas).forEach((solutionId, delta) ->
+                idsByDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(solutionId));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                idsByDelta.forEach((delta, solutionIds) ->
+                        solutionRepository.addUpvotes(delta.intValue(), solutionIds));
+                // Rows are locked by the increments, so the scores see the final counts
+                solutionRankingService.refresh(deltas.keySet());
+            });
+            log.debug("Flushed upvotes for {} solutions in {} statements", deltas.size(), idsByDelta.size());
+            return true;
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them
+            deltas.forEach(this::increment);
+            log.warn("Failed to flush upvotes for {} solutions, will retry: {}", deltas.size(), e.getMessage());
+            return false;
+        } finally {
+            deltas.keySet().forEach(flushing::remove);
+        }
+    }
+    
+    private void increment(UUID solutionId, long votes) {
+        while (votes != 0) {
+            Counter counter = pending.computeIfAbsent(solutionId, id -> new Counter());
+            counter.votes.add(votes);
+            if (!counter.retired) {
+                return;
+            }
+            // Evicted concurrently: move what is left in the retired counter (possibly our votes) to a live one
+            votes = counter.votes.sumThenReset();
+        }
+    }
+    
+    /**
+     * Drop an idle counter; votes that raced into it are moved to a fresh counter by whoever sees it retired
+     */
+    private void evict(UUID solutionId, Counter counter) {
+        if (pending.remove(solutionId, counter)) {
+            counter.retired = true;
+            increment(solutionId, counter.votes.sumThenReset());
+        }
+    }
+    
+    private static final class Counter {
+        private final LongAdder votes = new LongAdder();
+        private volatile boolean retired;
+    }
+}
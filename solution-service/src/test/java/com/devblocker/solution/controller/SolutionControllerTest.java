@@ -0,0 +1,87 @@
+package com.devblocker.solution.controller;
+
+import com.devblocker.solution.dto.SolutionStatsResponse;
+import com.devblocker.solution.service.FileStorageService;
+import com.devblocker.solution.service.SolutionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SolutionController.class)
+class SolutionControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockitoBean
+    private SolutionService solutionService;
+    
+    @MockitoBean
+    private FileStorageService fileStorageService;
+    
+    @Test
+    void batchStatsAreKeyedByUserId() throws Exception {
+        UUID withSolutions = UUID.randomUUID();
+        UUID withoutSolutions = UUID.randomUUID();
+        Map<UUID, SolutionStatsResponse> stats = new LinkedHashMap<>();
+        stats.put(withSolutions, new SolutionStatsResponse(4, 3));
+        stats.put(withoutSolutions, new SolutionStatsResponse(0, 0));
+        when(solutionService.getSolutionStats(List.of(withSolutions, withoutSolutions, withSolutions))).thenReturn(stats);
+        
+        mockMvc.perform(post("/api/v1/users/solutions/stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(userIds(withSolutions, withoutSolutions, withSolutions)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$['" + withSolutions + "'].totalSolutions").value(4))
+                .andExpect(jsonPath("$['" + withSolutions + "'].acceptedSolutions").value(3))
+                .andExpect(jsonPath("$['" + withoutSolutions + "'].totalSolutions").value(0));
+    }
+    
+    @Test
+    void batchStatsOverTheLimitIsBadRequest() throws Exception {
+        when(solutionService.getSolutionStats(anyCollection()))
+                .thenThrow(new IllegalArgumentException("At most 200 user IDs can be requested at once"));
+        
+        mockMvc.perform(post("/api/v1/users/solutions/stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(userIds(UUID.randomUUID(), UUID.randomUUID())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("At most 200 user IDs can be requested at once"));
+    }
+    
+    @Test
+    void batchStatsWithoutUserIdsIsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/users/solutions/stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userIds\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.userIds").value("At least one user ID is required"));
+        
+        verify(solutionService, never()).getSolutionStats(anyCollection());
+    }
+    
+    private static String userIds(UUID... userIds) {
+        StringBuilder json = new StringBuilder("{\"userIds\":[");
+        for (int i = 0; i < userIds.length; i++) {
+            json.append(i > 0 ? "," : "").append('"').append(userIds[i]).append('"');
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,216 @@
+package com.devblocker.solution.service;
+
+import com.devblocker.solution.client.BlockerServiceClient;
+import com.devblocker.solution.client.UserServiceClient;
+import com.devblocker.solution.dto.SolutionResponse;
+import com.devblocker.solution.model.Solution;
+import com.devblocker.solution.repository.SolutionRepository;
+import com.devblocker.solution.service.cache.BlockerCache;
+import com.devblocker.solution.service.ranking.SolutionRankingService;
+import com.devblocker.solution.service.upvote.UpvoteCounterService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.data.jpa.autoconfigure.DataJpaRepositoriesAutoConfiguration;
+import org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.transaction.autoconfigure.TransactionAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * One blocker listing from H2 (test profile): getSolutionsByBlocker (rank-ordered projection plus one
+ * media query) against loading Solution entities and touching each media collection, as the EAGER
+ * mapping did. statements / listings is JDBC statements per listing; run with -prof gc and read
+ * gc.alloc.rate.norm for bytes allocated per listing
+ * 
+ * Run (see README, Benchmarks): java -cp ... org.openjdk.jmh.Main SolutionListingBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolutionListingBenchmark {
+    
+    @Param({"10", "50"})
+    private int solutions;
+    
+    private ConfigurableApplicationContext context;
+    private SolutionService solutionService;
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+    private UUID blockerId;
+    
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Statements {
+        public long statements;
+        public long listings;
+        
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            listings = 0;
+        }
+    }
+    
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(JpaOnly.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.com.devblocker=WARN", "spring.main.banner-mode=off",
+                        "spring.jpa.properties.hibernate.generate_statistics=true")
+                .run();
+        solutionService = context.getBean(SolutionService.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        blockerId = UUID.randomUUID();
+        List<Solution> seeded = new ArrayList<>(solutions);
+        for (int i = 0; i < solutions; i++) {
+            List<String> media = new ArrayList<>();
+            for (int m = 0; m < i % 3; m++) {
+                media.add("https://cdn.devblocker.io/solutions/" + i + "/" + m + ".png");
+            }
+            seeded.add(Solution.builder()
+                    .blockerId(blockerId)
+                    .userId(UUID.randomUUID())
+                    .content("Try clearing the Gradle cache and re-running with --refresh-dependencies (" + i + ")")
+                    .mediaUrls(media)
+                    .upvotes(i)
+                    .rankScore((double) i)
+                    .createdAt(LocalDateTime.now().minusMinutes(i))
+                    .build());
+        }
+        context.getBean(SolutionRepository.class).saveAll(seeded);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<SolutionResponse> projectionListing(Statements statements) {
+        long before = statistics.getPrepareStatementCount();
+        List<SolutionResponse> listed = solutionService.getSolutionsByBlocker(blockerId);
+        statements.statements += statistics.getPrepareStatementCount() - before;
+        statements.listings++;
+        return listed;
+    }
+    
+    @Benchmark
+    public List<SolutionResponse> entityListing(Statements statements) {
+        long before = statistics.getPrepareStatementCount();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<Solution> loaded = entityManager
+                    .createQuery("SELECT s FROM Solution s WHERE s.blockerId = :blockerId ORDER BY s.rankScore DESC",
+                            Solution.class)
+                    .setParameter("blockerId", blockerId)
+                    .getResultList();
+            List<SolutionResponse> listed = new ArrayList<>(loaded.size());
+            for (Solution solution : loaded) {
+                listed.add(SolutionResponse.builder()
+                        .solutionId(solution.getSolutionId())
+                        .blockerId(solution.getBlockerId())
+                        .userId(solution.getUserId())
+                        .content(solution.getContent())
+                        .mediaUrls(new ArrayList<>(solution.getMediaUrls()))
+                        .upvotes(solution.getUpvotes())
+                        .accepted(solution.getAccepted())
+                        .createdAt(solution.getCreatedAt())
+                        .build());
+            }
+            statements.statements += statistics.getPrepareStatementCount() - before;
+            statements.listings++;
+            return listed;
+        } finally {
+            entityManager.close();
+        }
+    }
+    
+    /**
+     * DataSource, JPA and transactions only; UpvoteCounterService is real (the listing calls it per row),
+     * the other collaborators are stub-only mocks so they do not record calls and skew allocations
+     */
+    @Configuration(proxyBeanMethods = false)
+    @AutoConfigurationPackage(basePackages = "com.devblocker.solution")
+    @ImportAutoConfiguration({
+            DataSourceAutoConfiguration.class,
+            DataSourceTransactionManagerAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            DataJpaRepositoriesAutoConfiguration.class,
+            TransactionAutoConfiguration.class
+    })
+    @Import(SolutionService.class)
+    static class JpaOnly {
+        
+        @Bean
+        EventPublisher eventPublisher() {
+            return mock(EventPublisher.class, withSettings().stubOnly());
+        }
+        
+        @Bean
+        BlockerServiceClient blockerServiceClient() {
+            return mock(BlockerServiceClient.class, withSettings().stubOnly());
+        }
+        
+        @Bean
+        UserServiceClient userServiceClient() {
+            return mock(UserServiceClient.class, withSettings().stubOnly());
+        }
+        
+        @Bean
+        UpvoteCounterService upvoteCounterService(SolutionRepository solutionRepository,
+                                                  SolutionRankingService solutionRankingService,
+                                                  PlatformTransactionManager transactionManager) {
+            return new UpvoteCounterService(solutionRepository, solutionRankingService, transactionManager, 300);
+        }
+        
+        @Bean
+        BlockerCache blockerCache() {
+            return mock(BlockerCache.class, withSettings().stubOnly());
+        }
+        
+        @Bean
+        SolutionRankingService solutionRankingService() {
+            return mock(SolutionRankingService.class, withSettings().stubOnly());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.devblocker.solution.service;
+
+import com.devblocker.solution.client.BlockerServiceClient;
+import com.devblocker.solution.client.UserServiceClient;
+import com.devblocker.solution.dto.SolutionResponse;
+import com.devblocker.solution.model.Solution;
+import com.devblocker.solution.repository.SolutionRepository;
+import com.devblocker.solution.service.cache.BlockerCache;
+import com.devblocker.solution.service.ranking.SolutionRankingService;
+import com.devblocker.solution.service.upvote.UpvoteCounterService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A blocker's solution listing is two statements however many solutions it has, where loading the
+ * entities and their media costs one statement per solution
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(SolutionService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SolutionListingQueryCountTest {
+    
+    @Autowired
+    private SolutionService solutionService;
+    
+    @Autowired
+    private SolutionRepository solutionRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @MockitoBean
+    private EventPublisher eventPublisher;
+    
+    @MockitoBean
+    private BlockerServiceClient blockerServiceClient;
+    
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+    
+    @MockitoBean
+    private UpvoteCounterService upvoteCounterService;
+    
+    @MockitoBean
+    private BlockerCache blockerCache;
+    
+    @MockitoBean
+    private SolutionRankingService solutionRankingService;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        solutionRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    @Test
+    void listingIsTwoStatementsWhateverItsSize() {
+        for (int size : new int[] {5, 25}) {
+            UUID blockerId = UUID.randomUUID();
+            List<Solution> seeded = seed(blockerId, size);
+            statistics.clear();
+            
+            List<SolutionResponse> listed = solutionService.getSolutionsByBlocker(blockerId);
+            
+            assertThat(statistics.getPrepareStatementCount()).as("statements for %d solutions", size).isEqualTo(2);
+            // Best first, each with its own media in insertion order; solutions without media get an empty list
+            assertThat(listed).extracting(SolutionResponse::getSolutionId)
+                    .containsExactlyElementsOf(seeded.reversed().stream().map(Solution::getSolutionId).toList());
+            for (SolutionResponse response : listed) {
+                Solution solution = seeded.stream()
+                        .filter(s -> s.getSolutionId().equals(response.getSolutionId()))
+                        .findFirst().orElseThrow();
+                assertThat(response.getMediaUrls()).containsExactlyElementsOf(solution.getMediaUrls());
+                assertThat(response.getUpvotes()).isEqualTo(solution.getUpvotes());
+            }
+        }
+    }
+    
+    @Test
+    void loadingEntitiesAndTheirMediaIsOneStatementPerSolution() {
+        UUID blockerId = UUID.randomUUID();
+        seed(blockerId, 25);
+        statistics.clear();
+        
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<Solution> solutions = entityManager
+                    .createQuery("SELECT s FROM Solution s WHERE s.blockerId = :blockerId", Solution.class)
+                    .setParameter("blockerId", blockerId)
+                    .getResultList();
+            solutions.forEach(solution -> solution.getMediaUrls().size());
+        } finally {
+            entityManager.close();
+        }
+        
+        // What the projection path replaces: the rows, then a media select per solution
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + 25);
+    }
+    
+    private List<Solution> seed(UUID blockerId, int size) {
+        List<Solution> solutions = new ArrayList<>(size);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < size; i++) {
+            List<String> media = new ArrayList<>();
+            for (int m = 0; m < i % 3; m++) {
+                media.add("https://cdn.devblocker.io/solutions/" + i + "/" + m + ".png");
+            }
+            solutions.add(Solution.builder()
+                    .blockerId(blockerId)
+                    .userId(UUID.randomUUID())
+                    .content("Solution " + i)
+                    .mediaUrls(media)
+                    .upvotes(i)
+                    .rankScore((double) i)
+                    .createdAt(createdAt.plusMinutes(i))
+                    .build());
+        }
+        return solutionRepository.saveAll(solutions);
+    }
+}
@@ -0,0 +1,142 @@
+package com.devblocker.solution.service;
+
+import com.devblocker.solution.client.BlockerServiceClient;
+import com.devblocker.solution.client.UserServiceClient;
+import com.devblocker.solution.dto.SolutionStatsResponse;
+import com.devblocker.solution.model.Solution;
+import com.devblocker.solution.repository.SolutionRepository;
+import com.devblocker.solution.service.cache.BlockerCache;
+import com.devblocker.solution.service.ranking.SolutionRankingService;
+import com.devblocker.solution.service.upvote.UpvoteCounterService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Batch user stats are one grouped query: every requested user comes back once, users without
+ * solutions with zero counts, and more than solution.stats.max-batch-size distinct users is rejected
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "solution.stats.max-batch-size=3"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(SolutionService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SolutionStatsQueryTest {
+    
+    @Autowired
+    private SolutionService solutionService;
+    
+    @Autowired
+    private SolutionRepository solutionRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @MockitoBean
+    private EventPublisher eventPublisher;
+    
+    @MockitoBean
+    private BlockerServiceClient blockerServiceClient;
+    
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+    
+    @MockitoBean
+    private UpvoteCounterService upvoteCounterService;
+    
+    @MockitoBean
+    private BlockerCache blockerCache;
+    
+    @MockitoBean
+    private SolutionRankingService solutionRankingService;
+    
+    private final UUID prolific = UUID.randomUUID();
+    private final UUID occasional = UUID.randomUUID();
+    private final UUID newcomer = UUID.randomUUID();
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        solutionRepository.deleteAll();
+        List<Solution> solutions = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            solutions.add(solution(prolific, i < 3));
+        }
+        solutions.add(solution(occasional, false));
+        solutionRepository.saveAll(solutions);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    @Test
+    void countsEveryRequestedUserInOneQuery() {
+        Map<UUID, SolutionStatsResponse> stats = solutionService.getSolutionStats(List.of(prolific, occasional, newcomer));
+        
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stats).containsOnlyKeys(prolific, occasional, newcomer);
+        assertThat(stats.get(prolific)).isEqualTo(new SolutionStatsResponse(4, 3));
+        assertThat(stats.get(occasional)).isEqualTo(new SolutionStatsResponse(1, 0));
+        assertThat(stats.get(newcomer)).isEqualTo(new SolutionStatsResponse(0, 0));
+    }
+    
+    @Test
+    void duplicateIdsAreCountedOnceAndNotAgainstTheLimit() {
+        Map<UUID, SolutionStatsResponse> stats = solutionService.getSolutionStats(
+                List.of(prolific, prolific, occasional, prolific, newcomer, occasional));
+        
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stats).containsOnlyKeys(prolific, occasional, newcomer);
+        assertThat(stats.get(prolific)).isEqualTo(new SolutionStatsResponse(4, 3));
+        assertThat(stats.get(occasional)).isEqualTo(new SolutionStatsResponse(1, 0));
+    }
+    
+    @Test
+    void usersWithoutSolutionsNeedNoRows() {
+        UUID other = UUID.randomUUID();
+        
+        assertThat(solutionService.getSolutionStats(List.of(newcomer, other)))
+                .containsEntry(newcomer, new SolutionStatsResponse(0, 0))
+                .containsEntry(other, new SolutionStatsResponse(0, 0));
+    }
+    
+    @Test
+    void moreDistinctUsersThanTheLimitAreRejected() {
+        assertThatThrownBy(() -> solutionService.getSolutionStats(
+                List.of(prolific, occasional, newcomer, UUID.randomUUID())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("At most 3 user IDs can be requested at once");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+    
+    private static Solution solution(UUID userId, boolean accepted) {
+        return Solution.builder()
+                .blockerId(UUID.randomUUID())
+                .userId(userId)
+                .content("Pin the plugin version")
+                .accepted(accepted)
+                .rankScore(0.0)
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.devblocker.solution.service.cache;
+
+import com.devblocker.solution.client.BlockerServiceClient;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * BlockerCache against a stub blocker-service answering like the real GlobalExceptionHandler
+ */
+class BlockerCacheTest {
+    
+    private final UUID existing = UUID.randomUUID();
+    private final UUID missing = UUID.randomUUID();
+    private final UUID failing = UUID.randomUUID();
+    private final AtomicInteger requests = new AtomicInteger();
+    
+    private HttpServer server;
+    private BlockerCache cache;
+    
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/blockers/", exchange -> {
+            requests.incrementAndGet();
+            UUID id = UUID.fromString(exchange.getRequestURI().getPath().substring("/api/v1/blockers/".length()));
+            if (id.equals(existing)) {
+                respond(exchange, 200, "{\"blockerId\":\"" + id + "\",\"title\":\"Build fails\"}");
+            } else if (id.equals(missing)) {
+                respond(exchange, 404, "{\"error\":\"Blocker not found: " + id + "\"}");
+            } else {
+                respond(exchange, 500, "{\"error\":\"An unexpected error occurred\"}");
+            }
+        });
+        server.start();
+        
+        BlockerServiceClient client = new BlockerServiceClient(WebClient.create());
+        ReflectionTestUtils.setField(client, "blockerServiceUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        cache = new BlockerCache(client, 100, 300, 30);
+    }
+    
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+    
+    @Test
+    void foundBlockerIsCached() {
+        assertThat(cache.getBlocker(existing, null)).get()
+                .extracting(BlockerServiceClient.BlockerResponse::getTitle).isEqualTo("Build fails");
+        assertThat(cache.blockerExists(existing, null)).isTrue();
+        assertThat(requests).hasValue(1);
+    }
+    
+    @Test
+    void missingBlockerIsNegativelyCached() {
+        assertThat(cache.getBlocker(missing, null)).isEmpty();
+        assertThat(cache.blockerExists(missing, null)).isFalse();
+        assertThat(cache.blockerExists(missing, null)).isFalse();
+        assertThat(requests).hasValue(1);
+    }
+    
+    @Test
+    void failuresAreNotCached() {
+        assertThatThrownBy(() -> cache.getBlocker(failing, null)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> cache.getBlocker(failing, null)).isInstanceOf(IllegalStateException.class);
+        assertThat(requests).hasValue(2);
+    }
+    
+    @Test
+    void invalidatedEntryIsReloaded() {
+        cache.getBlocker(missing, null);
+        cache.invalidate(missing);
+        cache.getBlocker(missing, null);
+        assertThat(requests).hasValue(2);
+    }
+    
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
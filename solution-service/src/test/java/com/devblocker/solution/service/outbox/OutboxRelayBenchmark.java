@@ -0,0 +1,131 @@
+package com.devblocker.solution.service.outbox;
+
+import com.devblocker.solution.model.OutboxEvent;
+import com.devblocker.solution.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Events/sec the relay pushes through for a batch of solution.upvoted events, one AMQP message per event
+ * (outbox.relay.batching.routing-keys empty) against packed batches (routing key listed)
+ * The broker stand-in copies each message body and parks at least BROKER_MICROS_PER_MESSAGE per publish
+ * (the OS timer rounds it up), then acks the correlated confirm; "events" is the rate to read,
+ * "messages" what the broker had to accept
+ * 
+ * Run (see README, Benchmarks): java -cp ... org.openjdk.jmh.Main OutboxRelayBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutboxRelayBenchmark {
+    
+    private static final int BATCH_SIZE = 100;
+    private static final long BROKER_MICROS_PER_MESSAGE = 20;
+    
+    @Param({"off", "on"})
+    private String batching;
+    
+    private OutboxRelay relay;
+    private long brokerMessages;
+    
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Published {
+        public long events;
+        public long messages;
+    }
+    
+    @Setup
+    public void setUp() {
+        List<OutboxEvent> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= BATCH_SIZE; id++) {
+            batch.add(upvoted(id));
+        }
+        OutboxEventRepository repository = mock(OutboxEventRepository.class, withSettings().stubOnly());
+        when(repository.findDueForUpdate(any(), any())).thenReturn(batch);
+        
+        RabbitTemplate broker = mock(RabbitTemplate.class, withSettings().stubOnly());
+        doAnswer(invocation -> {
+            Message message = invocation.getArgument(2);
+            byte[] onTheWire = Arrays.copyOf(message.getBody(), message.getBody().length);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(BROKER_MICROS_PER_MESSAGE) + onTheWire.length);
+            brokerMessages++;
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(broker).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class, withSettings().stubOnly());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        
+        relay = new OutboxRelay(repository, broker, transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(relay, "confirmTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(relay, "leaseMs", 30000L);
+        ReflectionTestUtils.setField(relay, "maxBackoffMs", 300000L);
+        ReflectionTestUtils.setField(relay, "batchedRoutingKeys",
+                "on".equals(batching) ? Set.of("solution.upvoted") : Set.of());
+        ReflectionTestUtils.setField(relay, "batchMaxMessages", 100);
+        ReflectionTestUtils.setField(relay, "batchBufferLimit", 65536);
+    }
+    
+    @Benchmark
+    public void relayBatch(Published published) {
+        long before = brokerMessages;
+        relay.relay();
+        published.events += BATCH_SIZE;
+        published.messages += brokerMessages - before;
+    }
+    
+    private static OutboxEvent upvoted(long id) {
+        String payload = "{\"solutionId\":\"5f0c8a8e-7f43-4c1e-9a55-0d7f1c2b9e41\",\"blockerId\":"
+                + "\"a3c2f5d1-1b7e-4f0a-8c3d-2e9b6a4d7c10\",\"userId\":\"" + id + "\",\"upvotes\":" + id + "}";
+        return OutboxEvent.builder()
+                .id(id)
+                .exchange("solution.events")
+                .routingKey("solution.upvoted")
+                .payload(payload.getBytes(StandardCharsets.UTF_8))
+                .contentType("application/json")
+                .typeId("com.devblocker.solution.service.event.SolutionUpvotedEvent")
+                .attempts(0)
+                .createdAt(LocalDateTime.now())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
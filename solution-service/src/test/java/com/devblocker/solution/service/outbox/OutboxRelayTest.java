@@ -0,0 +1,110 @@
+package com.devblocker.solution.service.outbox;
+
+import com.devblocker.solution.model.OutboxEvent;
+import com.devblocker.solution.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+    
+    private final AtomicInteger openTransactions = new AtomicInteger();
+    
+    private OutboxEventRepository repository;
+    private RabbitTemplate rabbitTemplate;
+    private OutboxRelay relay;
+    
+    @BeforeEach
+    void setUp() {
+        repository = mock(OutboxEventRepository.class);
+        rabbitTemplate = mock(RabbitTemplate.class);
+        
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            openTransactions.incrementAndGet();
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> openTransactions.decrementAndGet()).when(transactionManager).commit(any());
+        
+        relay = new OutboxRelay(repository, rabbitTemplate, transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "confirmTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(relay, "leaseMs", 30000L);
+        ReflectionTestUtils.setField(relay, "maxBackoffMs", 300000L);
+        ReflectionTestUtils.setField(relay, "batchedRoutingKeys", Set.of());
+    }
+    
+    @Test
+    void publishesOutsideAnyTransactionAndMarksAckedEvents() {
+        when(repository.findDueForUpdate(any(), any())).thenReturn(List.of(event(1L), event(2L)));
+        doAnswer(invocation -> {
+            assertThat(openTransactions).as("transactions open while publishing").hasValue(0);
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        
+        relay.relay();
+        
+        verify(repository).lease(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(repository).markPublished(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(repository, never()).scheduleRetry(any(), anyInt(), any(), any());
+        assertThat(openTransactions).hasValue(0);
+    }
+    
+    @Test
+    void failedSendsAndNacksAreRescheduled() {
+        when(repository.findDueForUpdate(any(), any())).thenReturn(List.of(event(1L), event(2L)));
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            if (correlation.getId().equals("1")) {
+                throw new AmqpConnectException(new java.net.ConnectException("Connection refused"));
+            }
+            correlation.getFuture().complete(new CorrelationData.Confirm(false, "queue full"));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        
+        relay.relay();
+        
+        verify(repository).scheduleRetry(eq(1L), eq(1), any(LocalDateTime.class), anyString());
+        verify(repository).scheduleRetry(eq(2L), eq(1), any(LocalDateTime.class), eq("Nacked by broker: queue full"));
+        verify(repository, never()).markPublished(anyCollection(), any());
+    }
+    
+    private static OutboxEvent event(Long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .exchange("devblocker.events")
+                .routingKey("solution.added")
+                .payload("{}".getBytes())
+                .contentType("application/json")
+                .attempts(0)
+                .createdAt(LocalDateTime.now())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.devblocker.solution.service.upvote;
+
+import com.devblocker.solution.repository.SolutionRepository;
+import com.devblocker.solution.service.ranking.SolutionRankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Per-vote cost of the write-behind counter with 8 threads, for one hot solution and spread over many
+ * lockedHotSolution is a per-solution monitor, the in-process analogue of every vote taking the row
+ * lock of "UPDATE ... SET upvotes = upvotes + 1"; it only shows contention on a multi-core machine, and
+ * the database round trip it replaced is far slower than either
+ * 
+ * Run (see README, Benchmarks): java -cp ... org.openjdk.jmh.Main UpvoteCounterBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class UpvoteCounterBenchmark {
+    
+    private static final int SOLUTIONS = 1024;
+    
+    private UpvoteCounterService counter;
+    private UUID hot;
+    private UUID[] spread;
+    private Map<UUID, AtomicLong> locked;
+    
+    @Setup
+    public void setUp() {
+        counter = new UpvoteCounterService(mock(SolutionRepository.class), mock(SolutionRankingService.class),
+                mock(PlatformTransactionManager.class), 300);
+        hot = UUID.randomUUID();
+        spread = new UUID[SOLUTIONS];
+        locked = new HashMap<>();
+        for (int i = 0; i < SOLUTIONS; i++) {
+            spread[i] = UUID.randomUUID();
+            locked.put(spread[i], new AtomicLong());
+        }
+        locked.put(hot, new AtomicLong());
+    }
+    
+    @TearDown(Level.Iteration)
+    public void flush() {
+        counter.flush();
+    }
+    
+    @Benchmark
+    public void writeBehindHotSolution() {
+        counter.recordAfterCommit(hot);
+    }
+    
+    @Benchmark
+    public void writeBehindSpreadSolutions() {
+        counter.recordAfterCommit(spread[ThreadLocalRandom.current().nextInt(SOLUTIONS)]);
+    }
+    
+    @Benchmark
+    public long lockedHotSolution() {
+        AtomicLong row = locked.get(hot);
+        synchronized (row) {
+            return row.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.devblocker.solution.service.upvote;
+
+import com.devblocker.solution.repository.SolutionRepository;
+import com.devblocker.solution.service.ranking.SolutionRankingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Write-behind upvote counting: every committed vote must reach solutions.upvotes exactly once,
+ * whatever the interleaving of votes, flushes, flush failures and counter eviction
+ */
+class UpvoteCounterServiceTest {
+    
+    private final Map<UUID, AtomicLong> stored = new ConcurrentHashMap<>();
+    private final AtomicBoolean failFlushes = new AtomicBoolean();
+    private final AtomicInteger flushAttempts = new AtomicInteger();
+    
+    private SolutionRepository solutionRepository;
+    private UpvoteCounterService counter;
+    
+    @BeforeEach
+    void setUp() {
+        solutionRepository = mock(SolutionRepository.class);
+        // Increments are applied to the fake table only when the flush transaction commits
+        List<Runnable> uncommitted = new ArrayList<>();
+        when(solutionRepository.addUpvotes(anyInt(), anyCollection())).thenAnswer(invocation -> {
+            int delta = invocation.getArgument(0);
+            Collection<UUID> ids = invocation.getArgument(1);
+            ids.forEach(id -> uncommitted.add(() -> stored.computeIfAbsent(id, k -> new AtomicLong()).addAndGet(delta)));
+            return ids.size();
+        });
+        
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            uncommitted.clear();
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> {
+            flushAttempts.incrementAndGet();
+            if (failFlushes.get() && ThreadLocalRandom.current().nextBoolean()) {
+                throw new TransactionSystemException("Injected commit failure");
+            }
+            uncommitted.forEach(Runnable::run);
+            uncommitted.clear();
+            return null;
+        }).when(transactionManager).commit(any());
+        
+        counter = new UpvoteCounterService(solutionRepository, mock(SolutionRankingService.class), transactionManager, 300);
+    }
+    
+    @Test
+    void voteIsCountedOnlyAfterCommit() {
+        UUID committed = UUID.randomUUID();
+        UUID rolledBack = UUID.randomUUID();
+        
+        voteInTransaction(committed, true);
+        voteInTransaction(rolledBack, false);
+        
+        assertThat(counter.pendingVotes(committed)).isEqualTo(1);
+        assertThat(counter.pendingVotes(rolledBack)).isZero();
+        
+        counter.flush();
+        
+        assertThat(stored.get(committed)).hasValue(1);
+        assertThat(stored).doesNotContainKey(rolledBack);
+        assertThat(counter.pendingVotes(committed)).isZero();
+    }
+    
+    @Test
+    void failedFlushIsRetried() {
+        UUID solutionId = UUID.randomUUID();
+        counter.recordAfterCommit(solutionId);
+        counter.recordAfterCommit(solutionId);
+        
+        failFlushes.set(true);
+        while (flushAttempts.get() == 0 || stored.isEmpty()) {
+            counter.flush();
+            assertThat(counter.pendingVotes(solutionId) + stored.getOrDefault(solutionId, new AtomicLong()).get())
+                    .isEqualTo(2);
+        }
+        
+        assertThat(stored.get(solutionId)).hasValue(2);
+        assertThat(counter.pendingVotes(solutionId)).isZero();
+    }
+    
+    @Test
+    void reconcileIsSkippedWhenFlushFails() {
+        counter.recordAfterCommit(UUID.randomUUID());
+        doThrow(new IllegalStateException("Database down"))
+                .when(solutionRepository).addUpvotes(anyInt(), anyCollection());
+        
+        counter.reconcile();
+        
+        verify(solutionRepository, never()).recountUpvotes(any(LocalDateTime.class));
+    }
+    
+    @Test
+    void concurrentVotesFlushesAndFailuresLoseNothing() throws Exception {
+        int voters = 8;
+        int votesPerVoter = 20_000;
+        List<UUID> solutions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            solutions.add(UUID.randomUUID());
+        }
+        Map<UUID, AtomicLong> expected = new ConcurrentHashMap<>();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(voters + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean voting = new AtomicBoolean(true);
+        failFlushes.set(true);
+        
+        // Flushes run continuously, half of them failing, so idle counters are evicted while votes race in
+        Future<?> flusher = executor.submit(() -> {
+            start.await();
+            while (voting.get()) {
+                counter.flush();
+            }
+            return null;
+        });
+        List<Future<?>> workers = new ArrayList<>();
+        for (int v = 0; v < voters; v++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < votesPerVoter; i++) {
+                    // One hot solution takes a quarter of the votes; the rest are sparse, so their counters
+                    // keep draining to zero and being evicted while votes for them race in
+                    UUID solutionId = random.nextInt(4) == 0 ? solutions.get(0) : solutions.get(random.nextInt(solutions.size()));
+                    if (random.nextInt(64) == 0) {
+                        Thread.yield();
+                    }
+                    boolean commit = random.nextInt(10) != 0;
+                    voteInTransaction(solutionId, commit);
+                    if (commit) {
+                        expected.computeIfAbsent(solutionId, k -> new AtomicLong()).incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        voting.set(false);
+        flusher.get(60, TimeUnit.SECONDS);
+        executor.shutdown();
+        
+        failFlushes.set(false);
+        counter.flush();
+        
+        assertThat(flushAttempts.get()).isGreaterThan(1);
+        for (UUID solutionId : solutions) {
+            long want = expected.getOrDefault(solutionId, new AtomicLong()).get();
+            assertThat(stored.getOrDefault(solutionId, new AtomicLong()).get())
+                    .as("stored upvotes of %s", solutionId)
+                    .isEqualTo(want);
+            assertThat(counter.pendingVotes(solutionId)).isZero();
+        }
+    }
+    
+    /**
+     * Mimic the upvote request transaction: register the after-commit hook, then commit or roll back
+     */
+    private void voteInTransaction(UUID solutionId, boolean commit) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counter.recordAfterCommit(solutionId);
+            if (commit) {
+                TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
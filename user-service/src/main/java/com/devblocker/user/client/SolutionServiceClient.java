@@ -3,14 +3,18 @@ package com.devblocker.user.client;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -27,6 +31,10 @@ public class SolutionServiceClient {
     @Value("${services.solution.url:http://localhost:8084}")
     private String solutionServiceUrl;
     
+    // Must not exceed solution-service's solution.stats.max-batch-size
+    @Value("${services.solution.stats-batch-size:200}")
+    private int statsBatchSize;
+    
     /**
      * Get all solutions by a user
      * 
@@ -91,6 +99,57 @@ public class SolutionServiceClient {
                 .build();
     }
     
+    /**
+     * Get solution statistics for several users, one request per services.solution.stats-batch-size users
+     * 
+     * @param userIds User IDs
+     * @param authToken JWT token for authentication (optional)
+     * @return Solution statistics by user ID; users whose batch failed are missing, callers treat them as zero
+     */
+    public Map<UUID, UserSolutionStats> getSolutionStats(Collection<UUID> userIds, String authToken) {
+        List<UUID> ids = List.copyOf(userIds);
+        Map<UUID, UserSolutionStats> stats = new HashMap<>(ids.size() * 2);
+        int batchSize = Math.max(1, statsBatchSize);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<UUID> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            fetchSolutionStats(batch, authToken).forEach((userId, userStats) -> stats.put(userId, UserSolutionStats.builder()
+                    .totalSolutions((int) userStats.getTotalSolutions())
+                    .acceptedSolutions((int) userStats.getAcceptedSolutions())
+                    .build()));
+        }
+        return stats;
+    }
+    
+    private Map<UUID, SolutionStatsResponse> fetchSolutionStats(List<UUID> userIds, String authToken) {
+        try {
+            Map<UUID, SolutionStatsResponse> response = webClient.post()
+                    .uri(solutionServiceUrl + "/api/v1/users/solutions/stats")
+                    .headers(headers -> {
+                        if (authToken != null && !authToken.isEmpty()) {
+                            headers.setBearerAuth(authToken);
+                        }
+                    })
+                    .bodyValue(Map.of("userIds", userIds))
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<Map<UUID, SolutionStatsResponse>>() {})
+                    .retryWhen(Retry.backoff(3, Duration.ofSeconds(1))
+                            .filter(throwable -> throwable instanceof WebClientResponseException 
+                                    && ((WebClientResponseException) throwable).getStatusCode().is5xxServerError())
+                            .doBeforeRetry(retrySignal -> 
+                                log.warn("Retrying getSolutionStats for {} users (attempt {})", 
+                                        userIds.size(), retrySignal.totalRetries() + 1)))
+                    .timeout(Duration.ofSeconds(5))
+                    .block();
+            
+            if (response != null) {
+                return response;
+            }
+        } catch (Exception e) {
+            log.error("Failed to fetch solution stats for {} users", userIds.size(), e);
+        }
+        return Collections.emptyMap();
+    }
+    
     @lombok.Data
     @lombok.NoArgsConstructor
     @lombok.AllArgsConstructor
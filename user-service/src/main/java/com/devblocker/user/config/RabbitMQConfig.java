@@ -1,13 +1,21 @@
 package com.devblocker.user.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
 @Configuration
 public class RabbitMQConfig {
     
@@ -16,6 +24,10 @@ public class RabbitMQConfig {
     public static final String USER_REGISTERED_ROUTING_KEY = "user.registered";
     public static final String USER_UPDATED_ROUTING_KEY = "user.updated";
     
+    // Dead lettering: rejected messages are routed to "<queue>.dlq" with the queue name as routing key
+    public static final String DEAD_LETTER_EXCHANGE = "devblocker.dlx";
+    public static final String DEAD_LETTER_QUEUE_SUFFIX = ".dlq";
+    
     @Bean
     public TopicExchange userEventsExchange() {
         return new TopicExchange(EXCHANGE_NAME);
@@ -23,7 +35,12 @@ public class RabbitMQConfig {
     
     @Bean
     public Queue userRegisteredQueue() {
-        return QueueBuilder.durable(USER_REGISTERED_QUEUE).build();
+        return deadLetteredQueue(USER_REGISTERED_QUEUE);
+    }
+    
+    @Bean
+    public Declarables deadLetterDeclarables() {
+        return deadLetterTopology(USER_REGISTERED_QUEUE);
     }
     
     @Bean
@@ -43,7 +60,60 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter());
+        // Publisher confirms are correlated (spring.rabbitmq.publisher-confirm-type); unroutable messages
+        // come back through the returns callback instead of being dropped silently
+        template.setMandatory(true);
+        template.setReturnsCallback(returned -> log.warn("Message returned by broker: exchange={}, routingKey={}, reply={}",
+                returned.getExchange(), returned.getRoutingKey(), returned.getReplyText()));
         return template;
     }
+    
+    // Listener container factories, one per queue so each can be scaled independently
+    
+    @Bean
+    public SimpleRabbitListenerContainerFactory userRegisteredContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${rabbitmq.listener.user-registered.concurrency:1}") int concurrency,
+            @Value("${rabbitmq.listener.user-registered.max-concurrency:4}") int maxConcurrency,
+            @Value("${rabbitmq.listener.user-registered.prefetch:50}") int prefetch) {
+        return containerFactory(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+    
+    /**
+     * Builds a container factory on top of spring.rabbitmq.listener.simple.* (converter, retry interceptor
+     * with exponential backoff, requeue policy) and overrides the consumer scaling for one queue
+     */
+    private static SimpleRabbitListenerContainerFactory containerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            int concurrency, int maxConcurrency, int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        factory.setPrefetchCount(prefetch);
+        // Retries exhausted -> reject without requeue -> dead-letter queue
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+    
+    private static Queue deadLetteredQueue(String name) {
+        return QueueBuilder.durable(name)
+                .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(name)
+                .build();
+    }
+    
+    private static Declarables deadLetterTopology(String... queueNames) {
+        DirectExchange deadLetterExchange = new DirectExchange(DEAD_LETTER_EXCHANGE, true, false);
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(deadLetterExchange);
+        for (String queueName : queueNames) {
+            Queue deadLetterQueue = QueueBuilder.durable(queueName + DEAD_LETTER_QUEUE_SUFFIX).build();
+            declarables.add(deadLetterQueue);
+            declarables.add(BindingBuilder.bind(deadLetterQueue).to(deadLetterExchange).with(queueName));
+        }
+        return new Declarables(declarables);
+    }
 }
-
@@ -16,7 +16,7 @@ public class UserRegisteredListener {
     
     private final ProfileService profileService;
     
-    @RabbitListener(queues = "user.registered.queue")
+    @RabbitListener(queues = "user.registered.queue", containerFactory = "userRegisteredContainerFactory")
     public void handleUserRegistered(UserRegisteredEvent event) {
         try {
             UUID userId = UUID.fromString(event.getUserId());
@@ -26,7 +26,8 @@ public class UserRegisteredListener {
             log.info("Profile created successfully for user: {}", userId);
         } catch (Exception e) {
             log.error("Failed to process UserRegistered event: {}", event, e);
-            // Consider implementing retry logic or dead letter queue
+            // Rethrow so the container retries with backoff and then dead-letters the message
+            throw e;
         }
     }
 }
@@ -1,36 +1,35 @@
 package com.devblocker.user.service;
 
 import com.devblocker.user.model.Profile;
+import com.devblocker.user.service.outbox.OutboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
 
+/**
+ * Publishes user events through the transactional outbox
+ * Must be called inside the transaction that made the change; OutboxRelay sends after commit
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EventPublisher {
     
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxService outboxService;
     
     public void publishUserUpdated(UUID userId, Profile profile) {
-        try {
-            UserUpdatedEvent event = UserUpdatedEvent.builder()
-                    .userId(userId.toString())
-                    .name(profile.getName())
-                    .avatarUrl(profile.getAvatarUrl())
-                    .teamId(profile.getTeamId() != null ? profile.getTeamId().toString() : null)
-                    .updatedAt(profile.getUpdatedAt())
-                    .build();
-            
-            rabbitTemplate.convertAndSend("user.events", "user.updated", event);
-            log.info("Published UserUpdated event for user: {}", userId);
-        } catch (Exception e) {
-            log.error("Failed to publish UserUpdated event for user: {}", userId, e);
-            // Don't throw - event publishing failure shouldn't break profile update
-        }
+        UserUpdatedEvent event = UserUpdatedEvent.builder()
+                .userId(userId.toString())
+                .name(profile.getName())
+                .avatarUrl(profile.getAvatarUrl())
+                .teamId(profile.getTeamId() != null ? profile.getTeamId().toString() : null)
+                .updatedAt(profile.getUpdatedAt())
+                .build();
+        
+        // Broker outages no longer affect profile updates; the relay retries delivery
+        outboxService.enqueue("user.events", "user.updated", event);
+        log.info("Queued UserUpdated event for user: {}", userId);
     }
 }
-
@@ -28,6 +28,13 @@ public class ProfileService {
     
     @Transactional
     public ProfileResponse createProfile(UUID userId, String email) {
+        // UserRegistered is delivered at least once; a redelivery must not fail on the existing profile
+        Profile existing = profileRepository.findByUserId(userId).orElse(null);
+        if (existing != null) {
+            log.debug("Profile already exists for user: {}", userId);
+            return mapToProfileResponse(existing);
+        }
+        
         Profile profile = Profile.builder()
                 .userId(userId)
                 .name(email.split("@")[0]) // Default name from email
@@ -122,7 +129,7 @@ public class ProfileService {
         profile.setLocation(request.getLocation());
         profile.setTeamId(request.getTeamId());
         
-        profile = profileRepository.save(profile);
+        profile = profileRepository.saveAndFlush(profile);
         
         // Publish UserUpdated event
         eventPublisher.publishUserUpdated(userId, profile);
@@ -146,9 +153,15 @@ public class ProfileService {
             profiles = profileRepository.searchProfiles(name, teamId, pageable);
         }
         
+        // One batch call for the solution stats of the whole page instead of one call per profile
+        java.util.Map<UUID, com.devblocker.user.client.SolutionServiceClient.UserSolutionStats> solutionStats = 
+                solutionServiceClient.getSolutionStats(
+                        profiles.getContent().stream().map(Profile::getUserId).toList(), null);
+        
         return com.devblocker.user.dto.PageResponse.<ProfileResponse>builder()
                 .content(profiles.getContent().stream()
-                        .map(this::mapToProfileResponse)
+                        .map(profile -> mapToProfileResponse(profile, solutionStats.getOrDefault(profile.getUserId(),
+                                com.devblocker.user.client.SolutionServiceClient.UserSolutionStats.builder().build())))
                         .collect(java.util.stream.Collectors.toList()))
                 .page(profiles.getNumber())
                 .size(profiles.getSize())
@@ -160,6 +173,14 @@ public class ProfileService {
     }
     
     private ProfileResponse mapToProfileResponse(Profile profile) {
+        return mapToProfileResponse(profile, null);
+    }
+    
+    /**
+     * @param solutionStats solution stats already fetched in bulk, or null to fetch them for this profile
+     */
+    private ProfileResponse mapToProfileResponse(Profile profile,
+            com.devblocker.user.client.SolutionServiceClient.UserSolutionStats solutionStats) {
         String teamName = null;
         if (profile.getTeamId() != null && profile.getTeam() != null) {
             teamName = profile.getTeam().getName();
@@ -172,8 +193,9 @@ public class ProfileService {
         
         try {
             // Get solution stats
-            com.devblocker.user.client.SolutionServiceClient.UserSolutionStats solutionStats = 
-                    solutionServiceClient.getSolutionStats(profile.getUserId(), null);
+            if (solutionStats == null) {
+                solutionStats = solutionServiceClient.getSolutionStats(profile.getUserId(), null);
+            }
             solutionsCount = solutionStats.getTotalSolutions();
             acceptedSolutionsCount = solutionStats.getAcceptedSolutions();
             